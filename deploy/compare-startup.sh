@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Compares operator startup time and resident memory of the JVM jar and the native binary.
+# Both connect to the cluster from the current kubeconfig, so scale the in-cluster operator
+# to zero first or they will fight over the same resources.
+#
+#   ./gradlew build nativeCompile && deploy/compare-startup.sh
+set -euo pipefail
+
+JAR=${JAR:-$(ls build/libs/*-all.jar 2>/dev/null | head -n1)}
+NATIVE=${NATIVE:-build/native/nativeCompile/minecraft-kubernetes-stack}
+SETTLE=${SETTLE:-10}
+TIMEOUT=${TIMEOUT:-120}
+
+measure() {
+  local name=$1; shift
+  local log
+  log=$(mktemp)
+  local start
+  start=$(date +%s%N)
+  "$@" >"$log" 2>&1 &
+  local pid=$!
+  local waited=0
+  until grep -q "Started .* in " "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null || (( waited >= TIMEOUT * 10 )); then
+      echo "$name did not start, see $log" >&2
+      kill "$pid" 2>/dev/null || true
+      return 1
+    fi
+    sleep 0.1
+    waited=$((waited + 1))
+  done
+  local ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  local spring_s
+  spring_s=$(grep -o "Started .* in [0-9.]* seconds" "$log" | head -n1 | sed 's/.* in \([0-9.]*\) seconds/\1/')
+  local rss_start
+  rss_start=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  # let informers sync and the first reconciles run before reading the steady-state numbers
+  sleep "$SETTLE"
+  local rss hwm
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  hwm=$(awk '/VmHWM/ {print $2}' "/proc/$pid/status")
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  printf "%-8s %10s %12s %14s %14s %14s\n" "$name" "$spring_s" "$ready_ms" \
+    "$((rss_start / 1024))" "$((rss / 1024))" "$((hwm / 1024))"
+}
+
+printf "%-8s %10s %12s %14s %14s %14s\n" "build" "spring(s)" "wall(ms)" "rss@start(MB)" "rss+${SETTLE}s(MB)" "peak rss(MB)"
+if [[ -n "$JAR" && -f "$JAR" ]]; then measure jvm java ${JAVA_OPTS:-} -jar "$JAR"; fi
+if [[ -x "$NATIVE" ]]; then measure native "$NATIVE"; fi
@@ -0,0 +1,70 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.ServerLoadDto;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inputs shared by the benchmarks, built from the samples shipped with the operator.
+ */
+final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  static MinecraftServerGroup serverGroup(String name) {
+    MinecraftServerGroup resource = Serialization.unmarshal(resource("/sample/minecraftserver.yaml"), MinecraftServerGroup.class);
+    resource.getMetadata().setName(name);
+    return resource;
+  }
+
+  static MinecraftProxy proxy() {
+    MinecraftProxy resource = Serialization.unmarshal(resource("/sample/minecraftproxy.yaml"), MinecraftProxy.class);
+    resource.getMetadata().setNamespace("default");
+    return resource;
+  }
+
+  static MinecraftServerGroupDto groupDto(int servers) {
+    List<String> ips = new ArrayList<>();
+    List<ServerLoadDto> loads = new ArrayList<>();
+    for (int i = 0; i < servers; i++) {
+      String ip = "10.0.%d.%d".formatted(i / 250, i % 250 + 1);
+      ips.add(ip);
+      loads.add(ServerLoadDto.builder().ip(ip).players(i % 40).maxPlayers(40).tps(19.9).mspt(23.4).build());
+    }
+    return MinecraftServerGroupDto.builder()
+            .name("survival")
+            .namespace("default")
+            .state("Ready")
+            .serverIps(ips)
+            .drainingServerIps(List.of())
+            .servers(loads)
+            .isForce(true)
+            .build();
+  }
+
+  static String text(String path) {
+    try (InputStream in = resource(path)) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static InputStream resource(String path) {
+    InputStream in = Fixtures.class.getResourceAsStream(path);
+    if (in == null) {
+      throw new IllegalStateException("Missing benchmark fixture " + path);
+    }
+    return in;
+  }
+}
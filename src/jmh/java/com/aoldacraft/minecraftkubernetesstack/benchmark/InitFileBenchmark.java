@@ -0,0 +1,32 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.InitFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Rewriting the downloaded default configs; the download itself is left out.
+ */
+@State(Scope.Benchmark)
+public class InitFileBenchmark {
+  private String paperGlobalYml;
+  private String serverProperties;
+
+  @Setup
+  public void setUp() {
+    paperGlobalYml = Fixtures.text("/benchmark/paper-global.yml");
+    serverProperties = Fixtures.text("/benchmark/server.properties");
+  }
+
+  @Benchmark
+  public String paperGlobalYaml() {
+    return InitFile.transformPaperGlobalYaml(paperGlobalYml);
+  }
+
+  @Benchmark
+  public String serverProperties() {
+    return InitFile.transformServerProperties(serverProperties);
+  }
+}
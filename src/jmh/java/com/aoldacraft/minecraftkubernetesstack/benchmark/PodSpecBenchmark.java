@@ -0,0 +1,44 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyPodUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerArtifactCacheUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerPodUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerStorageUtil;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Pod spec construction for servers and proxies, without the API call that follows it.
+ */
+@State(Scope.Benchmark)
+public class PodSpecBenchmark {
+  private final ImageDigests imageDigests = new ImageDigests();
+  private ServerPodUtil serverPodUtil;
+  private MinecraftServerGroup serverGroup;
+  private MinecraftProxy proxy;
+
+  @Setup
+  public void setUp() {
+    serverPodUtil = new ServerPodUtil(null, new ServerStorageUtil(null), new ServerArtifactCacheUtil(null, imageDigests, new SimpleMeterRegistry()), imageDigests);
+    serverGroup = Fixtures.serverGroup("survival");
+    proxy = Fixtures.proxy();
+  }
+
+  @Benchmark
+  public Pod serverPod() {
+    return serverPodUtil.buildServer(serverGroup, 3, false, false, ServerData.START_COLD);
+  }
+
+  @Benchmark
+  public Pod proxyPod() {
+    return ProxyPodUtil.buildPod(imageDigests, proxy, 3);
+  }
+}
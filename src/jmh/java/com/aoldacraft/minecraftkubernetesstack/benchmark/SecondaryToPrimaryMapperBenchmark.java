@@ -0,0 +1,41 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.SecondaryToPrimaryMappers;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+
+/**
+ * Cost of mapping one pod event back to its group. Independent of the number of cached groups since the mapper
+ * reads the group from the pod's label.
+ */
+@State(Scope.Benchmark)
+public class SecondaryToPrimaryMapperBenchmark {
+  private SecondaryToPrimaryMapper<Pod> mapper;
+  private Pod pod;
+
+  @Setup
+  public void setUp() {
+    mapper = SecondaryToPrimaryMappers.byNameLabel(ServerData.LABEL_GROUP);
+    pod = new PodBuilder()
+            .withNewMetadata()
+            .withName("group-0")
+            .withNamespace("default")
+            .addToLabels(ServerData.LABEL_GROUP, "group")
+            .endMetadata()
+            .build();
+  }
+
+  @Benchmark
+  public Set<ResourceID> mapPod() {
+    return mapper.toPrimaryResourceIDs(pod);
+  }
+}
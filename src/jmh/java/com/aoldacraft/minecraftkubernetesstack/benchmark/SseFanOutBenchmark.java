@@ -0,0 +1,60 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Publishing one group event to {@code subscribers} in-memory subscribers through {@link SseEmitterHandler}.
+ */
+@State(Scope.Benchmark)
+public class SseFanOutBenchmark {
+  @Param({"10", "100"})
+  public int servers;
+
+  @Param({"1", "100", "1000"})
+  public int subscribers;
+
+  private SseEmitterHandler sseEmitterHandler;
+  private MinecraftServerGroupDto dto;
+
+  /**
+   * Subscriber that builds each event like a connected client would and hands it to the blackhole
+   * instead of writing to a response.
+   */
+  static class BlackholeSseEmitter extends SseEmitter {
+    private final Blackhole blackhole;
+
+    BlackholeSseEmitter(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      blackhole.consume(builder.build());
+    }
+  }
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    dto = Fixtures.groupDto(servers);
+    sseEmitterHandler = new SseEmitterHandler(new ObjectMapper(), new SimpleMeterRegistry());
+    for (int i = 0; i < subscribers; i++) {
+      sseEmitterHandler.add(new BlackholeSseEmitter(blackhole));
+    }
+  }
+
+  @Benchmark
+  public void broadcastGroupEvent() {
+    sseEmitterHandler.broadcast(ServerData.LABEL_GROUP, dto);
+  }
+}
@@ -0,0 +1,32 @@
+package com.aoldacraft.minecraftkubernetesstack.benchmark;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JSON payload of one group event with {@code servers} published servers.
+ */
+@State(Scope.Benchmark)
+public class SseSerializationBenchmark {
+  @Param({"10", "100"})
+  public int servers;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private MinecraftServerGroupDto dto;
+
+  @Setup
+  public void setUp() {
+    dto = Fixtures.groupDto(servers);
+  }
+
+  @Benchmark
+  public String serializeGroupEvent() throws JsonProcessingException {
+    return objectMapper.writeValueAsString(dto);
+  }
+}
@@ -0,0 +1,66 @@
+package com.aoldacraft.minecraftkubernetesstack.config;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedule;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.MinecraftProxyOperator;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.MinecraftServerGroupOperator;
+import io.javaoperatorsdk.operator.processing.event.rate.LinearRateLimiter;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetry;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the native image. Jackson binds the custom resources, the SSE DTOs and the
+ * fabric8 model reflectively, and the Java Operator SDK reads the reconcilers' generic signatures and annotations
+ * and instantiates the retry and rate limiter they name. {@code InitFile} only loads and dumps plain maps with
+ * SnakeYAML, which needs no hints.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Packages whose classes are all bound by Jackson. Subpackages are not included.
+     */
+    static final List<String> JSON_PACKAGES = List.of(
+            "com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources",
+            "com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources",
+            "com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto",
+            "com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.entities",
+            "com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.dto",
+            "com.aoldacraft.minecraftkubernetesstack.domain.node.dto",
+            "io.fabric8.kubernetes.api.model",
+            "io.fabric8.kubernetes.api.model.apps",
+            "io.fabric8.kubernetes.api.model.metrics.v1beta1"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        JSON_PACKAGES.stream()
+                .flatMap(basePackage -> classesIn(basePackage, classLoader))
+                .forEach(className -> hints.reflection().registerTypeIfPresent(classLoader, className, MemberCategory.values()));
+        // shared by both specs, so it lives outside the custom resource packages
+        hints.reflection().registerType(ReplicaSchedule.class, MemberCategory.values());
+        Stream.of(MinecraftServerGroupOperator.class, MinecraftProxyOperator.class, GenericRetry.class, LinearRateLimiter.class)
+                .forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+        hints.resources().registerPattern("version.properties");
+    }
+
+    private static Stream<String> classesIn(String basePackage, ClassLoader classLoader) {
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return basePackage.equals(ClassUtils.getPackageName(beanDefinition.getMetadata().getClassName()));
+            }
+        };
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        return scanner.findCandidateComponents(basePackage).stream().map(BeanDefinition::getBeanClassName);
+    }
+}
@@ -1,8 +1,10 @@
 package com.aoldacraft.minecraftkubernetesstack.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class SpringConfig {
 
 }
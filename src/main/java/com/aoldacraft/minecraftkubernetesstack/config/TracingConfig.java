@@ -0,0 +1,32 @@
+package com.aoldacraft.minecraftkubernetesstack.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Span exporters that need no collector: {@code mcks.tracing.exporter=logging} writes each span to the log,
+ * {@code file} appends them as JSON lines to {@code mcks.tracing.file}. Spring Boot batches the export off the
+ * reconcile threads; {@code management.tracing.sampling.probability} controls how many reconciles are traced.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mcks.tracing.exporter", havingValue = "logging", matchIfMissing = true)
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mcks.tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(ObjectMapper objectMapper, @Value("${mcks.tracing.file:spans.jsonl}") Path file) {
+        return new JsonLinesSpanExporter(objectMapper, file);
+    }
+}
@@ -2,6 +2,8 @@ package com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup;
 
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.entities.MinecraftServerGroupInfo;
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.MinecraftGroupInfoService;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.ServerGroupWakeHandler;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services.ProxySettingsPublisher;
 import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -17,6 +19,8 @@ import java.util.List;
 public class MinecraftGroupInfoController {
 
     private final MinecraftGroupInfoService minecraftGroupService;
+    private final ServerGroupWakeHandler serverGroupWakeHandler;
+    private final ProxySettingsPublisher proxySettingsPublisher;
     private final SseEmitterHandler sseEmitters;
     private static final long TIMEOUT = 3 * 60 * 1000;
     @GetMapping
@@ -29,7 +33,19 @@ public class MinecraftGroupInfoController {
         SseEmitter emitter = new SseEmitter(TIMEOUT);
         sseEmitters.add(emitter);
         minecraftGroupService.publishMinecraftServerGroupInfoInit(emitter);
+        proxySettingsPublisher.publishProxySettingsInit(emitter);
         return ResponseEntity.ok(emitter);
     }
 
+    /**
+     * Called by the proxy when a player targets a hibernated group, with the namespace and name of the group
+     * event; the proxy holds the player until the group is published as ready again.
+     */
+    @PostMapping("/{namespace}/{name}/wake")
+    public ResponseEntity<Void> wake(@PathVariable String namespace, @PathVariable String name) {
+        return serverGroupWakeHandler.wake(namespace, name)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.notFound().build();
+    }
+
 }
@@ -9,6 +9,10 @@ import java.util.List;
 @Builder
 public class MinecraftServerGroupDto {
     String name;
+    String namespace;
+    String state;
     List<String> serverIps;
+    List<String> drainingServerIps;
+    List<ServerLoadDto> servers;
     Boolean isForce;
 }
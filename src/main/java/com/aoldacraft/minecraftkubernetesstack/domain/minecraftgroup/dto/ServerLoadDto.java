@@ -0,0 +1,15 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ServerLoadDto {
+    String ip;
+    Integer players;
+    Integer maxPlayers;
+    Double tps;
+    Double mspt;
+    Double msptJitter;
+}
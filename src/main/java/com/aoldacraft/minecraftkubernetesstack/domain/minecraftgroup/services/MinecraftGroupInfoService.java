@@ -2,15 +2,17 @@ package com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services;
 
 
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.ServerLoadDto;
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.entities.MinecraftServerGroupInfo;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
 import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -37,18 +39,15 @@ public class MinecraftGroupInfoService implements ServerGroupInfoPublisher {
         getServerGroups().stream().filter(MinecraftServerGroupInfo::isActive).forEach(minecraftServerGroupInfo -> {
             try {
                 log.info("Sending initial group info for group: {}", minecraftServerGroupInfo.getName());
-                sseEmitter.send(
-                        SseEmitter.event()
-                                .name(ServerData.LABEL_GROUP)
-                                .data(MinecraftServerGroupDto.builder()
-                                                .name(minecraftServerGroupInfo.getName())
-                                                .serverIps(minecraftServerGroupInfo.getStatus().getPodIPs())
-                                                .isForce(minecraftServerGroupInfo.getSpec().getIsForce())
-                                                .build()
-                                        , MediaType.APPLICATION_JSON)
-                                .reconnectTime(5000)
-                                .build()
-                );
+                sseEmitterHandler.send(sseEmitter, ServerData.LABEL_GROUP, MinecraftServerGroupDto.builder()
+                        .name(minecraftServerGroupInfo.getName())
+                        .namespace(minecraftServerGroupInfo.getNamespace())
+                        .state(minecraftServerGroupInfo.getStatus().getState())
+                        .serverIps(minecraftServerGroupInfo.getStatus().getPodIPs())
+                        .drainingServerIps(minecraftServerGroupInfo.getStatus().getDrainingPodIPs())
+                        .servers(toServerLoads(minecraftServerGroupInfo.getStatus()))
+                        .isForce(minecraftServerGroupInfo.getSpec().getIsForce())
+                        .build());
             } catch (IOException e) {
                 log.error("Error sending initial group info for group: {}", minecraftServerGroupInfo.getName(), e);
                 throw new RuntimeException(e);
@@ -59,40 +58,48 @@ public class MinecraftGroupInfoService implements ServerGroupInfoPublisher {
     @Override
     public void publishMinecraftServerGroupInfo(MinecraftServerGroup resource) {
         log.info("Publishing Minecraft server group info for resource: {}", resource.getMetadata().getName());
-        MinecraftServerGroupInfo info = getServerGroup(
-                resource.getMetadata().getName(),
-                resource.getMetadata().getNamespace());
+        sseEmitterHandler.broadcast(ServerData.LABEL_GROUP, MinecraftServerGroupDto.builder()
+                .name(resource.getMetadata().getName())
+                .namespace(resource.getMetadata().getNamespace())
+                .state(resource.getStatus().getState())
+                .serverIps(resource.getStatus().getPodIPs())
+                .drainingServerIps(resource.getStatus().getDrainingPodIPs())
+                .servers(toServerLoads(resource.getStatus()))
+                .isForce(resource.getSpec().getIsForce())
+                .build());
+    }
 
-        sseEmitterHandler.getEmitters().forEach(sseEmitter -> {
-            try {
-                log.info("Sending updated group info for group: {}", resource.getMetadata().getName());
-                sseEmitter.send(
-                        SseEmitter.event()
-                                .name(ServerData.LABEL_GROUP)
-                                .data(MinecraftServerGroupDto.builder()
-                                                .name(resource.getMetadata().getName())
-                                                .serverIps(resource.getStatus().getPodIPs())
-                                                .isForce(resource.getSpec().getIsForce())
-                                                .build()
-                                        , MediaType.APPLICATION_JSON)
-                                .reconnectTime(5000)
-                                .build()
-                );
-            } catch (IOException e) {
-                log.error("Error sending updated group info for group: {}", resource.getMetadata().getName(), e);
-                throw new RuntimeException(e);
-            }
-        });
+    /**
+     * Per-server load so proxies can route new players to the least-loaded backend.
+     * Only servers that are currently published in {@code serverIps} are included.
+     */
+    private static List<ServerLoadDto> toServerLoads(MinecraftServerGroupStatus status) {
+        if (status.getServers() == null || status.getPodIPs() == null) {
+            return List.of();
+        }
+        return status.getServers().stream()
+                .filter(server -> status.getPodIPs().contains(server.getPodIP()))
+                .map(server -> ServerLoadDto.builder()
+                        .ip(server.getPodIP())
+                        .players(server.getPlayers())
+                        .maxPlayers(server.getMaxPlayers())
+                        .tps(server.getTps())
+                        .mspt(server.getMspt())
+                        .msptJitter(server.getMsptJitter())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     protected List<MinecraftServerGroupInfo> getServerGroups() {
-        return kubernetesClient.resources(MinecraftServerGroup.class).list().getItems()
+        return KubernetesApiMetrics.record("minecraftservergroups.list",
+                        () -> kubernetesClient.resources(MinecraftServerGroup.class).list().getItems())
                 .stream().map(MinecraftServerGroupInfo::makeFromCRD)
                 .collect(Collectors.toList());
     }
 
     public MinecraftServerGroupInfo getServerGroup(String name, String namespace) {
-         return MinecraftServerGroupInfo.makeFromCRD(kubernetesClient.resources(MinecraftServerGroup.class).inNamespace(namespace).withName(name).get());
+         return MinecraftServerGroupInfo.makeFromCRD(KubernetesApiMetrics.record("minecraftservergroups.get",
+                 () -> kubernetesClient.resources(MinecraftServerGroup.class).inNamespace(namespace).withName(name).get()));
     }
 
 }
@@ -0,0 +1,10 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services;
+
+public interface ServerGroupWakeHandler {
+    /**
+     * Asks a hibernated group to start its servers again.
+     *
+     * @return {@code false} when the group does not exist
+     */
+    boolean wake(String namespace, String name);
+}
@@ -0,0 +1,12 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ProxySettingsDto {
+    String name;
+    String motd;
+    Integer showMaxPlayers;
+}
@@ -0,0 +1,53 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.dto.ProxySettingsDto;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@Service
+@RequiredArgsConstructor
+public class MinecraftProxySettingsService implements ProxySettingsPublisher {
+    public static final String EVENT_NAME = "mcks-proxy";
+
+    private final Logger log = LoggerFactory.getLogger(MinecraftProxySettingsService.class);
+
+    private final KubernetesClient kubernetesClient;
+    private final SseEmitterHandler sseEmitterHandler;
+
+    @Override
+    public void publishProxySettingsInit(SseEmitter sseEmitter) {
+        log.info("Publishing initial Minecraft proxy settings");
+        KubernetesApiMetrics.record("minecraftproxies.list",
+                () -> kubernetesClient.resources(MinecraftProxy.class).list().getItems()).forEach(resource -> {
+            try {
+                sseEmitterHandler.send(sseEmitter, EVENT_NAME, toSettings(resource));
+            } catch (IOException e) {
+                log.error("Error sending initial proxy settings for proxy: {}", resource.getMetadata().getName(), e);
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public void publishProxySettings(MinecraftProxy resource) {
+        log.info("Publishing Minecraft proxy settings for resource: {}", resource.getMetadata().getName());
+        sseEmitterHandler.broadcast(EVENT_NAME, toSettings(resource));
+    }
+
+    private static ProxySettingsDto toSettings(MinecraftProxy resource) {
+        return ProxySettingsDto.builder()
+                .name(resource.getMetadata().getName())
+                .motd(resource.getSpec().getMotd())
+                .showMaxPlayers(resource.getSpec().getShowMaxPlayers())
+                .build();
+    }
+}
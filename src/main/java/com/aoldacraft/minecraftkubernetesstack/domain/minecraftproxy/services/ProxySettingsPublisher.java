@@ -0,0 +1,12 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes settings that running proxies apply without a restart.
+ */
+public interface ProxySettingsPublisher {
+    void publishProxySettingsInit(SseEmitter sseEmitter);
+    void publishProxySettings(MinecraftProxy resource);
+}
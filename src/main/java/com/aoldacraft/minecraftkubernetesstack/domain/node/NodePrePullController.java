@@ -0,0 +1,29 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.node;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.node.dto.NodePrePullStateDto;
+import com.aoldacraft.minecraftkubernetesstack.domain.node.services.NodePrePullStateProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/minecraft/nodes")
+@RequiredArgsConstructor
+public class NodePrePullController {
+
+    private final Optional<NodePrePullStateProvider> nodePrePullStateProvider;
+
+    /**
+     * Which nodes already hold the server, init and proxy images and can take a server without pulling; empty
+     * while pre-pulling is disabled.
+     */
+    @GetMapping("/prepull")
+    public ResponseEntity<List<NodePrePullStateDto>> getPrePullStates() {
+        return ResponseEntity.ok(nodePrePullStateProvider.map(NodePrePullStateProvider::getNodePrePullStates).orElse(List.of()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.node.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class NodePrePullStateDto {
+    String nodeName;
+    Boolean ready;
+    Boolean pinned;
+    Map<String, String> images;
+}
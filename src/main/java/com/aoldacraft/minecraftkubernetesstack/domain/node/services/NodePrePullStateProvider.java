@@ -0,0 +1,9 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.node.services;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.node.dto.NodePrePullStateDto;
+
+import java.util.List;
+
+public interface NodePrePullStateProvider {
+    List<NodePrePullStateDto> getNodePrePullStates();
+}
@@ -0,0 +1,61 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Digest-pinned references for the images the operator deploys, as resolved by the image pre-puller.
+ * Pods created while an image is pinned reference it by digest and skip the registry check on start.
+ * One instance is shared by the pre-puller and the pod builders; without a pre-puller nothing is pinned.
+ */
+public class ImageDigests {
+  private final Map<String, String> pinned = new ConcurrentHashMap<>();
+
+  /**
+   * The digest reference of the image when known, otherwise the image as given.
+   */
+  public String resolve(String image) {
+    return pinned.getOrDefault(image, image);
+  }
+
+  /**
+   * {@code IfNotPresent} for pinned images, otherwise {@code null} to keep the Kubernetes default.
+   */
+  public String getPullPolicy(String image) {
+    return pinned.containsKey(image) ? "IfNotPresent" : null;
+  }
+
+  public void pin(String image, String digestReference) {
+    pinned.put(image, digestReference);
+  }
+
+  public Map<String, String> getPinned() {
+    return Map.copyOf(pinned);
+  }
+
+  /**
+   * Builds {@code repository@sha256:...} from an image and the {@code imageID} a node reported for it,
+   * e.g. {@code docker-pullable://itzg/minecraft-server@sha256:ab..}.
+   *
+   * @return {@code null} when the image ID carries no digest
+   */
+  public static String toDigestReference(String image, String imageID) {
+    if (imageID == null) {
+      return null;
+    }
+    final int digestStart = imageID.indexOf("@sha256:");
+    if (digestStart < 0) {
+      return null;
+    }
+    return getRepository(image) + imageID.substring(digestStart);
+  }
+
+  static String getRepository(String image) {
+    final int digestStart = image.indexOf('@');
+    if (digestStart >= 0) {
+      return image.substring(0, digestStart);
+    }
+    final int tagStart = image.lastIndexOf(':');
+    return tagStart > image.lastIndexOf('/') ? image.substring(0, tagStart) : image;
+  }
+}
@@ -0,0 +1,51 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times Kubernetes API calls made outside the informers, tagged by operation ({@code <resource>.<verb>}) and outcome,
+ * and traces each call as a child span of the reconcile that made it. Timers live on the global registry, which Spring Boot wires to the Prometheus registry, and are cached so a call
+ * costs a map lookup plus two {@link System#nanoTime()} reads.
+ */
+public final class KubernetesApiMetrics {
+  private static final String NAME = "mcks.kubernetes.api";
+  private static final Map<String, Timer> SUCCESS = new ConcurrentHashMap<>();
+  private static final Map<String, Timer> ERROR = new ConcurrentHashMap<>();
+
+  private KubernetesApiMetrics() {
+  }
+
+  public static <T> T record(String operation, Supplier<T> call) {
+    final long start = System.nanoTime();
+    try {
+      final T result = Traces.span("k8s " + operation, Map.of("operation", operation), call);
+      timer(SUCCESS, operation, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (RuntimeException e) {
+      timer(ERROR, operation, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  public static void run(String operation, Runnable call) {
+    record(operation, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  private static Timer timer(Map<String, Timer> timers, String operation, String outcome) {
+    return timers.computeIfAbsent(operation, key -> Timer.builder(NAME)
+            .description("Kubernetes API call latency")
+            .tag("operation", key)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry));
+  }
+}
@@ -0,0 +1,67 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Reconcile latency histograms of one controller, tagged by path and outcome. The outcome follows the returned
+ * {@link UpdateControl} ({@code updated}, {@code status} or {@code noop}); reconcilers that log and swallow their
+ * exceptions call {@link #markFailed()} so the attempt is still counted as {@code error}.
+ */
+public class ReconcileMetrics {
+  private static final ThreadLocal<Boolean> FAILED = ThreadLocal.withInitial(() -> false);
+
+  private final String controller;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public ReconcileMetrics(String controller, MeterRegistry meterRegistry) {
+    this.controller = controller;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public <R extends HasMetadata> UpdateControl<R> record(String path, Supplier<UpdateControl<R>> reconcile) {
+    final long start = System.nanoTime();
+    FAILED.set(false);
+    String outcome = "error";
+    try {
+      final UpdateControl<R> control = reconcile.get();
+      outcome = FAILED.get() ? "error" : getOutcome(control);
+      return control;
+    } finally {
+      FAILED.remove();
+      Traces.tag("reconcile.path", path);
+      Traces.tag("reconcile.outcome", outcome);
+      timer(path, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public void markFailed() {
+    FAILED.set(true);
+    Traces.markFailed();
+  }
+
+  private static String getOutcome(UpdateControl<?> control) {
+    if (control.isUpdateResource()) {
+      return "updated";
+    }
+    return control.isPatchStatus() || control.isUpdateStatus() ? "status" : "noop";
+  }
+
+  private Timer timer(String path, String outcome) {
+    return timers.computeIfAbsent(path + "/" + outcome, key -> Timer.builder("mcks.reconcile")
+            .description("Reconcile latency")
+            .tag("controller", controller)
+            .tag("path", path)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+  }
+}
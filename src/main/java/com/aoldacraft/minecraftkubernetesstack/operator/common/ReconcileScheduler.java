@@ -0,0 +1,148 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gates reconcile work behind a fixed number of permits and hands every freed permit to the most
+ * urgent waiter. Lanes order the kind of work (deletions before replica repair before status
+ * refreshes), the priority orders groups within a lane, and waiters age so nothing starves.
+ * Queue depth and wait time are reported per lane and per priority bucket, so busy groups waiting
+ * behind idle ones show up.
+ */
+public class ReconcileScheduler {
+
+  public enum Lane {
+    DELETE,
+    REPAIR,
+    STATUS
+  }
+
+  /**
+   * Coarse priority for metric tags: a group's priority is its spec priority times 1000 plus its players,
+   * so anything below 1000 is an ordinary group ranked by load alone.
+   */
+  enum PriorityBucket {
+    IDLE,
+    LOW,
+    HIGH;
+
+    static PriorityBucket of(long priority) {
+      if (priority <= 0) {
+        return IDLE;
+      }
+      return priority < HIGH_PRIORITY ? LOW : HIGH;
+    }
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(ReconcileScheduler.class);
+  private static final long LANE_WEIGHT = 1_000_000L;
+  private static final long AGING_BONUS = LANE_WEIGHT / 10;
+  private static final long HIGH_PRIORITY = 1000;
+
+  private final long agingStepNanos;
+  private final long maxWaitNanos;
+  private final List<Ticket> waiting = new ArrayList<>();
+  private final Map<Lane, Map<PriorityBucket, AtomicInteger>> queueDepths = new EnumMap<>(Lane.class);
+  private final Map<Lane, Map<PriorityBucket, Timer>> waitTimers = new EnumMap<>(Lane.class);
+  private int availablePermits;
+  private long sequence;
+
+  public ReconcileScheduler(MeterRegistry meterRegistry, int permits, Duration agingStep, Duration maxWait) {
+    this.availablePermits = permits;
+    this.agingStepNanos = agingStep.toNanos();
+    this.maxWaitNanos = maxWait.toNanos();
+    for (Lane lane : Lane.values()) {
+      final Map<PriorityBucket, AtomicInteger> depths = new EnumMap<>(PriorityBucket.class);
+      final Map<PriorityBucket, Timer> timers = new EnumMap<>(PriorityBucket.class);
+      for (PriorityBucket bucket : PriorityBucket.values()) {
+        final AtomicInteger depth = new AtomicInteger();
+        depths.put(bucket, depth);
+        Gauge.builder("mcks.reconcile.queue.depth", depth, AtomicInteger::get)
+                .description("Reconciles waiting for a permit")
+                .tag("lane", lane.name().toLowerCase())
+                .tag("priority", bucket.name().toLowerCase())
+                .register(meterRegistry);
+        timers.put(bucket, Timer.builder("mcks.reconcile.queue.wait")
+                .description("Time spent waiting for a reconcile permit")
+                .tag("lane", lane.name().toLowerCase())
+                .tag("priority", bucket.name().toLowerCase())
+                .register(meterRegistry));
+      }
+      queueDepths.put(lane, depths);
+      waitTimers.put(lane, timers);
+    }
+  }
+
+  public <T> T run(Lane lane, long priority, Supplier<T> work) {
+    acquire(lane, priority);
+    try {
+      return work.get();
+    } finally {
+      release();
+    }
+  }
+
+  private synchronized void acquire(Lane lane, long priority) {
+    final Ticket ticket = new Ticket(lane, Math.clamp(priority, 0, LANE_WEIGHT - 1), System.nanoTime(), sequence++);
+    final PriorityBucket bucket = PriorityBucket.of(ticket.priority());
+    waiting.add(ticket);
+    queueDepths.get(lane).get(bucket).incrementAndGet();
+    try {
+      while (availablePermits == 0 || next() != ticket) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a reconcile permit", e);
+    } finally {
+      waiting.remove(ticket);
+      queueDepths.get(lane).get(bucket).decrementAndGet();
+      notifyAll();
+    }
+    availablePermits--;
+    final long waited = System.nanoTime() - ticket.enqueuedAt();
+    waitTimers.get(lane).get(bucket).record(Duration.ofNanos(waited));
+    if (waited >= maxWaitNanos) {
+      log.warn("Reconcile in lane {} waited {} ms for a permit", lane, Duration.ofNanos(waited).toMillis());
+    }
+  }
+
+  private synchronized void release() {
+    availablePermits++;
+    notifyAll();
+  }
+
+  private Ticket next() {
+    final long now = System.nanoTime();
+    return waiting.stream()
+            .max(Comparator.<Ticket>comparingLong(ticket -> score(ticket, now))
+                    .thenComparing(Comparator.comparingLong(Ticket::sequence).reversed()))
+            .orElse(null);
+  }
+
+  private long score(Ticket ticket, long now) {
+    final long waited = now - ticket.enqueuedAt();
+    if (waited >= maxWaitNanos) {
+      return Long.MAX_VALUE;
+    }
+    return (Lane.values().length - ticket.lane().ordinal()) * LANE_WEIGHT
+            + ticket.priority()
+            + waited / agingStepNanos * AGING_BONUS;
+  }
+
+  private record Ticket(Lane lane, long priority, long enqueuedAt, long sequence) {
+  }
+}
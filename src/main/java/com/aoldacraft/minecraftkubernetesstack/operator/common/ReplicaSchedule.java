@@ -0,0 +1,16 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import lombok.Data;
+
+/**
+ * Raises the replica floor to {@code minReplicas} for {@code durationMinutes} every time the cron
+ * {@code schedule} fires. Five-field cron expressions and macros such as {@code @weekly} are accepted.
+ */
+@Data
+public class ReplicaSchedule {
+    private String name;
+    private String schedule;
+    private Integer durationMinutes = 60;
+    private Integer minReplicas = 1;
+    private String timeZone = "UTC";
+}
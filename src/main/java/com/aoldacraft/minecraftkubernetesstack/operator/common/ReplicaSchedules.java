@@ -0,0 +1,110 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Evaluates {@link ReplicaSchedule}s inside the operator, so pre-scaling for known peaks needs no external cron
+ * service. Reconcilers requeue at {@link Evaluation#nextTransition()} to raise and release the floor on time.
+ * Invalid expressions or time zones are logged and ignored rather than failing the reconcile.
+ */
+public final class ReplicaSchedules {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaSchedules.class);
+  private static final int MAX_FIRES_PER_WINDOW = 1000;
+
+  /**
+   * @param activeSchedule name of the active schedule with the highest floor, {@code null} if none is active
+   * @param minReplicas    replica floor, 0 when no schedule is active
+   * @param nextTransition next time a schedule starts or ends, {@code null} without schedules
+   */
+  public record Evaluation(String activeSchedule, int minReplicas, Instant nextTransition) {
+
+    public static final Evaluation NONE = new Evaluation(null, 0, null);
+
+    /**
+     * Delay until just after the next transition, so the requeued reconcile does not land a few
+     * milliseconds before it.
+     */
+    public Duration untilNextTransition(Instant now) {
+      return nextTransition == null ? null : Duration.between(now, nextTransition).plusSeconds(1);
+    }
+  }
+
+  private ReplicaSchedules() {
+  }
+
+  public static Evaluation evaluate(List<ReplicaSchedule> schedules, Instant now) {
+    if (schedules == null || schedules.isEmpty()) {
+      return Evaluation.NONE;
+    }
+    String activeSchedule = null;
+    int minReplicas = 0;
+    Instant nextTransition = null;
+    for (ReplicaSchedule schedule : schedules) {
+      final CronExpression cron = parse(schedule.getSchedule());
+      final ZoneId zone = getZone(schedule);
+      if (cron == null || zone == null) {
+        continue;
+      }
+      final Duration duration = Duration.ofMinutes(Math.max(0, schedule.getDurationMinutes() == null ? 0 : schedule.getDurationMinutes()));
+      final ZonedDateTime current = now.atZone(zone);
+      ZonedDateTime lastStart = null;
+      ZonedDateTime nextStart = cron.next(current.minus(duration));
+      for (int fires = 0; nextStart != null && !nextStart.isAfter(current) && fires < MAX_FIRES_PER_WINDOW; fires++) {
+        lastStart = nextStart;
+        nextStart = cron.next(nextStart);
+      }
+      if (lastStart != null) {
+        final Instant end = lastStart.plus(duration).toInstant();
+        nextTransition = earliest(nextTransition, end);
+        final int floor = schedule.getMinReplicas() == null ? 0 : schedule.getMinReplicas();
+        if (activeSchedule == null || floor > minReplicas) {
+          activeSchedule = schedule.getName() != null ? schedule.getName() : schedule.getSchedule();
+          minReplicas = floor;
+        }
+      }
+      if (nextStart != null && nextStart.isAfter(current)) {
+        nextTransition = earliest(nextTransition, nextStart.toInstant());
+      }
+    }
+    return new Evaluation(activeSchedule, minReplicas, nextTransition);
+  }
+
+  /**
+   * Spring's cron has a leading seconds field; standard five-field expressions fire on the minute.
+   */
+  static CronExpression parse(String expression) {
+    if (expression == null || expression.isBlank()) {
+      return null;
+    }
+    final String trimmed = expression.trim();
+    try {
+      return CronExpression.parse(trimmed.split("\\s+").length == 5 ? "0 " + trimmed : trimmed);
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring replica schedule with invalid cron expression '{}': {}", expression, e.getMessage());
+      return null;
+    }
+  }
+
+  private static ZoneId getZone(ReplicaSchedule schedule) {
+    try {
+      return schedule.getTimeZone() == null ? ZoneId.of("UTC") : ZoneId.of(schedule.getTimeZone());
+    } catch (DateTimeException e) {
+      log.warn("Ignoring replica schedule '{}' with invalid time zone '{}'", schedule.getName(), schedule.getTimeZone());
+      return null;
+    }
+  }
+
+  private static Instant earliest(Instant current, Instant candidate) {
+    return current == null || candidate.isBefore(current) ? candidate : current;
+  }
+}
@@ -0,0 +1,34 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+
+/**
+ * Reads a container's effective resource budget. Limits come first, since they are what the container
+ * gets killed at, then requests.
+ */
+public final class ResourceQuantities {
+
+  private ResourceQuantities() {
+  }
+
+  public static Quantity getQuantity(ResourceRequirements resources, String name) {
+    if (resources == null) {
+      return null;
+    }
+    if (resources.getLimits() != null && resources.getLimits().get(name) != null) {
+      return resources.getLimits().get(name);
+    }
+    return resources.getRequests() == null ? null : resources.getRequests().get(name);
+  }
+
+  public static Long getBytes(ResourceRequirements resources, String name) {
+    final Quantity quantity = getQuantity(resources, name);
+    return quantity == null ? null : Quantity.getAmountInBytes(quantity).longValue();
+  }
+
+  public static Long getMillis(ResourceRequirements resources, String name) {
+    final Quantity quantity = getQuantity(resources, name);
+    return quantity == null ? null : Quantity.getAmountInBytes(quantity).movePointRight(3).longValue();
+  }
+}
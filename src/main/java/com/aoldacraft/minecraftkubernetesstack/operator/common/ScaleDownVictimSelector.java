@@ -0,0 +1,37 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.Pod;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Picks which pods to remove on scale-down: pods that are not running yet go first, then the
+ * pods carrying the least load, and among equally loaded pods the youngest.
+ */
+public final class ScaleDownVictimSelector {
+
+  private ScaleDownVictimSelector() {
+  }
+
+  public static List<Pod> select(Collection<Pod> pods, int count, ToIntFunction<Pod> load) {
+    return pods.stream()
+            .sorted(Comparator.comparing((Pod pod) -> isRunning(pod))
+                    .thenComparingInt(load)
+                    .thenComparing(ScaleDownVictimSelector::getCreationTime, Comparator.reverseOrder()))
+            .limit(Math.max(0, count))
+            .toList();
+  }
+
+  private static boolean isRunning(Pod pod) {
+    return pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase());
+  }
+
+  private static Instant getCreationTime(Pod pod) {
+    final String creationTimestamp = pod.getMetadata().getCreationTimestamp();
+    return creationTimestamp == null ? Instant.MAX : Instant.parse(creationTimestamp);
+  }
+}
@@ -0,0 +1,28 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+
+import java.util.Set;
+
+/**
+ * Maps secondary resources to the primaries whose name they carry in a label.
+ */
+public final class SecondaryToPrimaryMappers {
+
+  private SecondaryToPrimaryMappers() {
+  }
+
+  /**
+   * Maps to the primary of that name in the secondary's namespace, whether or not the primary is cached yet.
+   * Looking the primary up in the cache instead loses secondaries whose events arrive first, e.g. while the
+   * informers sync on startup, and a lost ConfigMap then reads as a config change on every reconcile.
+   */
+  public static <S extends HasMetadata> SecondaryToPrimaryMapper<S> byNameLabel(String label) {
+    return secondary -> {
+      final String name = secondary.getMetadata().getLabels() == null ? null : secondary.getMetadata().getLabels().get(label);
+      return name == null ? Set.of() : Set.of(new ResourceID(name, secondary.getMetadata().getNamespace()));
+    };
+  }
+}
@@ -0,0 +1,77 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Spans around reconciles, Kubernetes API calls, config downloads and SSE publishes. Static like
+ * {@link KubernetesApiMetrics} so util classes need no wiring; until {@link #use(Tracer)} hands over the tracer
+ * Spring Boot configures, every span is a no-op. Sampling is decided at the root span, so an unsampled reconcile
+ * only creates non-recording spans.
+ */
+public final class Traces {
+  public static final String GROUP = "group";
+  public static final String PROXY = "proxy";
+  public static final String NAMESPACE = "namespace";
+  public static final String POD_INDEX = "pod.index";
+  public static final String OUTCOME = "outcome";
+
+  private static final ThreadLocal<Boolean> FAILED = ThreadLocal.withInitial(() -> false);
+  private static volatile Tracer tracer = Tracer.NOOP;
+
+  private Traces() {
+  }
+
+  public static void use(Tracer tracer) {
+    Traces.tracer = tracer;
+  }
+
+  /**
+   * Runs {@code call} in a child of the current span, tagged with {@code tags} and an {@code outcome} of
+   * {@code success} or {@code error}. Work that logs and swallows its failures calls {@link #markFailed()}.
+   */
+  public static <T> T span(String name, Map<String, String> tags, Supplier<T> call) {
+    final Tracer current = tracer;
+    final Span span = current.nextSpan().name(name);
+    tags.forEach(span::tag);
+    span.start();
+    final boolean parentFailed = FAILED.get();
+    FAILED.set(false);
+    try (Tracer.SpanInScope ignored = current.withSpan(span)) {
+      final T result = call.get();
+      span.tag(OUTCOME, FAILED.get() ? "error" : "success");
+      return result;
+    } catch (RuntimeException e) {
+      span.tag(OUTCOME, "error");
+      span.error(e);
+      throw e;
+    } finally {
+      FAILED.set(parentFailed);
+      span.end();
+    }
+  }
+
+  public static void run(String name, Map<String, String> tags, Runnable call) {
+    span(name, tags, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  public static void markFailed() {
+    FAILED.set(true);
+  }
+
+  /**
+   * Adds a tag to the current span, e.g. a result only known at the end of the traced work.
+   */
+  public static void tag(String key, String value) {
+    final Span span = tracer.currentSpan();
+    if (span != null && value != null) {
+      span.tag(key, value);
+    }
+  }
+}
@@ -1,43 +1,146 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.config;
 
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.MinecraftGroupInfoService;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services.MinecraftProxySettingsService;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileScheduler;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.MinecraftProxyOperator;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyPodUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.MinecraftServerGroupOperator;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerLoadSampler;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.aoldacraft.minecraftkubernetesstack.operator.prepull.ImagePrePuller;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.Operator;
 import io.javaoperatorsdk.operator.api.reconciler.Reconciler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Configuration
 @RequiredArgsConstructor
 public class OperatorConfig {
 
     private final MinecraftGroupInfoService minecraftGroupInfoService;
+    private final MinecraftProxySettingsService minecraftProxySettingsService;
     private final KubernetesClient kubernetesClient;
+    private final MeterRegistry meterRegistry;
 
     @Bean
-    public MinecraftServerGroupOperator minecraftServerGroupController() {
+    public ReconcileScheduler reconcileScheduler(@Value("${mcks.reconcile.permits:16}") int permits,
+                                                 @Value("${mcks.reconcile.aging-step:1s}") Duration agingStep,
+                                                 @Value("${mcks.reconcile.max-wait:30s}") Duration maxWait) {
+        return new ReconcileScheduler(meterRegistry, permits, agingStep, maxWait);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ServerLoadSampler serverLoadSampler(@Value("${mcks.sampler.interval:15s}") Duration interval,
+                                               @Value("${mcks.sampler.timeout:2s}") Duration timeout,
+                                               @Value("${mcks.sampler.unsampled-grace:2m}") Duration unsampledGrace,
+                                               @Value("${mcks.sampler.concurrency:32}") int concurrency) {
+        return new ServerLoadSampler(interval, timeout, unsampledGrace, concurrency);
+    }
+
+    @Bean
+    public ImageDigests imageDigests() {
+        return new ImageDigests();
+    }
+
+    /**
+     * Opt-in, since it runs a DaemonSet on every eligible node; without it pods keep pulling by tag.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "mcks.prepull.enabled", havingValue = "true")
+    public ImagePrePuller imagePrePuller(ImageDigests imageDigests,
+                                         @Value("${mcks.prepull.namespace:}") String namespace,
+                                         @Value("${mcks.prepull.node-selector:}") String nodeSelector,
+                                         @Value("${mcks.prepull.interval:1m}") Duration interval,
+                                         @Value("${mcks.prepull.refresh-interval:6h}") Duration refreshInterval) {
+        return new ImagePrePuller(
+                kubernetesClient,
+                imageDigests,
+                namespace.isBlank() ? Objects.requireNonNullElse(kubernetesClient.getNamespace(), "default") : namespace,
+                List.of(ServerData.SERVER_IMAGE, ServerData.INIT_IMAGE, ProxyPodUtil.PROXY_IMAGE),
+                parseNodeSelector(nodeSelector),
+                interval,
+                refreshInterval
+        );
+    }
+
+    /**
+     * {@code key=value,key2=value2}; empty means every node is eligible.
+     */
+    private static Map<String, String> parseNodeSelector(String nodeSelector) {
+        return Arrays.stream(nodeSelector.split(","))
+                .map(String::trim)
+                .filter(entry -> entry.contains("="))
+                .collect(Collectors.toMap(entry -> entry.substring(0, entry.indexOf('=')).trim(),
+                        entry -> entry.substring(entry.indexOf('=') + 1).trim()));
+    }
+
+    /**
+     * Samples open connections of autoscaled proxies. Kept apart from the server sampler since a proxy and a
+     * server group may share a name.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ServerLoadSampler proxyLoadSampler(@Value("${mcks.sampler.interval:15s}") Duration interval,
+                                              @Value("${mcks.sampler.timeout:2s}") Duration timeout,
+                                              @Value("${mcks.sampler.unsampled-grace:2m}") Duration unsampledGrace,
+                                              @Value("${mcks.sampler.concurrency:32}") int concurrency) {
+        return new ServerLoadSampler(interval, timeout, unsampledGrace, concurrency);
+    }
+
+    @Bean
+    public MinecraftServerGroupOperator minecraftServerGroupController(ReconcileScheduler reconcileScheduler,
+                                                                       @Qualifier("serverLoadSampler") ServerLoadSampler serverLoadSampler,
+                                                                       ImageDigests imageDigests) {
         return new MinecraftServerGroupOperator(
                 kubernetesClient,
-                minecraftGroupInfoService
+                minecraftGroupInfoService,
+                reconcileScheduler,
+                serverLoadSampler,
+                imageDigests,
+                meterRegistry
         );
     }
 
     @Bean
-    public MinecraftProxyOperator minecraftProxyOperator() {
+    public MinecraftProxyOperator minecraftProxyOperator(ReconcileScheduler reconcileScheduler,
+                                                         @Qualifier("proxyLoadSampler") ServerLoadSampler proxyLoadSampler,
+                                                         ImageDigests imageDigests) {
         return new MinecraftProxyOperator(
-                kubernetesClient
+                kubernetesClient,
+                minecraftProxySettingsService,
+                reconcileScheduler,
+                proxyLoadSampler,
+                imageDigests,
+                meterRegistry
         );
     }
 
+    /**
+     * Runs on the same client as the reconcilers so informers and writes share one connection pool and API server.
+     * The tracer is handed to {@link Traces} before the first reconcile.
+     */
     @Bean(initMethod = "start", destroyMethod = "stop")
     @SuppressWarnings("rawtypes")
-    public Operator operator(List<Reconciler> controllers) {
-        Operator operator = new Operator();
+    public Operator operator(List<Reconciler> controllers, Optional<Tracer> tracer) {
+        tracer.ifPresent(Traces::use);
+        Operator operator = new Operator(overrider -> overrider.withKubernetesClient(kubernetesClient));
         controllers.forEach(operator::register);
         return operator;
     }
@@ -1,9 +1,23 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy;
 
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services.ProxySettingsPublisher;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileScheduler;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedules;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.SecondaryToPrimaryMappers;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.autoscaling.ProxyAutoscaler;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyAutoscaling;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.tuning.ProxyTuningProfile;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyDaemonSetUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyPodUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyServiceUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.QueryLoadSource;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.RollingServerLoad;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerLoadSampler;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
@@ -13,88 +27,251 @@ import io.javaoperatorsdk.operator.api.reconciler.dependent.Deleter;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
 import io.javaoperatorsdk.operator.processing.event.source.SecondaryToPrimaryMapper;
+import io.javaoperatorsdk.operator.processing.event.source.inbound.SimpleInboundEventSource;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @ControllerConfiguration
 public class MinecraftProxyOperator implements Reconciler<MinecraftProxy>, EventSourceInitializer<MinecraftProxy>, Cleaner<MinecraftProxy> {
   private static final String LABEL_GROUP = "minecraftproxy";
+  private static final Duration ROLLOUT_REQUEUE = Duration.ofSeconds(15);
+  private static final Duration AUTOSCALING_REQUEUE = Duration.ofSeconds(30);
   private final Logger log = LoggerFactory.getLogger(MinecraftProxyOperator.class);
   private final KubernetesClient kubernetesClient;
+  private final ProxySettingsPublisher proxySettingsPublisher;
+  private final ReconcileScheduler reconcileScheduler;
+  private final ServerLoadSampler proxyLoadSampler;
+  private final ImageDigests imageDigests;
+  private final ProxyAutoscaler proxyAutoscaler = new ProxyAutoscaler();
+  private final SimpleInboundEventSource loadEventSource = new SimpleInboundEventSource();
+  private final ReconcileMetrics reconcileMetrics;
 
-  public MinecraftProxyOperator(KubernetesClient kubernetesClient) {
+  public MinecraftProxyOperator(KubernetesClient kubernetesClient, ProxySettingsPublisher proxySettingsPublisher,
+                                ReconcileScheduler reconcileScheduler, ServerLoadSampler proxyLoadSampler,
+                                ImageDigests imageDigests, MeterRegistry meterRegistry) {
     this.kubernetesClient = kubernetesClient;
+    this.proxySettingsPublisher = proxySettingsPublisher;
+    this.reconcileScheduler = reconcileScheduler;
+    this.proxyLoadSampler = proxyLoadSampler;
+    this.imageDigests = imageDigests;
+    this.proxyLoadSampler.onLoadChanged(loadEventSource::propagateEvent);
+    this.reconcileMetrics = new ReconcileMetrics("minecraftproxy", meterRegistry);
   }
 
   @Override
   public Map<String, EventSource> prepareEventSources(EventSourceContext<MinecraftProxy> context) {
     final SecondaryToPrimaryMapper<Pod> minecraftProxyMatchingPodLabel =
-            (Pod pod) -> context.getPrimaryCache()
-                    .list(minecraftProxy -> minecraftProxy.getMetadata().getName().equals(
-                            pod.getMetadata().getLabels().get(LABEL_GROUP)))
-                    .map(ResourceID::fromResource)
-                    .collect(Collectors.toSet());
+            SecondaryToPrimaryMappers.<Pod>byNameLabel(LABEL_GROUP);
 
     InformerConfiguration<Pod> configuration =
             InformerConfiguration.from(Pod.class, context)
                     .withSecondaryToPrimaryMapper(minecraftProxyMatchingPodLabel)
                     .build();
 
-    return EventSourceInitializer.nameEventSources(new InformerEventSource<>(configuration, context));
+    return EventSourceInitializer.nameEventSources(new InformerEventSource<>(configuration, context), loadEventSource);
   }
 
   @Override
   public UpdateControl<MinecraftProxy> reconcile(MinecraftProxy resource, Context<MinecraftProxy> context) {
+    return Traces.span("reconcile minecraftproxy",
+            Map.of(Traces.PROXY, resource.getMetadata().getName(), Traces.NAMESPACE, resource.getMetadata().getNamespace()),
+            () -> reconcileInLane(resource, context));
+  }
+
+  private UpdateControl<MinecraftProxy> reconcileInLane(MinecraftProxy resource, Context<MinecraftProxy> context) {
+    final boolean repair = resource.getStatus() == null ||
+            !Objects.equals(resource.getMetadata().getGeneration(), resource.getStatus().getObservedGeneration()) ||
+            (!ProxyDaemonSetUtil.isEnabled(resource) &&
+                    context.getSecondaryResources(Pod.class).size() != ProxyPodUtil.getDesiredReplicas(resource)) ||
+            !ProxyPodUtil.getTemplateHash(resource).equals(resource.getStatus().getTemplateHash());
+    return reconcileScheduler.run(repair ? ReconcileScheduler.Lane.REPAIR : ReconcileScheduler.Lane.STATUS,
+            resource.getSpec().getPriority(),
+            () -> reconcileMetrics.record(repair ? "repair" : "status", () -> reconcileProxy(resource, context)));
+  }
+
+  private UpdateControl<MinecraftProxy> reconcileProxy(MinecraftProxy resource, Context<MinecraftProxy> context) {
     log.info("Reconciling MinecraftProxy: {}", resource.getMetadata().getName());
     try {
-      boolean specChanged = resource.getStatus() == null ||
-              !Objects.equals(resource.getMetadata().getGeneration(), resource.getStatus().getObservedGeneration());
-      if (specChanged) {
-        log.info("Spec changed for MinecraftProxy: {}, deleting and recreating Pods", resource.getMetadata().getName());
-        ProxyPodUtil.deleteAllPods(kubernetesClient, resource);
-        ProxyServiceUtil.deleteService(kubernetesClient, resource);
-        ProxyPodUtil.ensurePodsExist(kubernetesClient, resource);
+      ResourceID resourceID = ResourceID.fromResource(resource);
+      if (resource.getStatus() == null) {
+        resource.setStatus(new MinecraftProxyStatus());
+      }
+      Instant now = Instant.now();
+      ReplicaSchedules.Evaluation schedule = ReplicaSchedules.evaluate(resource.getSpec().getSchedules(), now);
+      updateSchedule(resource, schedule);
+      boolean daemonSetMode = ProxyDaemonSetUtil.isEnabled(resource);
+      if (resource.getSpec().getAutoscaling() == null || daemonSetMode) {
+        proxyLoadSampler.untrack(resourceID);
       } else {
-        ProxyPodUtil.ensurePodsExist(kubernetesClient, resource);
+        proxyLoadSampler.track(resourceID, context.getSecondaryResources(Pod.class),
+                new QueryLoadSource(resource.getSpec().getQueryPort()));
+      }
+      Map<String, Integer> connections = proxyLoadSampler.getLoads(resourceID).stream()
+              .collect(Collectors.toMap(RollingServerLoad::podName, RollingServerLoad::players));
+      String tuningError = ProxyTuningProfile.validate(resource.getSpec());
+      if (tuningError != null && !tuningError.equals(resource.getStatus().getTuningError())) {
+        log.warn("Not rolling out MinecraftProxy {}: {}", resource.getMetadata().getName(), tuningError);
+      }
+      resource.getStatus().setTuningError(tuningError);
+      boolean rollingOut = false;
+      // a spec that cannot be tuned leaves the current pods serving until it is fixed; the mode switched away
+      // from is only retired once the new one serves, then drained like a rollout
+      if (tuningError != null) {
+        log.debug("Keeping the current pods of MinecraftProxy {}", resource.getMetadata().getName());
+      } else if (daemonSetMode) {
+        rollingOut = ProxyDaemonSetUtil.ensureDaemonSetExists(kubernetesClient, imageDigests, resource)
+                || ProxyPodUtil.retirePods(kubernetesClient, resource, connections);
+      } else {
+        updateAutoscaling(resource, resourceID, context.getSecondaryResources(Pod.class), connections);
+        rollingOut = ProxyPodUtil.ensurePodsExist(kubernetesClient, imageDigests, resource, connections)
+                || ProxyDaemonSetUtil.retireDaemonSet(kubernetesClient, resource);
       }
       ProxyServiceUtil.ensureServiceExists(kubernetesClient, resource);
+      resource.getStatus().setEffectiveReplicas(daemonSetMode ? null : ProxyPodUtil.getDesiredReplicas(resource));
       updateStatus(resource);
+      publishSettings(resource);
       resource.getStatus().setObservedGeneration(resource.getMetadata().getGeneration());
-      return UpdateControl.updateResourceAndPatchStatus(resource);
+      UpdateControl<MinecraftProxy> control = UpdateControl.updateResourceAndPatchStatus(resource);
+      Duration requeue = rollingOut ? ROLLOUT_REQUEUE
+              : resource.getSpec().getAutoscaling() != null && !daemonSetMode ? AUTOSCALING_REQUEUE : null;
+      Duration untilSchedule = daemonSetMode ? null : schedule.untilNextTransition(now);
+      if (untilSchedule != null && (requeue == null || untilSchedule.compareTo(requeue) < 0)) {
+        requeue = untilSchedule;
+      }
+      return requeue == null ? control : control.rescheduleAfter(requeue);
     } catch (Exception e) {
       log.error("Error during reconciliation of MinecraftProxy: {}", resource.getMetadata().getName(), e);
+      reconcileMetrics.markFailed();
     }
     return UpdateControl.noUpdate();
   }
 
   private void updateStatus(MinecraftProxy resource) {
     List<Pod> pods = ProxyPodUtil.getPods(kubernetesClient, resource);
+    String templateHash = ProxyPodUtil.getTemplateHash(resource);
     Set<String> podIPs = pods.stream()
-            .filter(pod -> "Running".equals(pod.getStatus().getPhase()))
+            .filter(pod -> pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()) && ProxyPodUtil.isServing(pod))
             .map(pod -> pod.getStatus().getPodIP())
             .collect(Collectors.toSet());
+    List<String> drainingPodIPs = pods.stream()
+            .filter(pod -> !ProxyPodUtil.isServing(pod) && pod.getStatus() != null && pod.getStatus().getPodIP() != null)
+            .map(pod -> pod.getStatus().getPodIP())
+            .sorted()
+            .toList();
+    int updatedReplicas = (int) pods.stream()
+            .filter(pod -> ProxyPodUtil.isServing(pod)
+                    && templateHash.equals(pod.getMetadata().getLabels().get(ProxyPodUtil.LABEL_TEMPLATE_HASH)))
+            .count();
 
     log.info("Updating status for MinecraftProxy: {}. Pod IPs: {}", resource.getMetadata().getName(), podIPs);
 
     MinecraftProxyStatus status = resource.getStatus() == null ? new MinecraftProxyStatus() : resource.getStatus();
     status.setPodIPs(new ArrayList<>(podIPs));
+    status.setDrainingPodIPs(new ArrayList<>(drainingPodIPs));
+    status.setTemplateHash(templateHash);
+    status.setUpdatedReplicas(updatedReplicas);
     status.setState(podIPs.isEmpty() ? "Not Ready" : "Ready");
     resource.setStatus(status);
   }
 
+  /**
+   * Records the active schedule and its replica floor, which {@link ProxyPodUtil#getDesiredReplicas} raises
+   * the autoscaler's decision to. Ignored in DaemonSet mode, where the node count sets the replicas.
+   */
+  private void updateSchedule(MinecraftProxy resource, ReplicaSchedules.Evaluation schedule) {
+    MinecraftProxyStatus status = resource.getStatus();
+    Integer scheduledMinReplicas = schedule.activeSchedule() == null ? null : schedule.minReplicas();
+    if (!Objects.equals(status.getActiveSchedule(), schedule.activeSchedule())
+            || !Objects.equals(status.getScheduledMinReplicas(), scheduledMinReplicas)) {
+      log.info("Replica schedule of MinecraftProxy {} is now {} with a floor of {} replicas",
+              resource.getMetadata().getName(), schedule.activeSchedule(), scheduledMinReplicas);
+    }
+    status.setActiveSchedule(schedule.activeSchedule());
+    status.setScheduledMinReplicas(scheduledMinReplicas);
+  }
+
+  /**
+   * Records connection and CPU load in status and, for autoscaled proxies, the replica decision that
+   * {@link ProxyPodUtil#ensurePodsExist} reconciles to, raised to the active schedule's floor. The autoscaler
+   * decides on its own count, so the proxies fall back to what the load needs once the schedule ends. CPU is
+   * only taken into account when metrics-server reports usage and the proxies have a CPU request. Nothing is
+   * decided while a ready proxy has no sample yet, as after an operator restart.
+   */
+  private void updateAutoscaling(MinecraftProxy resource, ResourceID resourceID, Set<Pod> pods, Map<String, Integer> connections) {
+    MinecraftProxyStatus status = resource.getStatus();
+    MinecraftProxyAutoscaling autoscaling = resource.getSpec().getAutoscaling();
+    if (autoscaling == null) {
+      proxyAutoscaler.forget(resourceID);
+      status.setDesiredReplicas(null);
+      status.setCurrentConnections(null);
+      status.setAverageConnectionsPerProxy(null);
+      status.setTargetConnectionsPerProxy(null);
+      status.setCurrentCpuUtilizationPercentage(null);
+      status.setTargetCpuUtilizationPercentage(null);
+      return;
+    }
+    int currentReplicas = ProxyPodUtil.getScaledReplicas(resource);
+    int totalConnections = connections.values().stream().mapToInt(Integer::intValue).sum();
+    Double cpuUtilization = ProxyPodUtil.getCpuUtilization(kubernetesClient, resource);
+    status.setCurrentConnections(totalConnections);
+    status.setAverageConnectionsPerProxy(connections.isEmpty() ? 0 : Math.ceilDiv(totalConnections, connections.size()));
+    status.setTargetConnectionsPerProxy(autoscaling.getTargetConnectionsPerProxy());
+    status.setCurrentCpuUtilizationPercentage(cpuUtilization == null ? null : (int) Math.round(cpuUtilization));
+    status.setTargetCpuUtilizationPercentage(autoscaling.getTargetCpuUtilizationPercentage());
+    if (!proxyLoadSampler.isSampled(resourceID, pods, Instant.now())) {
+      log.debug("Not scaling MinecraftProxy {} until every ready proxy has a connection sample", resource.getMetadata().getName());
+      return;
+    }
+
+    Instant lastScaleTime = status.getLastScaleTime() == null ? null : Instant.parse(status.getLastScaleTime());
+    ProxyAutoscaler.Decision decision = proxyAutoscaler.decide(resourceID, autoscaling, currentReplicas,
+            totalConnections, cpuUtilization, lastScaleTime, Instant.now());
+    if (status.getDesiredReplicas() == null) {
+      status.setDesiredReplicas(decision.replicas());
+    } else if (decision.replicas() != currentReplicas) {
+      log.info("Scaling MinecraftProxy {} from {} to {} replicas: {}",
+              resource.getMetadata().getName(), currentReplicas, decision.replicas(), decision.reason());
+      status.setDesiredReplicas(decision.replicas());
+      status.setLastScaleTime(Instant.now().toString());
+      status.setLastScaleReason(decision.reason());
+    }
+  }
+
+  /**
+   * MOTD and max players are applied by running proxies, so changing them never restarts a pod.
+   */
+  private void publishSettings(MinecraftProxy resource) {
+    MinecraftProxyStatus status = resource.getStatus();
+    if (Objects.equals(status.getPublishedMotd(), resource.getSpec().getMotd())
+            && Objects.equals(status.getPublishedShowMaxPlayers(), resource.getSpec().getShowMaxPlayers())) {
+      return;
+    }
+    proxySettingsPublisher.publishProxySettings(resource);
+    status.setPublishedMotd(resource.getSpec().getMotd());
+    status.setPublishedShowMaxPlayers(resource.getSpec().getShowMaxPlayers());
+  }
+
   @Override
   public DeleteControl cleanup(MinecraftProxy resource, Context<MinecraftProxy> context) {
-    try {
-      log.info("Deleting MinecraftProxy: {}", resource.getMetadata().getName());
-      ProxyPodUtil.deleteAllPods(kubernetesClient, resource);
-      ProxyServiceUtil.deleteService(kubernetesClient, resource);
-    } catch (Exception e) {
-      log.error("Error deleting for MinecraftProxy: {}", resource.getMetadata().getName(), e);
-    }
-    return DeleteControl.defaultDelete();
+    return reconcileScheduler.run(ReconcileScheduler.Lane.DELETE, resource.getSpec().getPriority(), () -> {
+      try {
+        log.info("Deleting MinecraftProxy: {}", resource.getMetadata().getName());
+        ProxyDaemonSetUtil.deleteDaemonSet(kubernetesClient, resource);
+        ProxyPodUtil.deleteAllPods(kubernetesClient, resource);
+        ProxyServiceUtil.deleteService(kubernetesClient, resource);
+        proxyLoadSampler.untrack(ResourceID.fromResource(resource));
+        proxyAutoscaler.forget(ResourceID.fromResource(resource));
+      } catch (Exception e) {
+        log.error("Error deleting for MinecraftProxy: {}", resource.getMetadata().getName(), e);
+      }
+      return DeleteControl.defaultDelete();
+    });
   }
 }
@@ -0,0 +1,84 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.autoscaling;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyAutoscaling;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns open connections and CPU usage of a proxy into a replica recommendation; whichever signal asks for more
+ * proxies wins. A scale-up waits until every recommendation inside the scale-up window agrees. A scale-down waits
+ * out the cooldown after the last scale event and only goes as low as the highest recommendation inside the cooldown.
+ */
+public class ProxyAutoscaler {
+
+  public record Decision(int replicas, int recommendedReplicas, String reason) {
+  }
+
+  private record Recommendation(Instant time, int replicas) {
+  }
+
+  private final Map<ResourceID, Deque<Recommendation>> recommendations = new ConcurrentHashMap<>();
+
+  /**
+   * @param cpuUtilization average CPU usage of the proxies as a percentage of their request, {@code null} when
+   *                       metrics are unavailable
+   * @param lastScaleTime  last time the replica count changed, {@code null} if never
+   */
+  public Decision decide(ResourceID resourceID, MinecraftProxyAutoscaling autoscaling, int currentReplicas,
+                         int connections, Double cpuUtilization, Instant lastScaleTime, Instant now) {
+    final int minReplicas = autoscaling.getMinReplicas();
+    final int maxReplicas = Math.max(minReplicas, autoscaling.getMaxReplicas());
+    final int targetConnections = Math.max(1, autoscaling.getTargetConnectionsPerProxy());
+    final int byConnections = Math.ceilDiv(connections, targetConnections);
+    final int byCpu = cpuUtilization == null ? 0
+            : (int) Math.ceil(currentReplicas * cpuUtilization / Math.max(1, autoscaling.getTargetCpuUtilizationPercentage()));
+    final int recommended = Math.clamp(Math.max(byConnections, byCpu), minReplicas, maxReplicas);
+
+    final Duration upWindow = Duration.ofSeconds(autoscaling.getScaleUpStabilizationSeconds());
+    final Duration cooldown = Duration.ofSeconds(autoscaling.getScaleDownCooldownSeconds());
+    final Deque<Recommendation> history = recommendations.computeIfAbsent(resourceID, id -> new ArrayDeque<>());
+    int scaleUpTo = recommended;
+    int scaleDownTo = recommended;
+    synchronized (history) {
+      history.addLast(new Recommendation(now, recommended));
+      final Instant horizon = now.minus(upWindow.compareTo(cooldown) > 0 ? upWindow : cooldown);
+      while (history.peekFirst().time().isBefore(horizon)) {
+        history.pollFirst();
+      }
+      for (Recommendation recommendation : history) {
+        if (!recommendation.time().isBefore(now.minus(upWindow))) {
+          scaleUpTo = Math.min(scaleUpTo, recommendation.replicas());
+        }
+        if (!recommendation.time().isBefore(now.minus(cooldown))) {
+          scaleDownTo = Math.max(scaleDownTo, recommendation.replicas());
+        }
+      }
+    }
+
+    final int current = Math.clamp(currentReplicas, minReplicas, maxReplicas);
+    final String load = cpuUtilization == null
+            ? "%d connections".formatted(connections)
+            : "%d connections at %.0f%% CPU".formatted(connections, cpuUtilization);
+    if (scaleUpTo > current) {
+      return new Decision(scaleUpTo, recommended, "%s need %d proxies".formatted(load, scaleUpTo));
+    }
+    final boolean coolingDown = lastScaleTime != null && lastScaleTime.plus(cooldown).isAfter(now);
+    if (scaleDownTo < current && !coolingDown) {
+      return new Decision(scaleDownTo, recommended, "%s fit on %d proxies".formatted(load, scaleDownTo));
+    }
+    if (current != currentReplicas) {
+      return new Decision(current, recommended, "replicas bounded to [%d, %d]".formatted(minReplicas, maxReplicas));
+    }
+    return new Decision(current, recommended, null);
+  }
+
+  public void forget(ResourceID resourceID) {
+    recommendations.remove(resourceID);
+  }
+}
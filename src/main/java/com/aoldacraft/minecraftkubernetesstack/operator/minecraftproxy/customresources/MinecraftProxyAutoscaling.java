@@ -0,0 +1,13 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources;
+
+import lombok.Data;
+
+@Data
+public class MinecraftProxyAutoscaling {
+    private Integer minReplicas = 1;
+    private Integer maxReplicas = 10;
+    private Integer targetConnectionsPerProxy = 500;
+    private Integer targetCpuUtilizationPercentage = 70;
+    private Integer scaleUpStabilizationSeconds = 0;
+    private Integer scaleDownCooldownSeconds = 300;
+}
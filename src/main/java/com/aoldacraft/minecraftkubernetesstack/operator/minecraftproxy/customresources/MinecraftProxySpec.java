@@ -1,13 +1,30 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedule;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.tuning.ProxyTuningProfile;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyDaemonSetUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyPodUtil;
+import io.fabric8.crd.generator.annotation.SchemaFrom;
 import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import lombok.Data;
 
+import java.util.List;
+import java.util.Map;
+
 @Data
 public class MinecraftProxySpec {
     private int replicas=1;
+    private int priority = 0;
+    private MinecraftProxyAutoscaling autoscaling;
+    private List<ReplicaSchedule> schedules;
+    private String deploymentMode = ProxyDaemonSetUtil.DEPLOYMENT_MODE_PODS;
+    private Map<String, String> nodeSelector;
+    private int maxSurge = 1;
+    private long drainGracePeriodSeconds = 300;
     private ResourceRequirements resourceRequirements;
+    @SchemaFrom(type = ProxyTuningProfile.Profile.class)
+    private String tuningProfile;
+    private Integer expectedPlayers;
     private Integer port = 25565;
     private String motd = "<#09add3>A Velocity Server";
     private int showMaxPlayers = 500;
@@ -9,5 +9,22 @@ import java.util.List;
 public class MinecraftProxyStatus {
     private String state = "";
     private List<String> podIPs = new ArrayList<>();
+    private List<String> drainingPodIPs = new ArrayList<>();
+    private String templateHash;
+    private Integer updatedReplicas;
+    private String publishedMotd;
+    private Integer publishedShowMaxPlayers;
     private Long observedGeneration;
+    private String tuningError;
+    private Integer desiredReplicas;
+    private Integer effectiveReplicas;
+    private String activeSchedule;
+    private Integer scheduledMinReplicas;
+    private Integer currentConnections;
+    private Integer averageConnectionsPerProxy;
+    private Integer targetConnectionsPerProxy;
+    private Integer currentCpuUtilizationPercentage;
+    private Integer targetCpuUtilizationPercentage;
+    private String lastScaleTime;
+    private String lastScaleReason;
 }
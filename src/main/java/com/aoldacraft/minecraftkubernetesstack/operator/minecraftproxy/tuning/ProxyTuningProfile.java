@@ -0,0 +1,121 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.tuning;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ResourceQuantities;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * JVM and network settings for a Velocity pod derived from its resources, the expected player count and an
+ * optional profile. Heap and direct memory are always sized from the memory budget when one is set, so
+ * {@code AlwaysPreTouch} touches a known heap. A profile additionally decides compression, TCP fast open and
+ * Netty event-loop sizing; without one the spec's own compression and fast-open settings apply. Heap, direct
+ * memory and overhead never exceed the memory limit.
+ */
+public record ProxyTuningProfile(String javaOpts, int compressionThreshold, int compressionLevel, boolean tcpFastOpen) {
+  private static final Logger log = LoggerFactory.getLogger(ProxyTuningProfile.class);
+  private static final long MIB = 1024 * 1024;
+  private static final long KIB = 1024;
+  private static final long MIN_HEAP = 256 * MIB;
+  private static final long MIN_DIRECT_MEMORY = 64 * MIB;
+  private static final long NON_HEAP_OVERHEAD = 160 * MIB;
+  private static final long DIRECT_MEMORY_PER_PLAYER = 256 * KIB;
+  private static final String G1_OPTS = "-XX:+UseG1GC -XX:G1HeapRegionSize=4M -XX:+UnlockExperimentalVMOptions "
+          + "-XX:+ParallelRefProcEnabled -XX:+AlwaysPreTouch -XX:MaxInlineLevel=15";
+
+  public enum Profile {
+    @JsonProperty("low-latency")
+    LOW_LATENCY("low-latency"),
+    @JsonProperty("high-connection-count")
+    HIGH_CONNECTION_COUNT("high-connection-count"),
+    @JsonProperty("bandwidth-saver")
+    BANDWIDTH_SAVER("bandwidth-saver");
+
+    private final String value;
+
+    Profile(String value) {
+      this.value = value;
+    }
+
+    public static Profile fromValue(String value) {
+      if (value == null || value.isBlank()) {
+        return null;
+      }
+      return Arrays.stream(values())
+              .filter(profile -> profile.value.equalsIgnoreCase(value))
+              .findFirst()
+              .orElseThrow(() -> new IllegalArgumentException("Unknown proxy tuning profile: " + value));
+    }
+  }
+
+  public static ProxyTuningProfile of(MinecraftProxySpec spec) {
+    final Profile profile = Profile.fromValue(spec.getTuningProfile());
+    final Long memory = ResourceQuantities.getBytes(spec.getResourceRequirements(), "memory");
+    final Long cpuMillis = ResourceQuantities.getMillis(spec.getResourceRequirements(), "cpu");
+    final int cpus = cpuMillis == null ? 0 : (int) Math.max(1, Math.ceil(cpuMillis / 1000.0));
+    final int players = spec.getExpectedPlayers() == null ? spec.getShowMaxPlayers() : spec.getExpectedPlayers();
+
+    final StringJoiner javaOpts = new StringJoiner(" ");
+    if (memory != null) {
+      final long directMemory = Math.min(Math.max(MIN_DIRECT_MEMORY, players * DIRECT_MEMORY_PER_PLAYER), memory * 35 / 100);
+      final long heap = (memory - directMemory - NON_HEAP_OVERHEAD) / MIB;
+      if (heap <= 0) {
+        throw new IllegalArgumentException("Memory limit of " + memory / MIB + "Mi does not cover the "
+                + (directMemory + NON_HEAP_OVERHEAD) / MIB + "Mi of direct memory and JVM overhead");
+      }
+      if (heap < MIN_HEAP / MIB) {
+        log.warn("Memory limit of {}Mi leaves only {}Mi of proxy heap, below the recommended {}Mi",
+                memory / MIB, heap, MIN_HEAP / MIB);
+      }
+      javaOpts.add("-Xms" + heap + "M").add("-Xmx" + heap + "M").add("-XX:MaxDirectMemorySize=" + directMemory / MIB + "M");
+    }
+    javaOpts.add(G1_OPTS);
+    if (profile == Profile.LOW_LATENCY) {
+      javaOpts.add("-XX:MaxGCPauseMillis=50");
+    }
+    if (cpus > 0) {
+      javaOpts.add("-XX:ActiveProcessorCount=" + cpus);
+      if (profile != null) {
+        javaOpts.add("-Dio.netty.eventLoopThreads=" + getEventLoopThreads(profile, cpus, players));
+      }
+    }
+
+    if (profile == null) {
+      return new ProxyTuningProfile(javaOpts.toString(), spec.getCompressionThreshold(), spec.getCompressionLevel(), spec.isTcpFastOpen());
+    }
+    return switch (profile) {
+      // compress only large packets and cheaply so the event loops stay free for forwarding
+      case LOW_LATENCY -> new ProxyTuningProfile(javaOpts.toString(), 512, 1, true);
+      case HIGH_CONNECTION_COUNT -> new ProxyTuningProfile(javaOpts.toString(), 256, cpus >= 4 ? 3 : 1, true);
+      // spend spare CPU on smaller packets; fall back to a moderate level on fractional-core budgets
+      case BANDWIDTH_SAVER -> new ProxyTuningProfile(javaOpts.toString(), 64, cpus >= 2 ? 6 : 4, false);
+    };
+  }
+
+  /**
+   * Why the spec cannot be tuned, or null when it can. Lets the operator report a bad profile or memory limit
+   * in status instead of failing every pod build.
+   */
+  public static String validate(MinecraftProxySpec spec) {
+    try {
+      of(spec);
+      return null;
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+  }
+
+  /**
+   * One loop per core is enough when players are few; many connections benefit from two per core.
+   */
+  private static int getEventLoopThreads(Profile profile, int cpus, int players) {
+    if (profile == Profile.HIGH_CONNECTION_COUNT || players > 500 * cpus) {
+      return cpus * 2;
+    }
+    return cpus;
+  }
+}
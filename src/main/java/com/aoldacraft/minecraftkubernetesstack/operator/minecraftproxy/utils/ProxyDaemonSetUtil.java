@@ -0,0 +1,224 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerPortBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.DaemonSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs one proxy per selected node on the host network, so players connect to the node address and reach the
+ * local proxy without kube-proxy NAT in between, the same path {@code externalTrafficPolicy: Local} gives.
+ * The DaemonSet updates {@code OnDelete}: an outdated proxy is first taken out of the Service and only deleted,
+ * and so replaced, once it drained, one node at a time.
+ */
+public class ProxyDaemonSetUtil {
+  private static final Logger log = LoggerFactory.getLogger(ProxyDaemonSetUtil.class);
+  public static final String DEPLOYMENT_MODE_PODS = "pods";
+  public static final String DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET = "hostNetworkDaemonSet";
+  static final String ANNOTATION_TEMPLATE_GENERATION = "deprecated.daemonset.template.generation";
+  static final String LABEL_TEMPLATE_GENERATION = "pod-template-generation";
+
+  /**
+   * One step of replacing outdated DaemonSet proxies.
+   *
+   * @param toDrain  the proxy to take out of the Service, or {@code null} while another one drains
+   * @param toDelete drained proxies the DaemonSet recreates from the current template
+   */
+  record RolloutStep(Pod toDrain, List<Pod> toDelete) {
+  }
+
+  public static boolean isEnabled(MinecraftProxy resource) {
+    return DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET.equalsIgnoreCase(resource.getSpec().getDeploymentMode());
+  }
+
+  /**
+   * Applies the DaemonSet. Proxies left over from pod mode keep serving until this reports the DaemonSet rolled
+   * out, and are then retired by {@link ProxyPodUtil#retirePods}.
+   *
+   * @return whether the DaemonSet is still rolling out
+   */
+  public static boolean ensureDaemonSetExists(KubernetesClient kubernetesClient, ImageDigests imageDigests, MinecraftProxy resource) {
+    DaemonSet daemonSet = createDaemonSet(imageDigests, resource);
+    log.info("Applying DaemonSet: {} in namespace: {}", daemonSet.getMetadata().getName(), daemonSet.getMetadata().getNamespace());
+    DaemonSet applied = KubernetesApiMetrics.record("daemonsets.apply", () -> kubernetesClient.apps().daemonSets()
+            .inNamespace(resource.getMetadata().getNamespace())
+            .resource(daemonSet).forceConflicts().serverSideApply());
+    List<Pod> pods = ProxyPodUtil.getPods(kubernetesClient, resource).stream()
+            .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null && ProxyPodUtil.isDaemonSetPod(pod))
+            .toList();
+    RolloutStep step = planRollout(pods, getTemplateGeneration(applied),
+            Duration.ofSeconds(resource.getSpec().getDrainGracePeriodSeconds()), Instant.now());
+    if (step.toDrain() != null) {
+      ProxyPodUtil.stopServing(kubernetesClient, step.toDrain());
+    }
+    for (Pod pod : step.toDelete()) {
+      try {
+        log.info("Deleting drained DaemonSet Pod {}", pod.getMetadata().getName());
+        KubernetesApiMetrics.record("pods.delete", () -> kubernetesClient.resource(pod).delete());
+      } catch (Exception e) {
+        log.error("Error deleting Pod for MinecraftProxy: {}", resource.getMetadata().getName(), e);
+      }
+    }
+    return !isRolledOut(applied);
+  }
+
+  /**
+   * Drains one outdated proxy at a time, and only while every up-to-date proxy is ready, so at most one node
+   * stops taking new players. A drained proxy is deleted after the grace period, or right away when it is not
+   * ready and so holds no players.
+   */
+  static RolloutStep planRollout(List<Pod> pods, String templateGeneration, Duration gracePeriod, Instant now) {
+    if (templateGeneration == null) {
+      return new RolloutStep(null, List.of());
+    }
+    List<Pod> outdatedPods = pods.stream()
+            .filter(pod -> pod.getMetadata().getLabels() == null
+                    || !templateGeneration.equals(pod.getMetadata().getLabels().get(LABEL_TEMPLATE_GENERATION)))
+            .sorted(Comparator.comparing((Pod pod) -> ProxyPodUtil.isReady(pod)).thenComparing(pod -> pod.getMetadata().getName()))
+            .toList();
+    List<Pod> drainingPods = outdatedPods.stream().filter(pod -> !ProxyPodUtil.isServing(pod)).toList();
+    List<Pod> toDelete = drainingPods.stream()
+            .filter(pod -> isDrained(List.of(pod), gracePeriod, now))
+            .toList();
+    // out of the Service without a recorded start; start the grace period now rather than cut connections
+    Pod toDrain = drainingPods.stream().filter(pod -> ProxyPodUtil.getDrainStartedAt(pod) == null).findFirst().orElse(null);
+    boolean currentReady = pods.stream()
+            .filter(pod -> !outdatedPods.contains(pod))
+            .allMatch(ProxyPodUtil::isReady);
+    if (toDrain == null && drainingPods.isEmpty() && currentReady && !outdatedPods.isEmpty()) {
+      toDrain = outdatedPods.getFirst();
+    }
+    return new RolloutStep(toDrain, toDelete);
+  }
+
+  /**
+   * Ready on every scheduled node with the current template; a DaemonSet that schedules nowhere never is.
+   */
+  static boolean isRolledOut(DaemonSet daemonSet) {
+    if (daemonSet.getStatus() == null || daemonSet.getStatus().getDesiredNumberScheduled() == null
+            || daemonSet.getStatus().getDesiredNumberScheduled() == 0) {
+      return false;
+    }
+    return Objects.equals(daemonSet.getStatus().getUpdatedNumberScheduled(), daemonSet.getStatus().getDesiredNumberScheduled())
+            && Objects.equals(daemonSet.getStatus().getNumberReady(), daemonSet.getStatus().getDesiredNumberScheduled());
+  }
+
+  /**
+   * Takes the DaemonSet proxies out of the Service once pod mode serves, and deletes the DaemonSet after they
+   * drained for {@code drainGracePeriodSeconds}. Its pods are never deleted one by one, since the DaemonSet
+   * would just recreate them.
+   *
+   * @return whether a DaemonSet is left
+   */
+  public static boolean retireDaemonSet(KubernetesClient kubernetesClient, MinecraftProxy resource) {
+    DaemonSet existing = KubernetesApiMetrics.record("daemonsets.get", () -> kubernetesClient.apps().daemonSets()
+            .inNamespace(resource.getMetadata().getNamespace())
+            .withName(resource.getMetadata().getName()).get());
+    if (existing == null) {
+      return false;
+    }
+    List<Pod> pods = ProxyPodUtil.getPods(kubernetesClient, resource).stream()
+            .filter(ProxyPodUtil::isDaemonSetPod)
+            .toList();
+    for (Pod pod : pods) {
+      if (ProxyPodUtil.isServing(pod) || ProxyPodUtil.getDrainStartedAt(pod) == null) {
+        ProxyPodUtil.stopServing(kubernetesClient, pod);
+      }
+    }
+    if (!isDrained(pods, Duration.ofSeconds(resource.getSpec().getDrainGracePeriodSeconds()), Instant.now())) {
+      return true;
+    }
+    deleteDaemonSet(kubernetesClient, resource);
+    return false;
+  }
+
+  /**
+   * The template generation the API server stamps on the DaemonSet and its controller on each pod it creates;
+   * unlike the spec hash it also moves when only a resolved image digest changed.
+   */
+  private static String getTemplateGeneration(DaemonSet daemonSet) {
+    return daemonSet.getMetadata().getAnnotations() == null ? null
+            : daemonSet.getMetadata().getAnnotations().get(ANNOTATION_TEMPLATE_GENERATION);
+  }
+
+  static boolean isDrained(List<Pod> pods, Duration gracePeriod, Instant now) {
+    return pods.stream().allMatch(pod -> {
+      Instant drainStartedAt = ProxyPodUtil.getDrainStartedAt(pod);
+      return !ProxyPodUtil.isServing(pod) && drainStartedAt != null
+              && (!drainStartedAt.plus(gracePeriod).isAfter(now) || !ProxyPodUtil.isReady(pod));
+    });
+  }
+
+  public static DaemonSet createDaemonSet(ImageDigests imageDigests, MinecraftProxy resource) {
+    Map<String, String> selector = Map.of("minecraftproxy", resource.getMetadata().getName());
+    List<Container> containers = ProxyPodUtil.createMinecraftProxyContainers(imageDigests, resource).stream()
+            .map(container -> new ContainerBuilder(container)
+                    .withPorts(new ContainerPortBuilder()
+                            .withContainerPort(resource.getSpec().getPort())
+                            .withHostPort(resource.getSpec().getPort())
+                            .build())
+                    .build())
+            .toList();
+
+    return new DaemonSetBuilder()
+            .withNewMetadata()
+            .withName(resource.getMetadata().getName())
+            .withNamespace(resource.getMetadata().getNamespace())
+            .withLabels(selector)
+            .endMetadata()
+            .withNewSpec()
+            .withNewSelector()
+            .withMatchLabels(selector)
+            .endSelector()
+            .withNewUpdateStrategy()
+            .withType("OnDelete")
+            .endUpdateStrategy()
+            .withNewTemplate()
+            .withNewMetadata()
+            .addToLabels(selector)
+            .addToLabels(ProxyPodUtil.LABEL_SERVING, "true")
+            .addToLabels(ProxyPodUtil.LABEL_TEMPLATE_HASH, ProxyPodUtil.getTemplateHash(resource))
+            .endMetadata()
+            .withNewSpec()
+            .withHostNetwork(true)
+            .withDnsPolicy("ClusterFirstWithHostNet")
+            .withNodeSelector(resource.getSpec().getNodeSelector())
+            .withTerminationGracePeriodSeconds(resource.getSpec().getDrainGracePeriodSeconds())
+            .withContainers(containers)
+            .endSpec()
+            .endTemplate()
+            .endSpec()
+            .build();
+  }
+
+  public static void deleteDaemonSet(KubernetesClient kubernetesClient, MinecraftProxy resource) {
+    try {
+      if (KubernetesApiMetrics.record("daemonsets.get", () -> kubernetesClient.apps().daemonSets()
+              .inNamespace(resource.getMetadata().getNamespace())
+              .withName(resource.getMetadata().getName()).get()) == null) {
+        return;
+      }
+      log.info("Deleting DaemonSet: {}", resource.getMetadata().getName());
+      KubernetesApiMetrics.record("daemonsets.delete", () -> kubernetesClient.apps().daemonSets()
+              .inNamespace(resource.getMetadata().getNamespace())
+              .withName(resource.getMetadata().getName()).delete());
+    } catch (Exception e) {
+      log.error("Error deleting DaemonSet: {}", resource.getMetadata().getName(), e);
+    }
+  }
+}
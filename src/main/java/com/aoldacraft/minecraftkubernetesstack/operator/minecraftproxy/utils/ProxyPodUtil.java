@@ -1,83 +1,363 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ScaleDownVictimSelector;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyAutoscaling;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.tuning.ProxyTuningProfile;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.fabric8.kubernetes.api.model.*;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class ProxyPodUtil {
   private static final Logger log = LoggerFactory.getLogger(ProxyPodUtil.class);
-  private static final String PROXY_IMAGE = "ghcr.io/sigee-min/sigee-min/velocity-for-kubernetes:cc6a0b1";
+  public static final String PROXY_IMAGE = "ghcr.io/sigee-min/sigee-min/velocity-for-kubernetes:cc6a0b1";
   public static final String SECRET = "abcdabcdabcd";
+  public static final String LABEL_SERVING = "mcks-serving";
+  public static final String LABEL_TEMPLATE_HASH = "mcks-template-hash";
+  private static final String ANNOTATION_DRAIN_STARTED = "mcks-drain-started";
+  private static final KubernetesSerialization SERIALIZATION = new KubernetesSerialization();
+  private static final List<String> RUNTIME_FIELDS = List.of("replicas", "priority", "autoscaling", "schedules", "motd", "showMaxPlayers", "maxSurge", "drainGracePeriodSeconds");
 
-  public static void ensurePodsExist(KubernetesClient kubernetesClient, MinecraftProxy resource) {
-    List<Pod> existingPods = getPods(kubernetesClient, resource);
-    int desiredReplicas = resource.getSpec().getReplicas();
-    int currentReplicas = existingPods.size();
+  /**
+   * One rollout step, computed from the pods alone so the surge and drain rules can be checked without a cluster.
+   *
+   * @param toCreate number of pods to add on the current template
+   * @param toAdopt  serving pods created before the serving label existed, labelled so the Service keeps them
+   * @param toDrain  pods to take out of the Service
+   * @param toDelete draining pods whose grace period is over or whose connections are gone
+   */
+  record RolloutStep(int toCreate, List<Pod> toAdopt, List<Pod> toDrain, List<Pod> toDelete, boolean inProgress) {
+  }
+
+  /**
+   * Rolls the proxy pods towards the current template without dropping below {@code replicas} serving pods:
+   * up to {@code maxSurge} pods on the new template are added first, an outdated pod only stops serving once a
+   * new one is ready, and pods that stopped serving are deleted after {@code drainGracePeriodSeconds} so
+   * connected players can finish or move. Pods with the fewest open connections are drained first, and a drained
+   * pod whose connections dropped to zero is deleted right away.
+   *
+   * @param connections open connections per pod name, as far as sampled
+   * @return whether the rollout is still in progress
+   */
+  public static boolean ensurePodsExist(KubernetesClient kubernetesClient, ImageDigests imageDigests, MinecraftProxy resource,
+                                        Map<String, Integer> connections) {
+    List<Pod> existingPods = getPods(kubernetesClient, resource).stream()
+            .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null && !isDaemonSetPod(pod))
+            .toList();
+    RolloutStep step = planRollout(existingPods, getTemplateHash(resource), getDesiredReplicas(resource),
+            resource.getSpec().getMaxSurge(), Duration.ofSeconds(resource.getSpec().getDrainGracePeriodSeconds()),
+            connections, Instant.now());
+    createPods(kubernetesClient, imageDigests, resource, existingPods, step.toCreate());
+    applyRollout(kubernetesClient, resource, step);
+    return step.inProgress();
+  }
+
+  /**
+   * Drains and deletes the pod-mode proxies once another deployment mode serves, under the same grace period
+   * as a rollout.
+   *
+   * @return whether pod-mode proxies are left
+   */
+  public static boolean retirePods(KubernetesClient kubernetesClient, MinecraftProxy resource, Map<String, Integer> connections) {
+    List<Pod> existingPods = getPods(kubernetesClient, resource).stream()
+            .filter(pod -> pod.getMetadata().getDeletionTimestamp() == null && !isDaemonSetPod(pod))
+            .toList();
+    if (existingPods.isEmpty()) {
+      return false;
+    }
+    RolloutStep step = planRollout(existingPods, getTemplateHash(resource), 0, 0,
+            Duration.ofSeconds(resource.getSpec().getDrainGracePeriodSeconds()), connections, Instant.now());
+    applyRollout(kubernetesClient, resource, step);
+    return true;
+  }
+
+  private static void createPods(KubernetesClient kubernetesClient, ImageDigests imageDigests, MinecraftProxy resource,
+                                 List<Pod> existingPods, int count) {
     Set<String> podNames = existingPods.stream()
             .map(pod -> pod.getMetadata().getName())
-            .collect(Collectors.toSet());
-
-    log.info("Current replicas: {}, Desired replicas: {}", currentReplicas, desiredReplicas);
-
-    if (currentReplicas < desiredReplicas) {
-      int j = 0;
-      for (int i = currentReplicas; i < desiredReplicas && j < desiredReplicas; j++) {
-        if (podNames.contains(getPodName(resource, j))) {
-          continue;
-        }
-        try {
-          createPod(kubernetesClient, resource, j);
-          log.info("Creating Pod {} of {}", i + 1, desiredReplicas);
-          i++;
-        } catch (Exception e) {
-          log.error("Error creating Pod for MinecraftProxy: {}", resource.getMetadata().getName(), e);
-        }
+            .collect(Collectors.toCollection(HashSet::new));
+    for (int created = 0, index = 0; created < count && index < podNames.size() + count; index++) {
+      if (podNames.contains(getPodName(resource, index))) {
+        continue;
+      }
+      try {
+        createPod(kubernetesClient, imageDigests, resource, index);
+        log.info("Creating Pod {} of {}", created + 1, count);
+        podNames.add(getPodName(resource, index));
+        created++;
+      } catch (Exception e) {
+        log.error("Error creating Pod for MinecraftProxy: {}", resource.getMetadata().getName(), e);
+      }
+    }
+  }
+
+  private static void applyRollout(KubernetesClient kubernetesClient, MinecraftProxy resource, RolloutStep step) {
+    for (Pod pod : step.toAdopt()) {
+      startServing(kubernetesClient, pod);
+    }
+    for (Pod pod : step.toDrain()) {
+      stopServing(kubernetesClient, pod);
+    }
+    for (Pod pod : step.toDelete()) {
+      try {
+        log.info("Deleting drained Pod {}", pod.getMetadata().getName());
+        KubernetesApiMetrics.record("pods.delete", () -> kubernetesClient.resource(pod).delete());
+      } catch (Exception e) {
+        log.error("Error deleting Pod for MinecraftProxy: {}", resource.getMetadata().getName(), e);
       }
-    } else if (currentReplicas > desiredReplicas) {
-      for (int i = currentReplicas - 1; i >= desiredReplicas; i--) {
-        try {
-          log.info("Deleting Pod {}", existingPods.get(i).getMetadata().getName());
-          kubernetesClient.resource(existingPods.get(i)).delete();
-        } catch (Exception e) {
-          log.error("Error deleting Pod for MinecraftProxy: {}", resource.getMetadata().getName(), e);
-        }
+    }
+  }
+
+  static boolean isDaemonSetPod(Pod pod) {
+    return pod.getMetadata().getOwnerReferences() != null
+            && pod.getMetadata().getOwnerReferences().stream().anyMatch(owner -> "DaemonSet".equals(owner.getKind()));
+  }
+
+  static RolloutStep planRollout(List<Pod> existingPods, String templateHash, int desiredReplicas, int maxSurge,
+                                 Duration gracePeriod, Map<String, Integer> connections, Instant now) {
+    // unsampled pods rank as the busiest so they are drained last
+    ToIntFunction<Pod> load = pod -> connections.getOrDefault(pod.getMetadata().getName(), Integer.MAX_VALUE);
+    List<Pod> drainingPods = existingPods.stream().filter(pod -> !isServing(pod)).toList();
+    List<Pod> currentPods = existingPods.stream()
+            .filter(pod -> isServing(pod) && templateHash.equals(pod.getMetadata().getLabels().get(LABEL_TEMPLATE_HASH)))
+            .toList();
+    List<Pod> outdatedPods = existingPods.stream()
+            .filter(pod -> isServing(pod) && (pod.getMetadata().getLabels() == null
+                    || !templateHash.equals(pod.getMetadata().getLabels().get(LABEL_TEMPLATE_HASH))))
+            .toList();
+    List<Pod> toAdopt = existingPods.stream()
+            .filter(pod -> isServing(pod) && (pod.getMetadata().getLabels() == null || !pod.getMetadata().getLabels().containsKey(LABEL_SERVING)))
+            .toList();
+
+    log.info("Current replicas: {}, Outdated: {}, Draining: {}, Desired replicas: {}",
+            currentPods.size(), outdatedPods.size(), drainingPods.size(), desiredReplicas);
+
+    int surge = Math.max(0, desiredReplicas + Math.max(1, maxSurge) - currentPods.size() - outdatedPods.size());
+    int toCreate = Math.max(0, Math.min(surge, desiredReplicas - currentPods.size()));
+
+    long readyCurrentPods = currentPods.stream().filter(ProxyPodUtil::isReady).count();
+    long drainable = Math.min(outdatedPods.size(), readyCurrentPods + outdatedPods.size() - desiredReplicas);
+    List<Pod> toDrain = new ArrayList<>(ScaleDownVictimSelector.select(outdatedPods, (int) Math.max(0, drainable), load));
+    if (currentPods.size() > desiredReplicas) {
+      toDrain.addAll(ScaleDownVictimSelector.select(currentPods, currentPods.size() - desiredReplicas, load));
+    }
+
+    List<Pod> toDelete = new ArrayList<>();
+    for (Pod pod : drainingPods) {
+      Instant drainStartedAt = getDrainStartedAt(pod);
+      if (drainStartedAt == null) {
+        // out of the Service without a recorded start; start the grace period now rather than cut connections
+        toDrain.add(pod);
+      } else if (!drainStartedAt.plus(gracePeriod).isAfter(now) || !isReady(pod)
+              || connections.getOrDefault(pod.getMetadata().getName(), 1) == 0) {
+        toDelete.add(pod);
       }
     }
+    boolean inProgress = !outdatedPods.isEmpty() || !drainingPods.isEmpty() || !toDrain.isEmpty() || readyCurrentPods < desiredReplicas;
+    return new RolloutStep(toCreate, toAdopt, toDrain, toDelete, inProgress);
+  }
+
+  /**
+   * Replica count to reconcile to: {@link #getScaledReplicas} raised to the floor of the active schedule.
+   */
+  public static int getDesiredReplicas(MinecraftProxy resource) {
+    Integer scheduledMinReplicas = resource.getStatus() == null ? null : resource.getStatus().getScheduledMinReplicas();
+    return Math.max(getScaledReplicas(resource), scheduledMinReplicas == null ? 0 : scheduledMinReplicas);
+  }
+
+  /**
+   * {@code spec.replicas}, or the autoscaler's last decision when autoscaling is set.
+   */
+  public static int getScaledReplicas(MinecraftProxy resource) {
+    MinecraftProxyAutoscaling autoscaling = resource.getSpec().getAutoscaling();
+    if (autoscaling == null) {
+      return resource.getSpec().getReplicas();
+    }
+    if (resource.getStatus() != null && resource.getStatus().getDesiredReplicas() != null) {
+      return resource.getStatus().getDesiredReplicas();
+    }
+    return Math.clamp(resource.getSpec().getReplicas(), autoscaling.getMinReplicas(), Math.max(autoscaling.getMinReplicas(), autoscaling.getMaxReplicas()));
   }
 
-  public static void createPod(KubernetesClient kubernetesClient, MinecraftProxy resource, int index) {
+  /**
+   * Average CPU usage of the proxy pods as a percentage of their CPU request, or {@code null} when there is no
+   * request or metrics-server has no usage for them.
+   */
+  public static Double getCpuUtilization(KubernetesClient kubernetesClient, MinecraftProxy resource) {
+    ResourceRequirements resources = resource.getSpec().getResourceRequirements();
+    if (resources == null || resources.getRequests() == null || resources.getRequests().get("cpu") == null) {
+      return null;
+    }
+    BigDecimal request = resources.getRequests().get("cpu").getNumericalAmount();
+    try {
+      List<PodMetrics> metrics = KubernetesApiMetrics.record("podmetrics.list", () -> kubernetesClient.top().pods()
+              .inNamespace(resource.getMetadata().getNamespace())
+              .withLabels(Map.of("minecraftproxy", resource.getMetadata().getName()))
+              .metrics()
+              .getItems());
+      if (metrics.isEmpty() || request.signum() == 0) {
+        return null;
+      }
+      return metrics.stream()
+              .mapToDouble(pod -> pod.getContainers().stream()
+                      .map(container -> container.getUsage().get("cpu"))
+                      .filter(Objects::nonNull)
+                      .map(Quantity::getNumericalAmount)
+                      .reduce(BigDecimal.ZERO, BigDecimal::add)
+                      .doubleValue() * 100 / request.doubleValue())
+              .average()
+              .orElse(0);
+    } catch (Exception e) {
+      log.debug("No CPU metrics for MinecraftProxy {}: {}", resource.getMetadata().getName(), e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Autoscaling reads open connections over the query protocol, so it turns query on.
+   */
+  public static boolean isQueryEnabled(MinecraftProxySpec spec) {
+    return spec.isQueryEnabled() || spec.getAutoscaling() != null;
+  }
+
+  /**
+   * Hash of everything that needs a restart to take effect. Fields pushed live over the group stream and
+   * scaling fields are left out so changing them does not roll the pods, and so are fields left at their
+   * default, so adding a field with a default does not roll every existing proxy on upgrade.
+   */
+  public static String getTemplateHash(MinecraftProxy resource) {
+    ObjectNode template = SERIALIZATION.convertValue(resource.getSpec(), ObjectNode.class);
+    template.put("queryEnabled", isQueryEnabled(resource.getSpec()));
+    RUNTIME_FIELDS.forEach(template::remove);
+    ObjectNode defaults = SERIALIZATION.convertValue(new MinecraftProxySpec(), ObjectNode.class);
+    List<String> defaultFields = new ArrayList<>();
+    template.fieldNames().forEachRemaining(field -> {
+      if (template.get(field).equals(defaults.get(field))) {
+        defaultFields.add(field);
+      }
+    });
+    template.remove(defaultFields);
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(template.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 5);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Pods created before the serving label existed have neither the label nor a drain annotation; they still
+   * serve and are replaced like any outdated pod.
+   */
+  public static boolean isServing(Pod pod) {
+    Map<String, String> labels = pod.getMetadata().getLabels();
+    if (labels != null && labels.containsKey(LABEL_SERVING)) {
+      return "true".equals(labels.get(LABEL_SERVING));
+    }
+    return getDrainStartedAt(pod) == null;
+  }
+
+  public static boolean isReady(Pod pod) {
+    return pod.getStatus() != null && pod.getStatus().getConditions() != null && pod.getStatus().getConditions().stream()
+            .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+  }
+
+  /**
+   * Takes the pod out of the Service; established connections stay until the pod is deleted.
+   */
+  static void stopServing(KubernetesClient kubernetesClient, Pod pod) {
+    try {
+      log.info("Draining Pod {}", pod.getMetadata().getName());
+      KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+              .withName(pod.getMetadata().getName())
+              .edit(current -> new PodBuilder(current)
+                      .editMetadata()
+                      .removeFromLabels(LABEL_SERVING)
+                      .addToAnnotations(ANNOTATION_DRAIN_STARTED, Instant.now().toString())
+                      .endMetadata()
+                      .build()));
+    } catch (Exception e) {
+      log.error("Error draining Pod: {}", pod.getMetadata().getName(), e);
+    }
+  }
+
+  /**
+   * Puts the serving label on a pod created before the label existed, before the Service selector requires it.
+   */
+  private static void startServing(KubernetesClient kubernetesClient, Pod pod) {
+    try {
+      log.info("Labelling Pod {} as serving", pod.getMetadata().getName());
+      KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+              .withName(pod.getMetadata().getName())
+              .edit(current -> new PodBuilder(current)
+                      .editMetadata()
+                      .addToLabels(LABEL_SERVING, "true")
+                      .endMetadata()
+                      .build()));
+    } catch (Exception e) {
+      log.error("Error labelling Pod: {}", pod.getMetadata().getName(), e);
+    }
+  }
+
+  /**
+   * @return when the pod stopped serving, {@code null} if that was never recorded
+   */
+  static Instant getDrainStartedAt(Pod pod) {
+    String drainStartedAt = pod.getMetadata().getAnnotations() == null ? null
+            : pod.getMetadata().getAnnotations().get(ANNOTATION_DRAIN_STARTED);
+    return drainStartedAt == null ? null : Instant.parse(drainStartedAt);
+  }
+
+  public static void createPod(KubernetesClient kubernetesClient, ImageDigests imageDigests, MinecraftProxy resource, int index) {
+    Pod pod = buildPod(imageDigests, resource, index);
+    log.info("Creating Pod: {} in namespace: {}", pod.getMetadata().getName(), pod.getMetadata().getNamespace());
+    KubernetesApiMetrics.record("pods.create", () -> kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace()).create(pod));
+  }
+
+  public static Pod buildPod(ImageDigests imageDigests, MinecraftProxy resource, int index) {
     Map<String, String> labels = Map.of(
             "minecraftproxy", resource.getMetadata().getName(),
-            "pod-index", String.valueOf(index)
+            "pod-index", String.valueOf(index),
+            LABEL_SERVING, "true",
+            LABEL_TEMPLATE_HASH, getTemplateHash(resource)
     );
 
-    Pod pod = new PodBuilder()
+    return new PodBuilder()
             .editOrNewMetadata()
             .withName(getPodName(resource, index))
             .withNamespace(resource.getMetadata().getNamespace())
             .withLabels(labels)
             .endMetadata()
             .editOrNewSpec()
-            .addAllToContainers(createMinecraftProxyContainers(resource))
+            .withNodeSelector(resource.getSpec().getNodeSelector())
+            .addAllToContainers(createMinecraftProxyContainers(imageDigests, resource))
             .endSpec()
             .build();
-
-    log.info("Creating Pod: {} in namespace: {}", pod.getMetadata().getName(), pod.getMetadata().getNamespace());
-    kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace()).create(pod);
   }
 
   public static List<Pod> getPods(KubernetesClient kubernetesClient, MinecraftProxy resource) {
-    List<Pod> pods = kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace())
+    List<Pod> pods = KubernetesApiMetrics.record("pods.list", () -> kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace())
             .withLabel("minecraftproxy", resource.getMetadata().getName())
-            .list().getItems();
+            .list().getItems());
     log.info("Found {} pods for MinecraftProxy: {}", pods.size(), resource.getMetadata().getName());
     return pods;
   }
@@ -87,14 +367,14 @@ public class ProxyPodUtil {
     for (Pod pod : pods) {
       try {
         log.info("Deleting Pod: {}", pod.getMetadata().getName());
-        kubernetesClient.resource(pod).delete();
+        KubernetesApiMetrics.record("pods.delete", () -> kubernetesClient.resource(pod).delete());
       } catch (Exception e) {
         log.error("Error deleting Pod: {}", pod.getMetadata().getName(), e);
       }
     }
   }
 
-  private static List<Container> createMinecraftProxyContainers(MinecraftProxy resource) {
+  static List<Container> createMinecraftProxyContainers(ImageDigests imageDigests, MinecraftProxy resource) {
     MinecraftProxySpec spec = resource.getSpec();
 
     String operatorHostAddress = "192.168.0.8";
@@ -107,6 +387,7 @@ public class ProxyPodUtil {
     operatorHostAddress = "192.168.0.8";
     String operatorServiceUrl = String.format("http://%s:8080/api/v1/minecraft/groups/connect", operatorHostAddress);
 
+    ProxyTuningProfile tuning = ProxyTuningProfile.of(spec);
     List<EnvVar> envVars = List.of(
             new EnvVar("BIND", "0.0.0.0:%d".formatted(spec.getPort()), null),
             new EnvVar("MOTD", spec.getMotd(), null),
@@ -120,32 +401,39 @@ public class ProxyPodUtil {
             new EnvVar("KICK_EXISTING_PLAYERS", String.valueOf(spec.isKickExistingPlayers()), null),
             new EnvVar("PING_PASSTHROUGH", spec.getPingPassthrough(), null),
             new EnvVar("ENABLE_PLAYER_ADDRESS_LOGGING", String.valueOf(spec.isEnablePlayerAddressLogging()), null),
-            new EnvVar("COMPRESSION_THRESHOLD", String.valueOf(spec.getCompressionThreshold()), null),
-            new EnvVar("COMPRESSION_LEVEL", String.valueOf(spec.getCompressionLevel()), null),
+            new EnvVar("COMPRESSION_THRESHOLD", String.valueOf(tuning.compressionThreshold()), null),
+            new EnvVar("COMPRESSION_LEVEL", String.valueOf(tuning.compressionLevel()), null),
             new EnvVar("LOGIN_RATELIMIT", String.valueOf(spec.getLoginRateLimit()), null),
             new EnvVar("CONNECTION_TIMEOUT", String.valueOf(spec.getConnectionTimeout()), null),
             new EnvVar("READ_TIMEOUT", String.valueOf(spec.getReadTimeout()), null),
             new EnvVar("HAPROXY_PROTOCOL", String.valueOf(spec.isHaproxyProtocol()), null),
-            new EnvVar("TCP_FAST_OPEN", String.valueOf(spec.isTcpFastOpen()), null),
+            new EnvVar("TCP_FAST_OPEN", String.valueOf(tuning.tcpFastOpen()), null),
             new EnvVar("BUNGEE_PLUGIN_MESSAGE_CHANNEL", String.valueOf(spec.isBungeePluginMessageChannel()), null),
             new EnvVar("SHOW_PING_REQUESTS", String.valueOf(spec.isShowPingRequests()), null),
             new EnvVar("FAILOVER_ON_UNEXPECTED_SERVER_DISCONNECT", String.valueOf(spec.isFailoverOnUnexpectedServerDisconnect()), null),
             new EnvVar("ANNOUNCE_PROXY_COMMANDS", String.valueOf(spec.isAnnounceProxyCommands()), null),
             new EnvVar("LOG_COMMAND_EXECUTIONS", String.valueOf(spec.isLogCommandExecutions()), null),
             new EnvVar("LOG_PLAYER_CONNECTIONS", String.valueOf(spec.isLogPlayerConnections()), null),
-            new EnvVar("QUERY_ENABLED", String.valueOf(spec.isQueryEnabled()), null),
+            new EnvVar("QUERY_ENABLED", String.valueOf(isQueryEnabled(spec)), null),
             new EnvVar("QUERY_PORT", String.valueOf(spec.getQueryPort()), null),
             new EnvVar("QUERY_MAP", spec.getQueryMap(), null),
             new EnvVar("SHOW_PLUGINS", String.valueOf(spec.isShowPlugins()), null),
             new EnvVar("SSE_ENDPOINT", operatorServiceUrl, null),
-            new EnvVar("JAVA_OPTS", "-XX:+UseG1GC -XX:G1HeapRegionSize=4M -XX:+UnlockExperimentalVMOptions -XX:+ParallelRefProcEnabled -XX:+AlwaysPreTouch -XX:MaxInlineLevel=15", null)
+            new EnvVar("JAVA_OPTS", tuning.javaOpts(), null),
+            new EnvVar("PROXY_NAME", resource.getMetadata().getName(), null)
     );
 
     Container container = new ContainerBuilder()
             .withName("minecraft-proxy")
-            .withImage(PROXY_IMAGE)
+            .withImage(imageDigests.resolve(PROXY_IMAGE))
+            .withImagePullPolicy(imageDigests.getPullPolicy(PROXY_IMAGE))
             .withEnv(envVars)
             .withPorts(new ContainerPortBuilder().withContainerPort(spec.getPort()).build())
+            .withReadinessProbe(new ProbeBuilder()
+                    .withNewTcpSocket().withNewPort(spec.getPort()).endTcpSocket()
+                    .withInitialDelaySeconds(5)
+                    .withPeriodSeconds(5)
+                    .build())
             .withNewResourcesLike(spec.getResourceRequirements())
             .endResources()
             .build();
@@ -1,5 +1,6 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.Service;
@@ -10,35 +11,102 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class ProxyServiceUtil {
   private static final Logger log = LoggerFactory.getLogger(ProxyServiceUtil.class);
+  private static final String TYPE_CLUSTER_IP = "ClusterIP";
+  private static final String TYPE_LOAD_BALANCER = "LoadBalancer";
 
   public static void ensureServiceExists(KubernetesClient kubernetesClient, MinecraftProxy resource) {
-    Service existingService = kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace())
-            .withName(resource.getMetadata().getName()).get();
+    Service existingService = KubernetesApiMetrics.record("services.get", () -> kubernetesClient.services()
+            .inNamespace(resource.getMetadata().getNamespace())
+            .withName(resource.getMetadata().getName()).get());
 
     if (existingService == null) {
       createService(kubernetesClient, resource);
+    } else if (!isUpToDate(existingService, resource)) {
+      log.info("Updating Service for MinecraftProxy: {}", resource.getMetadata().getName());
+      KubernetesApiMetrics.record("services.edit", () -> kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace())
+              .withName(resource.getMetadata().getName())
+              .edit(service -> update(service, resource)));
     } else {
       log.info("Service already exists for MinecraftProxy: {}", resource.getMetadata().getName());
     }
   }
 
+  static boolean isUpToDate(Service service, MinecraftProxy resource) {
+    return getSelector(resource).equals(service.getSpec().getSelector())
+            && getType(resource).equals(Objects.requireNonNullElse(service.getSpec().getType(), TYPE_CLUSTER_IP))
+            && Objects.equals(getExternalTrafficPolicy(resource), service.getSpec().getExternalTrafficPolicy());
+  }
+
+  /**
+   * Carries the selector, type and traffic policy over to an existing Service. Node ports are dropped when it
+   * goes back to {@code ClusterIP}, which does not allow them.
+   */
+  static Service update(Service service, MinecraftProxy resource) {
+    ServiceBuilder builder = new ServiceBuilder(service)
+            .editSpec()
+            .withSelector(getSelector(resource))
+            .withType(getType(resource))
+            .withExternalTrafficPolicy(getExternalTrafficPolicy(resource))
+            .endSpec();
+    if (!ProxyDaemonSetUtil.isEnabled(resource)) {
+      builder.editSpec()
+              .withHealthCheckNodePort(null)
+              .withPorts(service.getSpec().getPorts().stream()
+                      .map(port -> new ServicePortBuilder(port).withNodePort(null).build())
+                      .toList())
+              .endSpec();
+    }
+    return builder.build();
+  }
+
+  /**
+   * The host-network proxies are exposed through a load balancer with {@code externalTrafficPolicy: Local}, so
+   * it only sends players to nodes running a serving proxy and the proxy sees their real address.
+   */
+  private static String getType(MinecraftProxy resource) {
+    return ProxyDaemonSetUtil.isEnabled(resource) ? TYPE_LOAD_BALANCER : TYPE_CLUSTER_IP;
+  }
+
+  private static String getExternalTrafficPolicy(MinecraftProxy resource) {
+    return ProxyDaemonSetUtil.isEnabled(resource) ? "Local" : null;
+  }
+
+  /**
+   * Only pods still serving receive new connections; draining pods keep their established ones.
+   */
+  private static Map<String, String> getSelector(MinecraftProxy resource) {
+    return Map.of(
+            "minecraftproxy", resource.getMetadata().getName(),
+            ProxyPodUtil.LABEL_SERVING, "true"
+    );
+  }
+
   public static void createService(KubernetesClient kubernetesClient, MinecraftProxy resource) {
+    Service service = buildService(resource);
+    log.info("Creating Service: {} in namespace: {}", service.getMetadata().getName(), service.getMetadata().getNamespace());
+    KubernetesApiMetrics.record("services.create", () -> kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace()).create(service));
+  }
+
+  static Service buildService(MinecraftProxy resource) {
     Map<String, String> labels = Map.of(
             "minecraftproxy", resource.getMetadata().getName()
     );
     final var spec = resource.getSpec();
 
-    Service service = new ServiceBuilder()
+    return new ServiceBuilder()
             .withNewMetadata()
             .withName(resource.getMetadata().getName())
             .withNamespace(resource.getMetadata().getNamespace())
             .withLabels(labels)
             .endMetadata()
             .withNewSpec()
-            .withSelector(labels)
+            .withType(getType(resource))
+            .withExternalTrafficPolicy(getExternalTrafficPolicy(resource))
+            .withSelector(getSelector(resource))
             .withPorts(
                     new ServicePortBuilder()
                             .withName("tcp-port")
@@ -55,16 +123,13 @@ public class ProxyServiceUtil {
             )
             .endSpec()
             .build();
-
-    log.info("Creating Service: {} in namespace: {}", service.getMetadata().getName(), service.getMetadata().getNamespace());
-    kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace()).create(service);
   }
 
   public static void deleteService(KubernetesClient kubernetesClient, MinecraftProxy resource) {
     try {
       log.info("Deleting Service: {}", resource.getMetadata().getName());
-      kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace())
-              .withName(resource.getMetadata().getName()).delete();
+      KubernetesApiMetrics.record("services.delete", () -> kubernetesClient.services().inNamespace(resource.getMetadata().getNamespace())
+              .withName(resource.getMetadata().getName()).delete());
     } catch (Exception e) {
       log.error("Error deleting Service: {}", resource.getMetadata().getName(), e);
     }
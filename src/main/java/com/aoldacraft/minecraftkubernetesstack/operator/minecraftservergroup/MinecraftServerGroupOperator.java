@@ -1,14 +1,32 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup;
 
 import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.ServerGroupInfoPublisher;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.ServerGroupWakeHandler;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileScheduler;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedules;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.SecondaryToPrimaryMappers;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.autoscaling.ServerGroupAutoscaler;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupAutoscaling;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerLoad;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerStartup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.jvm.ServerJvmProfile;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.RollingServerLoad;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerLoadSampler;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.InitFile;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ResourceUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerArtifactCacheUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerConfigUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerHibernationUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerPodUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerPregenUtil;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerStorageUtil;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.config.informer.InformerConfiguration;
@@ -17,97 +35,393 @@ import io.javaoperatorsdk.operator.api.reconciler.Context;
 import io.javaoperatorsdk.operator.api.reconciler.dependent.Deleter;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+import io.javaoperatorsdk.operator.processing.event.source.inbound.SimpleInboundEventSource;
 import io.javaoperatorsdk.operator.processing.event.source.informer.InformerEventSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The MinecraftServerGroupOperator class is responsible for managing a Minecraft Server Group in Kubernetes.
  * It implements the Reconciler, EventSourceInitializer, and Deleter interfaces.
  */
-@ControllerConfiguration
-public class MinecraftServerGroupOperator implements Reconciler<MinecraftServerGroup>, EventSourceInitializer<MinecraftServerGroup>, Cleaner<MinecraftServerGroup> {
+@ControllerConfiguration(maxReconciliationInterval = @MaxReconciliationInterval(interval = 5, timeUnit = TimeUnit.MINUTES))
+public class MinecraftServerGroupOperator implements Reconciler<MinecraftServerGroup>, EventSourceInitializer<MinecraftServerGroup>, Cleaner<MinecraftServerGroup>, ServerGroupWakeHandler {
+    private static final Duration FULL_RESYNC_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration DRAIN_CHECK_INTERVAL = Duration.ofSeconds(15);
+    private static final Duration PREGEN_CHECK_INTERVAL = Duration.ofSeconds(10);
     private final Logger log = LoggerFactory.getLogger(MinecraftServerGroupOperator.class);
     private final KubernetesClient kubernetesClient;
     private final ServerGroupInfoPublisher serverGroupInfoStreamHandler;
     private final ServerPodUtil serverPodUtil;
     private final ServerConfigUtil serverConfigUtil;
+    private final ServerStorageUtil serverStorageUtil;
+    private final ServerPregenUtil serverPregenUtil;
+    private final ReconcileScheduler reconcileScheduler;
+    private final ServerLoadSampler serverLoadSampler;
+    private final ServerGroupAutoscaler serverGroupAutoscaler;
+    private final SimpleInboundEventSource loadEventSource = new SimpleInboundEventSource();
+    private final Map<ResourceID, Instant> lastFullReconciles = new ConcurrentHashMap<>();
+    private final ReconcileMetrics reconcileMetrics;
 
-    public MinecraftServerGroupOperator(KubernetesClient kubernetesClient, ServerGroupInfoPublisher service) {
+    /**
+     * How a reconcile is handled: a full pass in the repair lane, a periodic full pass in the status lane,
+     * or a status refresh only.
+     */
+    enum Route {
+        REPAIR, RESYNC, STATUS
+    }
+
+    public MinecraftServerGroupOperator(KubernetesClient kubernetesClient, ServerGroupInfoPublisher service,
+                                        ReconcileScheduler reconcileScheduler, ServerLoadSampler serverLoadSampler,
+                                        ImageDigests imageDigests, MeterRegistry meterRegistry) {
         this.kubernetesClient = kubernetesClient;
         this.serverGroupInfoStreamHandler = service;
-        this.serverPodUtil = new ServerPodUtil(kubernetesClient);
+        this.reconcileScheduler = reconcileScheduler;
+        this.serverLoadSampler = serverLoadSampler;
+        this.serverGroupAutoscaler = new ServerGroupAutoscaler();
+        this.serverLoadSampler.onLoadChanged(loadEventSource::propagateEvent);
+        this.serverStorageUtil = new ServerStorageUtil(kubernetesClient);
+        this.serverPregenUtil = new ServerPregenUtil(kubernetesClient, serverLoadSampler);
+        this.serverPodUtil = new ServerPodUtil(kubernetesClient, serverStorageUtil,
+                new ServerArtifactCacheUtil(kubernetesClient, imageDigests, meterRegistry), imageDigests);
         this.serverConfigUtil = new ServerConfigUtil(kubernetesClient);
+        this.reconcileMetrics = new ReconcileMetrics("minecraftservergroup", meterRegistry);
     }
 
     @Override
     public Map<String, EventSource> prepareEventSources(EventSourceContext<MinecraftServerGroup> context) {
         final InformerConfiguration<Pod> configurationPod =
                 InformerConfiguration.from(Pod.class, context)
-                        .withSecondaryToPrimaryMapper(
-                                (Pod pod) -> context.getPrimaryCache()
-                                        .list(minecraftServerGroup -> minecraftServerGroup.getMetadata().getName()
-                                                .equals(pod.getMetadata().getLabels().get(ServerData.LABEL_GROUP)))
-                                        .map(ResourceID::fromResource)
-                                        .collect(Collectors.toSet())).build();
+                        .withSecondaryToPrimaryMapper(SecondaryToPrimaryMappers.<Pod>byNameLabel(ServerData.LABEL_GROUP)).build();
 
         final InformerConfiguration<ConfigMap> configurationConfigMap =
                 InformerConfiguration.from(ConfigMap.class, context)
-                        .withSecondaryToPrimaryMapper(
-                                (ConfigMap configMap) -> context.getPrimaryCache()
-                                        .list(minecraftServerGroup -> minecraftServerGroup.getMetadata().getName()
-                                                .equals(configMap.getMetadata().getLabels().get(ServerData.LABEL_GROUP)))
-                                        .map(ResourceID::fromResource)
-                                        .collect(Collectors.toSet())).build();
+                        .withSecondaryToPrimaryMapper(SecondaryToPrimaryMappers.<ConfigMap>byNameLabel(ServerData.LABEL_GROUP)).build();
 
         return EventSourceInitializer.nameEventSources(
                 new InformerEventSource<>(configurationPod, context),
-                new InformerEventSource<>(configurationConfigMap, context)
+                new InformerEventSource<>(configurationConfigMap, context),
+                loadEventSource
         );
     }
 
     @Override
     public UpdateControl<MinecraftServerGroup> reconcile(MinecraftServerGroup resource, Context<MinecraftServerGroup> context) {
+        return Traces.span("reconcile minecraftservergroup",
+                Map.of(Traces.GROUP, resource.getMetadata().getName(), Traces.NAMESPACE, resource.getMetadata().getNamespace()),
+                () -> reconcileInLane(resource, context));
+    }
+
+    private UpdateControl<MinecraftServerGroup> reconcileInLane(MinecraftServerGroup resource, Context<MinecraftServerGroup> context) {
+        final ResourceID resourceID = ResourceID.fromResource(resource);
+        final ConfigMap cachedConfigMap = context.getSecondaryResource(ConfigMap.class).orElse(null);
+        final Set<Pod> cachedPods = context.getSecondaryResources(Pod.class);
+        serverLoadSampler.track(resourceID, cachedPods, ResourceUtil.getLoadSource(resource));
+        final Instant now = Instant.now();
+        final ReplicaSchedules.Evaluation schedule = ReplicaSchedules.evaluate(resource.getSpec().getSchedules(), now);
+        final boolean loadChanged = updateLoadStatus(resource, resourceID, cachedPods, schedule);
+        final long priority = getPriority(resource);
+        final boolean draining = cachedPods.stream().anyMatch(ServerPodUtil::isDraining);
+        final boolean pregen = ServerPregenUtil.isInProgress(resource, cachedPods);
+        final Route route = planRoute(resource, cachedConfigMap, cachedPods, lastFullReconciles.get(resourceID), now);
+        final UpdateControl<MinecraftServerGroup> control;
+        if (route == Route.STATUS) {
+            control = reconcileScheduler.run(ReconcileScheduler.Lane.STATUS, priority,
+                    () -> reconcileMetrics.record("status", () -> reconcileStatus(resource, cachedConfigMap, cachedPods, loadChanged)));
+        } else {
+            control = reconcileScheduler.run(route == Route.REPAIR ? ReconcileScheduler.Lane.REPAIR : ReconcileScheduler.Lane.STATUS, priority,
+                    () -> reconcileMetrics.record("full", () -> reconcileFull(resource, cachedConfigMap, cachedPods, loadChanged)));
+        }
+        Duration requeue = draining ? DRAIN_CHECK_INTERVAL : pregen ? PREGEN_CHECK_INTERVAL : null;
+        final Duration untilSchedule = schedule.untilNextTransition(now);
+        if (untilSchedule != null && (requeue == null || untilSchedule.compareTo(requeue) < 0)) {
+            requeue = untilSchedule;
+        }
+        return requeue == null ? control : control.rescheduleAfter(requeue);
+    }
+
+    /**
+     * Records the sampled per-server load, the active schedule and, for autoscaled groups, the replica decision
+     * in status. The decision raised to the schedule's floor becomes the replica count {@link ServerPodUtil#sync}
+     * reconciles to; the autoscaler keeps deciding on its own count so the group falls back to what the load
+     * needs once the schedule ends. No decision is made while a ready server has no sample yet, so a restarted
+     * operator does not read a busy group as empty; a server that stays silent past the sampler's grace is
+     * reported in status and no longer waited for.
+     *
+     * @return whether status changed
+     */
+    private boolean updateLoadStatus(MinecraftServerGroup resource, ResourceID resourceID, Set<Pod> cachedPods,
+                                     ReplicaSchedules.Evaluation schedule) {
+        final MinecraftServerGroupStatus status = resource.getStatus();
+        if (status == null) {
+            return false;
+        }
+        final List<RollingServerLoad> loads = serverLoadSampler.getLoads(resourceID);
+        final List<MinecraftServerLoad> servers = loads.stream()
+                .sorted(Comparator.comparing(RollingServerLoad::podName))
+                .map(MinecraftServerGroupOperator::toServerLoad)
+                .toList();
+        final int players = serverLoadSampler.getPlayers(resourceID);
+        final Double averageTps = round(loads.stream().map(RollingServerLoad::tps).filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue).average());
+        final Double averageMspt = round(loads.stream().map(RollingServerLoad::mspt).filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue).average());
+        final Double averageMsptJitter = round(loads.stream().map(RollingServerLoad::msptJitter).filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue).average());
+        boolean changed = !Objects.equals(status.getCurrentPlayers(), players)
+                || !Objects.equals(status.getServers(), servers)
+                || !Objects.equals(status.getAverageTps(), averageTps)
+                || !Objects.equals(status.getAverageMspt(), averageMspt)
+                || !Objects.equals(status.getAverageMsptJitter(), averageMsptJitter);
+        status.setCurrentPlayers(players);
+        status.setServers(new ArrayList<>(servers));
+        status.setAverageTps(averageTps);
+        status.setAverageMspt(averageMspt);
+        status.setAverageMsptJitter(averageMsptJitter);
+        changed |= updateSchedule(resource, schedule);
+        final Instant now = Instant.now();
+        final List<String> unanswered = serverLoadSampler.getUnanswered(resourceID, cachedPods, now);
+        if (!unanswered.isEmpty() && !unanswered.equals(status.getUnsampledServers())) {
+            log.warn("Servers of MinecraftServerGroup {} never answered a load sample, deciding without them: {}",
+                    resource.getMetadata().getName(), unanswered);
+        }
+        changed |= !Objects.equals(status.getUnsampledServers(), unanswered);
+        status.setUnsampledServers(new ArrayList<>(unanswered));
+        final boolean sampled = serverLoadSampler.isSampled(resourceID, cachedPods, now);
+        changed |= ServerHibernationUtil.update(resource, sampled && (!loads.isEmpty() || !unanswered.isEmpty()), players, now);
+
+        final MinecraftServerGroupAutoscaling autoscaling = resource.getSpec().getAutoscaling();
+        if (autoscaling != null && !ResourceUtil.isHibernated(resource) && !sampled) {
+            log.debug("Not scaling MinecraftServerGroup {} until every ready server has a load sample", resource.getMetadata().getName());
+        } else if (autoscaling != null && !ResourceUtil.isHibernated(resource)) {
+            final int currentReplicas = ResourceUtil.getScaledReplicas(resource);
+            final ServerGroupAutoscaler.Decision decision =
+                    serverGroupAutoscaler.decide(resourceID, autoscaling, currentReplicas, players, now);
+            if (status.getDesiredReplicas() == null) {
+                status.setDesiredReplicas(decision.replicas());
+                changed = true;
+            } else if (decision.replicas() != currentReplicas) {
+                log.info("Scaling MinecraftServerGroup {} from {} to {} replicas: {}",
+                        resource.getMetadata().getName(), currentReplicas, decision.replicas(), decision.reason());
+                status.setDesiredReplicas(decision.replicas());
+                status.setLastScaleTime(now.toString());
+                status.setLastScaleReason(decision.reason());
+                changed = true;
+            }
+        }
+        final int effectiveReplicas = ResourceUtil.getDesiredReplicas(resource);
+        changed |= !Objects.equals(status.getEffectiveReplicas(), effectiveReplicas);
+        status.setEffectiveReplicas(effectiveReplicas);
+        return changed;
+    }
+
+    /**
+     * @return whether the active schedule or its floor changed
+     */
+    private boolean updateSchedule(MinecraftServerGroup resource, ReplicaSchedules.Evaluation schedule) {
+        final MinecraftServerGroupStatus status = resource.getStatus();
+        final Integer scheduledMinReplicas = schedule.activeSchedule() == null ? null : schedule.minReplicas();
+        if (Objects.equals(status.getActiveSchedule(), schedule.activeSchedule())
+                && Objects.equals(status.getScheduledMinReplicas(), scheduledMinReplicas)) {
+            return false;
+        }
+        log.info("Replica schedule of MinecraftServerGroup {} is now {} with a floor of {} replicas",
+                resource.getMetadata().getName(), schedule.activeSchedule(), scheduledMinReplicas);
+        status.setActiveSchedule(schedule.activeSchedule());
+        status.setScheduledMinReplicas(scheduledMinReplicas);
+        return true;
+    }
+
+    @Override
+    public boolean wake(String namespace, String name) {
+        if (kubernetesClient.resources(MinecraftServerGroup.class).inNamespace(namespace).withName(name).get() == null) {
+            return false;
+        }
+        kubernetesClient.resources(MinecraftServerGroup.class).inNamespace(namespace).withName(name)
+                .edit(current -> ServerHibernationUtil.requestWake(current, Instant.now()));
+        loadEventSource.propagateEvent(new ResourceID(name, namespace));
+        return true;
+    }
+
+    private static MinecraftServerLoad toServerLoad(RollingServerLoad load) {
+        final MinecraftServerLoad server = new MinecraftServerLoad();
+        server.setPodName(load.podName());
+        server.setPodIP(load.podIP());
+        server.setPlayers(load.players());
+        server.setMaxPlayers(load.maxPlayers());
+        server.setTps(load.tps() == null ? null : round(OptionalDouble.of(load.tps())));
+        server.setMspt(load.mspt() == null ? null : round(OptionalDouble.of(load.mspt())));
+        server.setMsptJitter(load.msptJitter() == null ? null : round(OptionalDouble.of(load.msptJitter())));
+        return server;
+    }
+
+    /**
+     * One decimal is enough for routing and keeps status from churning on noise.
+     */
+    private static Double round(OptionalDouble value) {
+        return value.isPresent() ? Math.round(value.getAsDouble() * 10) / 10.0 : null;
+    }
+
+    /**
+     * Without spec, config or replica drift the full path still runs once per resync interval.
+     */
+    /**
+     * Picks how a reconcile is handled: pods draining, a spec or config change and replica drift need the
+     * repair lane; otherwise a full pass still runs once per {@link #FULL_RESYNC_INTERVAL} to catch what the
+     * informers missed, and every other reconcile only refreshes status.
+     *
+     * @param lastFullReconcile when this group last had a full pass, {@code null} if never since startup
+     */
+    static Route planRoute(MinecraftServerGroup resource, ConfigMap configMap, Set<Pod> pods, Instant lastFullReconcile, Instant now) {
+        if (pods.stream().anyMatch(ServerPodUtil::isDraining) || isSpecChanged(resource, configMap) || isReplicaDrift(resource, pods)) {
+            return Route.REPAIR;
+        }
+        if (lastFullReconcile == null || lastFullReconcile.plus(FULL_RESYNC_INTERVAL).isBefore(now)) {
+            return Route.RESYNC;
+        }
+        return Route.STATUS;
+    }
+
+    /**
+     * Spec priority first, then the number of players that would notice a slow reconcile.
+     */
+    private long getPriority(MinecraftServerGroup resource) {
+        final long priority = resource.getSpec().getPriority() == null ? 0 : resource.getSpec().getPriority();
+        return priority * 1000 + Math.min(serverLoadSampler.getPlayers(ResourceID.fromResource(resource)), 999);
+    }
+
+    private static boolean isReplicaDrift(MinecraftServerGroup resource, Set<Pod> pods) {
+        return pods.stream().filter(ServerPodUtil::isActive).count() != ResourceUtil.getDesiredReplicas(resource)
+                || pods.stream().filter(ServerPodUtil::isStandby).count() != ServerPodUtil.getWarmPool(resource);
+    }
+
+    private static boolean isSpecChanged(MinecraftServerGroup resource, ConfigMap configMap) {
+        return resource.getStatus() == null ||
+                !Objects.equals(resource.getMetadata().getGeneration(), resource.getStatus().getObservedGeneration()) ||
+                configMap == null || !Objects.equals(configMap.getMetadata().getGeneration(), resource.getStatus().getConfigMapObservedGeneration());
+    }
+
+    private UpdateControl<MinecraftServerGroup> reconcileFull(MinecraftServerGroup resource, ConfigMap cachedConfigMap,
+                                                              Set<Pod> cachedPods, boolean statusChanged) {
         log.info("Reconciling MinecraftServerGroup: {}", resource.getMetadata().getName());
         try {
-            final var tmpConfigMap = serverConfigUtil.getConfigMap(resource);
-            boolean specChanged = resource.getStatus() == null ||
-                    !Objects.equals(resource.getMetadata().getGeneration(), resource.getStatus().getObservedGeneration()) ||
-                    tmpConfigMap == null || !Objects.equals(tmpConfigMap.getMetadata().getGeneration(), resource.getStatus().getConfigMapObservedGeneration());
-            if (specChanged) {
+            boolean specChanged = isSpecChanged(resource, cachedConfigMap);
+            final String jvmError = ServerJvmProfile.validate(resource.getSpec());
+            final String previousJvmError = resource.getStatus() == null ? null : resource.getStatus().getJvmError();
+            if (jvmError != null && !jvmError.equals(previousJvmError)) {
+                log.warn("Not creating servers of MinecraftServerGroup {}: {}", resource.getMetadata().getName(), jvmError);
+            }
+            // a memory limit that leaves no heap keeps the current pods serving until it is fixed
+            if (specChanged && jvmError == null) {
                 log.info("Changed MinecraftServerGroup: {}", resource.getMetadata().getName());
                 serverPodUtil.delete(resource);
-                updateStatus(resource);
             }
-            Boolean serverUpdated = serverPodUtil.sync(resource);
+            Boolean serverUpdated = jvmError == null
+                    && serverPodUtil.sync(resource, serverLoadSampler.getLoads(ResourceID.fromResource(resource)));
             Boolean configUpdated = serverConfigUtil.sync(resource);
+            statusChanged |= syncPregen(resource, cachedPods);
+            serverPodUtil.recordFirstReady(cachedPods);
             updateStatus(resource);
+            resource.getStatus().setJvmError(jvmError);
+            statusChanged |= !Objects.equals(previousJvmError, jvmError);
+            lastFullReconciles.put(ResourceID.fromResource(resource), Instant.now());
             if (configUpdated || serverUpdated || specChanged) {
                 return UpdateControl.updateResourceAndPatchStatus(resource);
             }
+            if (statusChanged) {
+                return UpdateControl.patchStatus(resource);
+            }
         } catch (Exception e) {
             log.error("Error during reconciliation of MinecraftServerGroup: {}", resource.getMetadata().getName(), e);
+            reconcileMetrics.markFailed();
         }
         return UpdateControl.noUpdate();
     }
 
+    /**
+     * Fast path for pod phase and load changes: recomputes the published pod IPs from the informer caches,
+     * writing to the API server only to stamp a pod's first ready time, and only patches and publishes status
+     * when something visible changed.
+     */
+    private UpdateControl<MinecraftServerGroup> reconcileStatus(MinecraftServerGroup resource, ConfigMap cachedConfigMap,
+                                                                Set<Pod> cachedPods, boolean statusChanged) {
+        final MinecraftServerGroupStatus status = resource.getStatus();
+        final Set<String> previousPodIPs = status.getPodIPs() == null ? Set.of() : new HashSet<>(status.getPodIPs());
+        final Set<String> previousDrainingPodIPs = status.getDrainingPodIPs() == null ? Set.of() : new HashSet<>(status.getDrainingPodIPs());
+        final Map<String, Long> previousTimeToReady = status.getPodTimeToReadySeconds();
+        final Map<String, MinecraftServerStartup> previousStartup = status.getPodStartup();
+        final String previousState = status.getState();
+        final Integer previousWarmPoolReady = status.getWarmPoolReady();
+        final Map<String, Integer> previousPregenProgress = status.getPregenProgress();
+        final Map<String, Long> previousPregenSeconds = status.getPregenSeconds();
+        final boolean pregenChanged = syncPregen(resource, cachedPods);
+        serverPodUtil.recordFirstReady(cachedPods);
+        serverPodUtil.updateStatus(resource, status, cachedPods);
+        serverConfigUtil.updateStatus(status, cachedConfigMap);
+        ServerHibernationUtil.updateState(status, Instant.now());
+        if (Objects.equals(previousState, status.getState()) &&
+                previousPodIPs.equals(new HashSet<>(status.getPodIPs())) &&
+                previousDrainingPodIPs.equals(new HashSet<>(status.getDrainingPodIPs())) &&
+                Objects.equals(previousTimeToReady, status.getPodTimeToReadySeconds()) &&
+                Objects.equals(previousStartup, status.getPodStartup()) &&
+                Objects.equals(previousWarmPoolReady, status.getWarmPoolReady()) &&
+                Objects.equals(previousPregenProgress, status.getPregenProgress()) &&
+                Objects.equals(previousPregenSeconds, status.getPregenSeconds()) &&
+                !pregenChanged && !statusChanged) {
+            return UpdateControl.noUpdate();
+        }
+        serverGroupInfoStreamHandler.publishMinecraftServerGroupInfo(resource);
+        return UpdateControl.patchStatus(resource);
+    }
+
+    /**
+     * Drives world pre-generation on the ready pods; the pods themselves are annotated, so only when it was
+     * enabled and the snapshot bookkeeping land in status here.
+     *
+     * @return whether the enablement time or the pre-generated snapshot changed in status
+     */
+    private boolean syncPregen(MinecraftServerGroup resource, Set<Pod> cachedPods) {
+        final MinecraftServerGroupStatus status = resource.getStatus();
+        if (status == null) {
+            return false;
+        }
+        final String previousEnabledTime = status.getPregenEnabledTime();
+        final String previousSnapshot = status.getPregenSnapshotName();
+        final Boolean previousSnapshotReady = status.getPregenSnapshotReady();
+        serverPregenUtil.sync(resource, cachedPods);
+        return !Objects.equals(previousEnabledTime, status.getPregenEnabledTime()) ||
+                !Objects.equals(previousSnapshot, status.getPregenSnapshotName()) ||
+                !Objects.equals(previousSnapshotReady, status.getPregenSnapshotReady());
+    }
+
     private void updateStatus(MinecraftServerGroup resource) {
         MinecraftServerGroupStatus status = resource.getStatus() == null ? new MinecraftServerGroupStatus() : resource.getStatus();
         serverPodUtil.updateStatus(resource, status);
         serverConfigUtil.updateStatus(resource, status);
+        ServerHibernationUtil.updateState(status, Instant.now());
         resource.setStatus(status);
         serverGroupInfoStreamHandler.publishMinecraftServerGroupInfo(resource);
     }
 
     @Override
     public DeleteControl cleanup(MinecraftServerGroup resource, Context<MinecraftServerGroup> context) {
-        log.info("Deleting MinecraftServerGroup: {}", resource.getMetadata().getName());
-        serverPodUtil.delete(resource);
-        serverConfigUtil.delete(resource);
-        return DeleteControl.defaultDelete();
+        return reconcileScheduler.run(ReconcileScheduler.Lane.DELETE, getPriority(resource), () -> {
+            log.info("Deleting MinecraftServerGroup: {}", resource.getMetadata().getName());
+            serverPodUtil.delete(resource);
+            serverConfigUtil.delete(resource);
+            serverStorageUtil.delete(resource);
+            lastFullReconciles.remove(ResourceID.fromResource(resource));
+            serverLoadSampler.untrack(ResourceID.fromResource(resource));
+            serverGroupAutoscaler.forget(ResourceID.fromResource(resource));
+            return DeleteControl.defaultDelete();
+        });
     }
 }
 
@@ -0,0 +1,75 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.autoscaling;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupAutoscaling;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns the observed player count of a group into a replica recommendation.
+ * Like the HorizontalPodAutoscaler, a scale-up only happens once every recommendation inside the
+ * scale-up window agrees, and a scale-down only goes as low as the highest recommendation inside
+ * the scale-down window.
+ */
+public class ServerGroupAutoscaler {
+
+  public record Decision(int replicas, int recommendedReplicas, String reason) {
+  }
+
+  private record Recommendation(Instant time, int replicas) {
+  }
+
+  private final Map<ResourceID, Deque<Recommendation>> recommendations = new ConcurrentHashMap<>();
+
+  public Decision decide(ResourceID resourceID, MinecraftServerGroupAutoscaling autoscaling,
+                         int currentReplicas, int observedPlayers, Instant now) {
+    final int minReplicas = autoscaling.getMinReplicas();
+    final int maxReplicas = Math.max(minReplicas, autoscaling.getMaxReplicas());
+    final int targetPlayers = Math.max(1, autoscaling.getTargetPlayersPerServer());
+    final int recommended = Math.clamp(Math.ceilDiv(observedPlayers, targetPlayers), minReplicas, maxReplicas);
+
+    final Duration upWindow = Duration.ofSeconds(autoscaling.getScaleUpStabilizationSeconds());
+    final Duration downWindow = Duration.ofSeconds(autoscaling.getScaleDownStabilizationSeconds());
+    final Deque<Recommendation> history = recommendations.computeIfAbsent(resourceID, id -> new ArrayDeque<>());
+    int scaleUpTo = recommended;
+    int scaleDownTo = recommended;
+    synchronized (history) {
+      history.addLast(new Recommendation(now, recommended));
+      final Instant horizon = now.minus(upWindow.compareTo(downWindow) > 0 ? upWindow : downWindow);
+      while (history.peekFirst().time().isBefore(horizon)) {
+        history.pollFirst();
+      }
+      for (Recommendation recommendation : history) {
+        if (!recommendation.time().isBefore(now.minus(upWindow))) {
+          scaleUpTo = Math.min(scaleUpTo, recommendation.replicas());
+        }
+        if (!recommendation.time().isBefore(now.minus(downWindow))) {
+          scaleDownTo = Math.max(scaleDownTo, recommendation.replicas());
+        }
+      }
+    }
+
+    final int current = Math.clamp(currentReplicas, minReplicas, maxReplicas);
+    if (scaleUpTo > current) {
+      return new Decision(scaleUpTo, recommended, "%d players need %d servers at %d per server"
+              .formatted(observedPlayers, scaleUpTo, targetPlayers));
+    }
+    if (scaleDownTo < current) {
+      return new Decision(scaleDownTo, recommended, "%d players fit on %d servers at %d per server"
+              .formatted(observedPlayers, scaleDownTo, targetPlayers));
+    }
+    if (current != currentReplicas) {
+      return new Decision(current, recommended, "replicas bounded to [%d, %d]".formatted(minReplicas, maxReplicas));
+    }
+    return new Decision(current, recommended, null);
+  }
+
+  public void forget(ResourceID resourceID) {
+    recommendations.remove(resourceID);
+  }
+}
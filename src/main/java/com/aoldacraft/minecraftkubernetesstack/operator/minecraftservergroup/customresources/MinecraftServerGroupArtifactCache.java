@@ -0,0 +1,10 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+@Data
+public class MinecraftServerGroupArtifactCache {
+    private Boolean enabled = true;
+    private String size = "5Gi";
+    private String storageClassName;
+}
@@ -0,0 +1,12 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+@Data
+public class MinecraftServerGroupAutoscaling {
+    private Integer minReplicas = 1;
+    private Integer maxReplicas = 10;
+    private Integer targetPlayersPerServer = 20;
+    private Integer scaleUpStabilizationSeconds = 0;
+    private Integer scaleDownStabilizationSeconds = 300;
+}
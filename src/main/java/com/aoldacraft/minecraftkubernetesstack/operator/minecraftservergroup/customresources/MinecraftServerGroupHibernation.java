@@ -0,0 +1,9 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+@Data
+public class MinecraftServerGroupHibernation {
+    private Boolean enabled = true;
+    private Integer idleSeconds = 1800;
+}
@@ -0,0 +1,17 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+/**
+ * Generates the chunks around spawn with Chunky before a new server joins the routing pool. Needs
+ * {@code rconPassword}. {@code radius} is in blocks and defaults to eight view distances, capped at
+ * {@code maxWorldSize}. With {@code storage} the first finished world is snapshotted and seeds later volumes.
+ */
+@Data
+public class MinecraftServerGroupPregen {
+    private Boolean enabled = true;
+    private Integer radius;
+    private Integer timeoutSeconds = 1800;
+    private Boolean snapshot = true;
+    private String volumeSnapshotClassName;
+}
@@ -1,5 +1,8 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedule;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.tier.ServerPerformanceTier;
+import io.fabric8.crd.generator.annotation.SchemaFrom;
 import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import lombok.Data;
 
@@ -11,6 +14,18 @@ public class MinecraftServerGroupSpec {
     private Integer replicas = 1;
     private ResourceRequirements resourceRequirements;
     private Boolean isForce = true;
+    private Integer priority = 0;
+    private MinecraftServerGroupAutoscaling autoscaling;
+    private List<ReplicaSchedule> schedules;
+    private Integer drainGracePeriodSeconds = 300;
+    private Integer warmPool = 0;
+    private MinecraftServerGroupHibernation hibernation;
+    private MinecraftServerGroupStorage storage;
+    private MinecraftServerGroupArtifactCache artifactCache;
+    private MinecraftServerGroupPregen pregen;
+    private String loadSource = "ServerListPing";
+    @SchemaFrom(type = ServerPerformanceTier.class)
+    private String performanceTier = "standard";
 
     private String memory;
     private String initMemory;
@@ -3,12 +3,53 @@ package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.cu
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Data
 public class MinecraftServerGroupStatus {
     private String state = "NotReady";
     private List<String> podIPs = new ArrayList<>();
+    private List<String> drainingPodIPs = new ArrayList<>();
+    private Map<String, Long> podTimeToReadySeconds = new TreeMap<>();
+    private Map<String, Long> startSecondsByKind = new TreeMap<>();
+    private Map<String, MinecraftServerStartup> podStartup = new TreeMap<>();
+    private Map<String, Long> startupPhaseSeconds = new LinkedHashMap<>();
+    private String artifactCacheKey;
+    private Boolean artifactCacheReady;
+    private Integer artifactCacheHits;
+    private Integer artifactCacheMisses;
+    private Map<String, Long> bootstrapSecondsByCache = new TreeMap<>();
+    private Integer warmPoolSize;
+    private Integer warmPoolReady;
+    private Long lastPromotionLatencyMillis;
+    private String lastPromotionTime;
+    private String pregenEnabledTime;
+    private Map<String, Integer> pregenProgress = new TreeMap<>();
+    private Map<String, Long> pregenSeconds = new TreeMap<>();
+    private String pregenSnapshotName;
+    private Boolean pregenSnapshotReady;
+    private Boolean hibernated;
+    private String idleSince;
+    private String hibernatedTime;
+    private String wakeRequestedTime;
+    private String lastWakeTime;
+    private Long lastWakeSeconds;
     private Long observedGeneration;
+    private String jvmError;
     private Long configMapObservedGeneration;
+    private Integer desiredReplicas;
+    private Integer effectiveReplicas;
+    private String activeSchedule;
+    private Integer scheduledMinReplicas;
+    private Integer currentPlayers;
+    private String lastScaleTime;
+    private String lastScaleReason;
+    private List<MinecraftServerLoad> servers = new ArrayList<>();
+    private List<String> unsampledServers = new ArrayList<>();
+    private Double averageTps;
+    private Double averageMspt;
+    private Double averageMsptJitter;
 }
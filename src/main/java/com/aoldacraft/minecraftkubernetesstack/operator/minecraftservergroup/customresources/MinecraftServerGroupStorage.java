@@ -0,0 +1,11 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+@Data
+public class MinecraftServerGroupStorage {
+    private String size = "10Gi";
+    private String storageClassName;
+    private String snapshotName;
+    private Boolean deleteWithGroup = true;
+}
@@ -0,0 +1,18 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+/**
+ * Load of one server pod; TPS and MSPT are rolling averages and MSPT jitter their standard deviation. All three
+ * stay empty when the load source cannot report them.
+ */
+@Data
+public class MinecraftServerLoad {
+    private String podName;
+    private String podIP;
+    private Integer players;
+    private Integer maxPlayers;
+    private Double tps;
+    private Double mspt;
+    private Double msptJitter;
+}
@@ -0,0 +1,17 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources;
+
+import lombok.Data;
+
+/**
+ * Where the startup of one server pod went, in seconds per phase; phases the pod has not finished yet stay empty.
+ * {@code bootSeconds} covers the Paper download, plugin loading and world generation up to the first successful ping.
+ */
+@Data
+public class MinecraftServerStartup {
+    private Long schedulingSeconds;
+    private Long initImagePullSeconds;
+    private Long initSeconds;
+    private Long imagePullSeconds;
+    private Long bootSeconds;
+    private Long totalSeconds;
+}
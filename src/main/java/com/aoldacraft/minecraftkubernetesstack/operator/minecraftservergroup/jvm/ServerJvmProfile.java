@@ -0,0 +1,138 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.jvm;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ResourceQuantities;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.tier.ServerPerformanceTier;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM settings for a server container derived from its memory and CPU budget. The heap gets what is left
+ * after metaspace, code cache, thread stacks, direct buffers and GC structures, so the container is neither
+ * OOMKilled nor left with unused memory. Small heaps use G1 with Aikar's flags, large heaps on enough cores
+ * use generational ZGC. Heap is committed and pre-touched at start. Explicit spec fields always win.
+ * Heap plus overhead never exceeds the limit; a limit too small for a comfortable heap only gets a warning,
+ * and one that leaves no heap at all is reported by {@link #validate} unless the spec sizes the heap itself.
+ */
+public record ServerJvmProfile(String initMemory, String maxMemory, Boolean aikarFlags, String xxOpts) {
+  private static final Logger log = LoggerFactory.getLogger(ServerJvmProfile.class);
+  private static final long MIB = 1024 * 1024;
+  private static final long GIB = 1024 * MIB;
+  private static final long MIN_HEAP = 512 * MIB;
+  private static final long CODE_CACHE_AND_STACKS = 256 * MIB;
+  private static final long ZGC_MIN_HEAP = 12 * GIB;
+  private static final int ZGC_MIN_CPUS = 4;
+
+  /**
+   * Why no heap can be derived for the spec, or null when it can or the spec sizes the heap itself. Lets the
+   * operator report a memory limit that is too small in status instead of failing every pod build.
+   */
+  public static String validate(MinecraftServerGroupSpec spec) {
+    if (isSet(spec.getMaxMemory()) || isSet(spec.getMemory())) {
+      return null;
+    }
+    final Long containerMemory = ResourceQuantities.getBytes(ServerPerformanceTier.of(spec).resources(spec.getResourceRequirements()), "memory");
+    if (containerMemory == null || getHeap(containerMemory) > 0) {
+      return null;
+    }
+    return "Memory limit of " + containerMemory / MIB + "Mi does not cover the " + getOverhead(containerMemory) / MIB
+            + "Mi the JVM needs outside the heap; raise the limit or set maxMemory";
+  }
+
+  public static ServerJvmProfile of(MinecraftServerGroupSpec spec) {
+    final ServerPerformanceTier tier = ServerPerformanceTier.of(spec);
+    final boolean heapSet = isSet(spec.getMaxMemory()) || isSet(spec.getMemory());
+    final ServerJvmProfile derived = heapSet && spec.getUseAikarFlags() != null && isSet(spec.getJvmXxOpts())
+            ? new ServerJvmProfile(null, null, null, null)
+            : derive(tier.resources(spec.getResourceRequirements()), Boolean.TRUE.equals(spec.getUseAikarFlags()), heapSet);
+    final String memory = spec.getMemory();
+    return new ServerJvmProfile(
+            firstNonNull(spec.getInitMemory(), memory, spec.getMaxMemory(), derived.initMemory()),
+            firstNonNull(spec.getMaxMemory(), memory, derived.maxMemory()),
+            firstNonNull(spec.getUseAikarFlags(), derived.aikarFlags()),
+            firstNonNull(spec.getJvmXxOpts(), join(derived.xxOpts(), tier.jvmXxOpts())));
+  }
+
+  static ServerJvmProfile derive(ResourceRequirements resources, boolean forceG1, boolean heapSet) {
+    final Long containerMemory = ResourceQuantities.getBytes(resources, "memory");
+    if (containerMemory == null) {
+      return new ServerJvmProfile(null, null, null, null);
+    }
+    final long metaspace = getMetaspace(containerMemory);
+    final String metaspaceFlag = "-XX:MaxMetaspaceSize=" + metaspace / MIB + "m";
+    final long heap = getHeap(containerMemory);
+    if (heap <= 0) {
+      // only the heap is left to the spec or the image default; see validate
+      return new ServerJvmProfile(null, null, true, metaspaceFlag);
+    }
+    if (!heapSet && heap < MIN_HEAP) {
+      log.warn("Memory limit of {}Mi leaves only {}Mi of heap, below the recommended {}Mi",
+              containerMemory / MIB, heap / MIB, MIN_HEAP / MIB);
+    }
+    final Long cpuMillis = ResourceQuantities.getMillis(resources, "cpu");
+    final boolean zgc = !forceG1 && heap >= ZGC_MIN_HEAP && cpuMillis != null && cpuMillis >= ZGC_MIN_CPUS * 1000L;
+
+    final String heapSize = heap / MIB + "M";
+    if (zgc) {
+      return new ServerJvmProfile(heapSize, heapSize, false,
+              "-XX:+UseZGC -XX:+ZGenerational -XX:+AlwaysPreTouch -XX:+DisableExplicitGC " + metaspaceFlag);
+    }
+    // Aikar's flags already select G1 and pre-touch the heap
+    return new ServerJvmProfile(heapSize, heapSize, true, metaspaceFlag);
+  }
+
+  private static long getMetaspace(long containerMemory) {
+    return containerMemory >= 8 * GIB ? 512 * MIB : 256 * MIB;
+  }
+
+  private static long getOverhead(long containerMemory) {
+    return getMetaspace(containerMemory) + CODE_CACHE_AND_STACKS + containerMemory / 10;
+  }
+
+  private static long getHeap(long containerMemory) {
+    return (containerMemory - getOverhead(containerMemory)) / MIB * MIB;
+  }
+
+  private static boolean isSet(String value) {
+    return value != null && !value.isEmpty();
+  }
+
+  public List<EnvVar> toEnv(MinecraftServerGroupSpec spec) {
+    final List<EnvVar> env = new ArrayList<>();
+    addIfPresent(env, "INIT_MEMORY", initMemory);
+    addIfPresent(env, "MAX_MEMORY", maxMemory);
+    addIfPresent(env, "USE_AIKAR_FLAGS", aikarFlags == null ? null : aikarFlags.toString());
+    addIfPresent(env, "JVM_XX_OPTS", xxOpts);
+    addIfPresent(env, "JVM_OPTS", spec.getJvmOpts());
+    addIfPresent(env, "JVM_DD_OPTS", spec.getJvmDdOpts());
+    return env;
+  }
+
+  private static String join(String first, String second) {
+    if (first == null || second == null) {
+      return first != null ? first : second;
+    }
+    return first + " " + second;
+  }
+
+  private static void addIfPresent(List<EnvVar> env, String name, String value) {
+    if (value != null && !value.isEmpty()) {
+      env.add(new EnvVar(name, value, null));
+    }
+  }
+
+  @SafeVarargs
+  private static <T> T firstNonNull(T... values) {
+    for (T value : values) {
+      if (value != null && !"".equals(value)) {
+        return value;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,20 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe.QueryClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Player counts over the UDP query protocol ({@code enable-query}); tick timings are not available.
+ */
+public record QueryLoadSource(int port) implements ServerLoadSource {
+
+  @Override
+  public ServerLoad sample(String podName, String podIP, Duration timeout) throws IOException {
+    final QueryClient.Response response = QueryClient.basicStat(new InetSocketAddress(podIP, port), timeout);
+    return new ServerLoad(podName, podIP, response.onlinePlayers(), response.maxPlayers(), null, null, Instant.now());
+  }
+}
@@ -0,0 +1,50 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe.RconClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Players, TPS and MSPT over RCON using the {@code list}, {@code tps} and {@code mspt} commands
+ * (the latter two are provided by Paper).
+ */
+public record RconLoadSource(int port, String password) implements ServerLoadSource {
+  private static final Pattern COLOR_CODES = Pattern.compile("§.");
+  private static final Pattern NUMBER = Pattern.compile("\\d+(?:\\.\\d+)?");
+  private static final Pattern PLAYER_LIST = Pattern.compile("(\\d+) of a max of (\\d+)");
+
+  @Override
+  public ServerLoad sample(String podName, String podIP, Duration timeout) throws IOException {
+    try (RconClient client = RconClient.connect(new InetSocketAddress(podIP, port), password, timeout)) {
+      final Matcher players = PLAYER_LIST.matcher(stripColors(client.command("list")));
+      if (!players.find()) {
+        throw new IOException("Unexpected response to list");
+      }
+      return new ServerLoad(podName, podIP,
+              Integer.parseInt(players.group(1)),
+              Integer.parseInt(players.group(2)),
+              parseFirstNumberAfterColon(client.command("tps")),
+              parseFirstNumberAfterColon(client.command("mspt")),
+              Instant.now());
+    }
+  }
+
+  /**
+   * Both Paper commands print the most recent window first, e.g. {@code TPS from last 1m, 5m, 15m: 19.8, 20.0, 20.0}.
+   */
+  static Double parseFirstNumberAfterColon(String response) {
+    final String text = stripColors(response);
+    final int colon = text.indexOf(':');
+    final Matcher matcher = NUMBER.matcher(text);
+    return colon >= 0 && matcher.find(colon) ? Double.parseDouble(matcher.group()) : null;
+  }
+
+  private static String stripColors(String text) {
+    return COLOR_CODES.matcher(text).replaceAll("");
+  }
+}
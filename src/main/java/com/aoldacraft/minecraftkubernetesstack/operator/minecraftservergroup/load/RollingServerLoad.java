@@ -0,0 +1,44 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Latest player count of one server pod together with tick timings averaged over the sampler's rolling window.
+ * MSPT jitter is the standard deviation of the window's MSPT samples, which is what CPU contention from
+ * noisy neighbours shows up in long before the average moves.
+ */
+public record RollingServerLoad(String podName, String podIP, int players, int maxPlayers, Double tps, Double mspt,
+                                Double msptJitter) {
+
+  static RollingServerLoad of(ServerLoad latest, Collection<ServerLoad> window) {
+    final double[] mspt = window.stream().map(ServerLoad::mspt).filter(Objects::nonNull).mapToDouble(Double::doubleValue).toArray();
+    return new RollingServerLoad(latest.podName(), latest.podIP(), latest.players(), latest.maxPlayers(),
+            average(window.stream().map(ServerLoad::tps).filter(Objects::nonNull).mapToDouble(Double::doubleValue).toArray()),
+            average(mspt),
+            standardDeviation(mspt));
+  }
+
+  private static Double standardDeviation(double[] values) {
+    if (values.length < 2) {
+      return null;
+    }
+    final double mean = average(values);
+    double squares = 0;
+    for (double value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+    return Math.sqrt(squares / values.length);
+  }
+
+  private static Double average(double[] values) {
+    if (values.length == 0) {
+      return null;
+    }
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum / values.length;
+  }
+}
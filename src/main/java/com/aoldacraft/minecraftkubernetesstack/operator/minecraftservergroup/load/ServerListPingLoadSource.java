@@ -0,0 +1,20 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe.ServerListPing;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Player counts from the status ping every server answers; tick timings are not available.
+ */
+public record ServerListPingLoadSource(int port) implements ServerLoadSource {
+
+  @Override
+  public ServerLoad sample(String podName, String podIP, Duration timeout) throws IOException {
+    final ServerListPing.Response response = ServerListPing.ping(new InetSocketAddress(podIP, port), timeout);
+    return new ServerLoad(podName, podIP, response.onlinePlayers(), response.maxPlayers(), null, null, Instant.now());
+  }
+}
@@ -0,0 +1,9 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import java.time.Instant;
+
+/**
+ * A single load sample taken from one server pod. Tick timings are {@code null} when the source cannot report them.
+ */
+public record ServerLoad(String podName, String podIP, int players, int maxPlayers, Double tps, Double mspt, Instant sampledAt) {
+}
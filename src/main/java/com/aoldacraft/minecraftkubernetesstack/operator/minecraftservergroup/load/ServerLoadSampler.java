@@ -0,0 +1,250 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically samples every running server pod of the tracked groups through the group's {@link ServerLoadSource}
+ * and keeps a short rolling window per pod. Samples run on virtual threads, bounded by a semaphore, and never on
+ * reconciler threads; the operator is only told about a group when its player counts changed or its tick timings
+ * moved noticeably, so tiny TPS fluctuations do not turn into status patches.
+ */
+public class ServerLoadSampler {
+  private static final Logger log = LoggerFactory.getLogger(ServerLoadSampler.class);
+  private static final int WINDOW_SIZE = 20;
+  private static final double TPS_CHANGE_THRESHOLD = 0.5;
+  private static final double MSPT_CHANGE_THRESHOLD = 5.0;
+
+  private record Targets(ServerLoadSource source, Map<String, String> podIPs) {
+  }
+
+  private final Duration interval;
+  private final Duration timeout;
+  private final Duration unsampledGrace;
+  private final Semaphore permits;
+  private final Map<ResourceID, Targets> targets = new ConcurrentHashMap<>();
+  private final Map<ResourceID, Map<String, Deque<ServerLoad>>> windows = new ConcurrentHashMap<>();
+  private final Map<ResourceID, Map<String, RollingServerLoad>> loads = new ConcurrentHashMap<>();
+  private final Set<String> runningTasks = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ScheduledExecutorService scheduler =
+          Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("server-load-sampler").factory());
+  private volatile Consumer<ResourceID> listener = resourceID -> {};
+
+  public ServerLoadSampler(Duration interval, Duration timeout, Duration unsampledGrace, int concurrency) {
+    this.interval = interval;
+    this.timeout = timeout;
+    this.unsampledGrace = unsampledGrace;
+    this.permits = new Semaphore(concurrency);
+  }
+
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::sampleAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  public void onLoadChanged(Consumer<ResourceID> listener) {
+    this.listener = listener;
+  }
+
+  public void track(ResourceID resourceID, Collection<Pod> pods, ServerLoadSource source) {
+    targets.put(resourceID, new Targets(source, pods.stream()
+            .filter(pod -> pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()) && pod.getStatus().getPodIP() != null)
+            .collect(Collectors.toMap(pod -> pod.getMetadata().getName(), pod -> pod.getStatus().getPodIP()))));
+  }
+
+  public void untrack(ResourceID resourceID) {
+    targets.remove(resourceID);
+    windows.remove(resourceID);
+    loads.remove(resourceID);
+  }
+
+  public List<RollingServerLoad> getLoads(ResourceID resourceID) {
+    return List.copyOf(loads.getOrDefault(resourceID, Map.of()).values());
+  }
+
+  public int getPlayers(ResourceID resourceID) {
+    return loads.getOrDefault(resourceID, Map.of()).values().stream()
+            .mapToInt(RollingServerLoad::players)
+            .sum();
+  }
+
+  /**
+   * Whether every ready pod has a load, so {@link #getPlayers} is a real count rather than one that reads
+   * unsampled pods as empty, as it would right after an operator restart. Pods that are not ready cannot have
+   * players routed to them yet, and pods that have not answered within the grace after turning ready are
+   * skipped, so one server that never answers does not hold back scaling and hibernation of its group.
+   */
+  public boolean isSampled(ResourceID resourceID, Collection<Pod> pods, Instant now) {
+    final Map<String, RollingServerLoad> sampled = loads.getOrDefault(resourceID, Map.of());
+    return pods.stream()
+            .filter(ServerLoadSampler::isReady)
+            .allMatch(pod -> sampled.containsKey(pod.getMetadata().getName()) || isOverdue(pod, now));
+  }
+
+  /**
+   * Ready pods that have not answered a single sample within the grace after turning ready, by name.
+   */
+  public List<String> getUnanswered(ResourceID resourceID, Collection<Pod> pods, Instant now) {
+    final Map<String, RollingServerLoad> sampled = loads.getOrDefault(resourceID, Map.of());
+    return pods.stream()
+            .filter(ServerLoadSampler::isReady)
+            .filter(pod -> !sampled.containsKey(pod.getMetadata().getName()) && isOverdue(pod, now))
+            .map(pod -> pod.getMetadata().getName())
+            .sorted()
+            .toList();
+  }
+
+  private boolean isOverdue(Pod pod, Instant now) {
+    return pod.getStatus().getConditions().stream()
+            .filter(condition -> "Ready".equals(condition.getType()) && condition.getLastTransitionTime() != null)
+            .anyMatch(condition -> !Instant.parse(condition.getLastTransitionTime()).plus(unsampledGrace).isAfter(now));
+  }
+
+  private static boolean isReady(Pod pod) {
+    return pod.getMetadata().getDeletionTimestamp() == null && pod.getStatus() != null
+            && "Running".equals(pod.getStatus().getPhase()) && pod.getStatus().getConditions() != null
+            && pod.getStatus().getConditions().stream()
+            .anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+  }
+
+  /**
+   * Runs a blocking call against a server, such as an RCON conversation, on the sampler's virtual threads within
+   * its concurrency limit instead of on a reconciler thread. Skipped while the previous task with the same key
+   * still runs.
+   *
+   * @return whether the task was submitted
+   */
+  public boolean submit(String key, Runnable task) {
+    if (!runningTasks.add(key)) {
+      return false;
+    }
+    executor.submit(() -> {
+      try {
+        permits.acquire();
+        try {
+          task.run();
+        } finally {
+          permits.release();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        log.warn("Server task {} failed: {}", key, e.getMessage());
+      } finally {
+        runningTasks.remove(key);
+      }
+    });
+    return true;
+  }
+
+  void sampleAll() {
+    try {
+      final Map<ResourceID, Map<String, Future<ServerLoad>>> pending = new HashMap<>();
+      targets.forEach((resourceID, group) -> pending.put(resourceID, group.podIPs().entrySet().stream()
+              .collect(Collectors.toMap(Map.Entry::getKey,
+                      target -> executor.submit(() -> sample(group.source(), target.getKey(), target.getValue()))))));
+
+      pending.forEach((resourceID, futures) -> {
+        final Targets group = targets.get(resourceID);
+        if (group == null) {
+          return;
+        }
+        final Map<String, Deque<ServerLoad>> groupWindows = windows.computeIfAbsent(resourceID, id -> new ConcurrentHashMap<>());
+        groupWindows.keySet().retainAll(group.podIPs().keySet());
+        final Map<String, RollingServerLoad> last = loads.getOrDefault(resourceID, Map.of());
+        final Map<String, RollingServerLoad> sampled = new HashMap<>();
+        for (Map.Entry<String, Future<ServerLoad>> future : futures.entrySet()) {
+          final ServerLoad load = await(future.getValue());
+          if (load == null) {
+            // a failed ping keeps the pod's last known load instead of reading it as empty
+            if (last.containsKey(future.getKey())) {
+              sampled.put(future.getKey(), last.get(future.getKey()));
+            }
+            continue;
+          }
+          final Deque<ServerLoad> window = groupWindows.computeIfAbsent(load.podName(), podName -> new ArrayDeque<>());
+          window.addLast(load);
+          while (window.size() > WINDOW_SIZE) {
+            window.pollFirst();
+          }
+          sampled.put(load.podName(), RollingServerLoad.of(load, window));
+        }
+        final Map<String, RollingServerLoad> previous = loads.put(resourceID, Map.copyOf(sampled));
+        if (previous == null || hasChanged(previous, sampled)) {
+          listener.accept(resourceID);
+        }
+      });
+    } catch (Exception e) {
+      log.error("Error while sampling server load", e);
+    }
+  }
+
+  private ServerLoad sample(ServerLoadSource source, String podName, String podIP) throws InterruptedException {
+    permits.acquire();
+    try {
+      return source.sample(podName, podIP, timeout);
+    } catch (Exception e) {
+      log.debug("Load sample of {} ({}) failed: {}", podName, podIP, e.getMessage());
+      return null;
+    } finally {
+      permits.release();
+    }
+  }
+
+  private ServerLoad await(Future<ServerLoad> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  private static boolean hasChanged(Map<String, RollingServerLoad> previous, Map<String, RollingServerLoad> current) {
+    if (!previous.keySet().equals(current.keySet())) {
+      return true;
+    }
+    return current.values().stream().anyMatch(load -> {
+      final RollingServerLoad before = previous.get(load.podName());
+      return before.players() != load.players()
+              || movedBy(before.tps(), load.tps(), TPS_CHANGE_THRESHOLD)
+              || movedBy(before.mspt(), load.mspt(), MSPT_CHANGE_THRESHOLD);
+    });
+  }
+
+  private static boolean movedBy(Double before, Double after, double threshold) {
+    if (before == null || after == null) {
+      return (before == null) != (after == null);
+    }
+    return Math.abs(before - after) >= threshold;
+  }
+}
@@ -0,0 +1,11 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A way of asking one server pod how loaded it is.
+ */
+public interface ServerLoadSource {
+  ServerLoad sample(String podName, String podIP, Duration timeout) throws IOException;
+}
@@ -0,0 +1,77 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal client for the GameSpy4 based Minecraft Query protocol (basic stat only).
+ * See https://wiki.vg/Query for the packet layout.
+ */
+public final class QueryClient {
+  private static final byte TYPE_STAT = 0x00;
+  private static final byte TYPE_HANDSHAKE = 0x09;
+
+  private QueryClient() {
+  }
+
+  public record Response(int onlinePlayers, int maxPlayers, String motd) {
+  }
+
+  public static Response basicStat(InetSocketAddress address, Duration timeout) throws IOException {
+    try (DatagramSocket socket = new DatagramSocket()) {
+      socket.setSoTimeout((int) timeout.toMillis());
+      final int sessionId = ThreadLocalRandom.current().nextInt() & 0x0F0F0F0F;
+
+      final ByteBuffer handshake = request(TYPE_HANDSHAKE, sessionId, 0);
+      final ByteBuffer handshakeResponse = exchange(socket, address, handshake, TYPE_HANDSHAKE, sessionId);
+      final int challengeToken = Integer.parseInt(readString(handshakeResponse).trim());
+
+      final ByteBuffer stat = request(TYPE_STAT, sessionId, 4);
+      stat.putInt(challengeToken);
+      final ByteBuffer statResponse = exchange(socket, address, stat, TYPE_STAT, sessionId);
+      final List<String> fields = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        fields.add(readString(statResponse));
+      }
+      return new Response(Integer.parseInt(fields.get(3)), Integer.parseInt(fields.get(4)), fields.get(0));
+    } catch (NumberFormatException e) {
+      throw new IOException("Malformed query response", e);
+    }
+  }
+
+  private static ByteBuffer request(byte type, int sessionId, int payloadLength) {
+    final ByteBuffer buffer = ByteBuffer.allocate(7 + payloadLength);
+    buffer.put((byte) 0xFE).put((byte) 0xFD).put(type).putInt(sessionId);
+    return buffer;
+  }
+
+  private static ByteBuffer exchange(DatagramSocket socket, InetSocketAddress address, ByteBuffer request,
+                                     byte type, int sessionId) throws IOException {
+    socket.send(new DatagramPacket(request.array(), request.position(), address));
+    final byte[] buffer = new byte[2048];
+    final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+    socket.receive(packet);
+    final ByteBuffer response = ByteBuffer.wrap(buffer, 0, packet.getLength());
+    if (response.get() != type || response.getInt() != sessionId) {
+      throw new IOException("Unexpected query response");
+    }
+    return response;
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    final int start = buffer.position();
+    while (buffer.hasRemaining() && buffer.get() != 0) {
+      // advance to the terminating null byte
+    }
+    final int end = buffer.position() - (buffer.get(buffer.position() - 1) == 0 ? 1 : 0);
+    return new String(buffer.array(), start, end - start, StandardCharsets.ISO_8859_1);
+  }
+}
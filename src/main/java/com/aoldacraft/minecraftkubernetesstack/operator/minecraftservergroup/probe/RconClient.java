@@ -0,0 +1,100 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Minimal Source RCON client as implemented by the vanilla and Paper servers.
+ * See https://wiki.vg/RCON for the packet layout.
+ */
+public class RconClient implements Closeable {
+  private static final int TYPE_RESPONSE = 0;
+  private static final int TYPE_COMMAND = 2;
+  private static final int TYPE_LOGIN = 3;
+  private static final int MAX_PACKET_LENGTH = 4110;
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final OutputStream out;
+  private int requestId;
+
+  private RconClient(Socket socket) throws IOException {
+    this.socket = socket;
+    this.in = new DataInputStream(socket.getInputStream());
+    this.out = socket.getOutputStream();
+  }
+
+  public static RconClient connect(InetSocketAddress address, String password, Duration timeout) throws IOException {
+    final Socket socket = new Socket();
+    try {
+      socket.connect(address, (int) timeout.toMillis());
+      socket.setSoTimeout((int) timeout.toMillis());
+      final RconClient client = new RconClient(socket);
+      final int loginId = client.send(TYPE_LOGIN, password);
+      final Packet response = client.receive();
+      if (response.requestId() == -1 || response.requestId() != loginId) {
+        throw new IOException("RCON authentication failed");
+      }
+      return client;
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  public String command(String command) throws IOException {
+    final int id = send(TYPE_COMMAND, command);
+    final Packet response = receive();
+    if (response.requestId() != id || response.type() != TYPE_RESPONSE) {
+      throw new IOException("Unexpected RCON response to " + command);
+    }
+    return response.payload();
+  }
+
+  private int send(int type, String payload) throws IOException {
+    final byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+    final int id = ++requestId;
+    final ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + body.length + 2).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(4 + 4 + body.length + 2);
+    buffer.putInt(id);
+    buffer.putInt(type);
+    buffer.put(body);
+    buffer.put((byte) 0);
+    buffer.put((byte) 0);
+    out.write(buffer.array());
+    out.flush();
+    return id;
+  }
+
+  private Packet receive() throws IOException {
+    final byte[] header = new byte[4];
+    in.readFully(header);
+    final int length = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    if (length < 10 || length > MAX_PACKET_LENGTH) {
+      throw new IOException("Invalid RCON packet length: " + length);
+    }
+    final byte[] packet = new byte[length];
+    in.readFully(packet);
+    final ByteBuffer buffer = ByteBuffer.wrap(packet).order(ByteOrder.LITTLE_ENDIAN);
+    final int id = buffer.getInt();
+    final int type = buffer.getInt();
+    final String payload = new String(packet, 8, length - 10, StandardCharsets.UTF_8);
+    return new Packet(id, type, payload);
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  private record Packet(int requestId, int type, String payload) {
+  }
+}
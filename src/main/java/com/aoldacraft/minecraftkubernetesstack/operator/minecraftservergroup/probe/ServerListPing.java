@@ -0,0 +1,101 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Minimal client for the Minecraft Server List Ping (status) protocol.
+ * See https://wiki.vg/Server_List_Ping for the packet layout.
+ */
+public final class ServerListPing {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final int PROTOCOL_VERSION = -1;
+  private static final int STATE_STATUS = 1;
+  private static final int MAX_RESPONSE_LENGTH = 1 << 20;
+
+  private ServerListPing() {
+  }
+
+  public record Response(int onlinePlayers, int maxPlayers, String version) {
+  }
+
+  public static Response ping(InetSocketAddress address, Duration timeout) throws IOException {
+    final int timeoutMillis = (int) timeout.toMillis();
+    try (Socket socket = new Socket()) {
+      socket.connect(address, timeoutMillis);
+      socket.setSoTimeout(timeoutMillis);
+      final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      final DataInputStream in = new DataInputStream(socket.getInputStream());
+
+      final ByteArrayOutputStream handshakeBytes = new ByteArrayOutputStream();
+      final DataOutputStream handshake = new DataOutputStream(handshakeBytes);
+      handshake.writeByte(0x00);
+      writeVarInt(handshake, PROTOCOL_VERSION);
+      writeString(handshake, address.getHostString());
+      handshake.writeShort(address.getPort());
+      writeVarInt(handshake, STATE_STATUS);
+
+      writeVarInt(out, handshakeBytes.size());
+      out.write(handshakeBytes.toByteArray());
+      out.writeByte(0x01);
+      out.writeByte(0x00);
+      out.flush();
+
+      readVarInt(in);
+      final int packetId = readVarInt(in);
+      if (packetId != 0x00) {
+        throw new IOException("Unexpected status packet id: " + packetId);
+      }
+      final int length = readVarInt(in);
+      if (length < 0 || length > MAX_RESPONSE_LENGTH) {
+        throw new IOException("Invalid status response length: " + length);
+      }
+      final byte[] json = new byte[length];
+      in.readFully(json);
+
+      final JsonNode status = objectMapper.readTree(new String(json, StandardCharsets.UTF_8));
+      return new Response(
+              status.path("players").path("online").asInt(0),
+              status.path("players").path("max").asInt(0),
+              status.path("version").path("name").asText(""));
+    }
+  }
+
+  public static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  public static int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    int position = 0;
+    byte current;
+    do {
+      current = in.readByte();
+      value |= (current & 0x7F) << position;
+      position += 7;
+      if (position > 35) {
+        throw new IOException("VarInt is too big");
+      }
+    } while ((current & 0x80) != 0);
+    return value;
+  }
+
+  public static void writeString(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+}
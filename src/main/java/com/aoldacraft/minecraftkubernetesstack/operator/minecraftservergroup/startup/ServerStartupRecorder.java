@@ -0,0 +1,81 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.startup;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the startup phases of each server pod into the {@code mcks.server.startup} histograms, tagged by phase,
+ * once the pod first turns ready. Pods are remembered by UID per group only while they exist, and pods that were
+ * already ready before the operator started are skipped so a restart does not replay old startups.
+ */
+public class ServerStartupRecorder {
+  private static final String NAME = "mcks.server.startup";
+  private static final String TOTAL = "total";
+
+  private final MeterRegistry meterRegistry;
+  private final Instant since;
+  private final Map<String, Set<String>> recorded = new ConcurrentHashMap<>();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public ServerStartupRecorder() {
+    this(Metrics.globalRegistry, Instant.now());
+  }
+
+  public ServerStartupRecorder(MeterRegistry meterRegistry, Instant since) {
+    this.meterRegistry = meterRegistry;
+    this.since = since;
+  }
+
+  /**
+   * Records the pods of one group that became ready since the last call.
+   */
+  public void record(String group, Collection<Pod> pods) {
+    final Set<String> previous = recorded.getOrDefault(group, Set.of());
+    final Set<String> current = new HashSet<>();
+    for (Pod pod : pods) {
+      final String uid = pod.getMetadata().getUid();
+      if (uid == null || previous.contains(uid)) {
+        // keep the uid even if the pod turned unready again, so a readiness flap is not counted as a second startup
+        if (uid != null) {
+          current.add(uid);
+        }
+        continue;
+      }
+      final ServerStartupTimeline timeline = ServerStartupTimeline.of(pod);
+      if (!timeline.isReady()) {
+        continue;
+      }
+      current.add(uid);
+      if (timeline.ready().isBefore(since)) {
+        continue;
+      }
+      timeline.phases().forEach((phase, duration) -> timer(phase).record(duration));
+      if (timeline.created() != null) {
+        timer(TOTAL).record(Duration.between(timeline.created(), timeline.ready()));
+      }
+    }
+    if (current.isEmpty()) {
+      recorded.remove(group);
+    } else {
+      recorded.put(group, current);
+    }
+  }
+
+  private Timer timer(String phase) {
+    return timers.computeIfAbsent(phase, key -> Timer.builder(NAME)
+            .description("Server pod startup time per phase")
+            .tag("phase", key)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+  }
+}
@@ -0,0 +1,139 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.startup;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerStartup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Startup milestones of one server pod read from its status: created, scheduled, init containers started and
+ * finished, server container started and ready. Kubernetes reports no pull timestamps, so the image pulls are the
+ * gaps before each container starts. Milestones that have not happened yet are {@code null}.
+ */
+public record ServerStartupTimeline(Instant created, Instant scheduled, Instant initStarted, Instant initFinished,
+                                    Instant serverStarted, Instant ready) {
+  public static final String SCHEDULING = "scheduling";
+  public static final String INIT_IMAGE_PULL = "initImagePull";
+  public static final String INIT = "init";
+  public static final String IMAGE_PULL = "imagePull";
+  public static final String BOOT = "boot";
+
+  public static ServerStartupTimeline of(Pod pod) {
+    final Instant created = parse(pod.getMetadata().getCreationTimestamp());
+    if (pod.getStatus() == null) {
+      return new ServerStartupTimeline(created, null, null, null, null, null);
+    }
+    final List<ContainerStatus> initStatuses = pod.getStatus().getInitContainerStatuses() == null ? List.of()
+            : pod.getStatus().getInitContainerStatuses();
+    Instant initStarted = null;
+    Instant initFinished = null;
+    if (!initStatuses.isEmpty()) {
+      initStarted = getStartedAt(initStatuses.get(0));
+      initFinished = getFinishedAt(initStatuses.get(initStatuses.size() - 1));
+    }
+    final Instant serverStarted = pod.getStatus().getContainerStatuses() == null ? null
+            : pod.getStatus().getContainerStatuses().stream()
+            .map(ServerStartupTimeline::getStartedAt)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    return new ServerStartupTimeline(created, getConditionTime(pod, "PodScheduled"), initStarted, initFinished,
+            serverStarted, getReadyTime(pod));
+  }
+
+  /**
+   * Durations of the phases completed so far, in pipeline order.
+   */
+  public Map<String, Duration> phases() {
+    final Map<String, Duration> phases = new LinkedHashMap<>();
+    putIfComplete(phases, SCHEDULING, created, scheduled);
+    if (initStarted != null) {
+      putIfComplete(phases, INIT_IMAGE_PULL, scheduled, initStarted);
+      putIfComplete(phases, INIT, initStarted, initFinished);
+      putIfComplete(phases, IMAGE_PULL, initFinished, serverStarted);
+    } else {
+      putIfComplete(phases, IMAGE_PULL, scheduled, serverStarted);
+    }
+    putIfComplete(phases, BOOT, serverStarted, ready);
+    return phases;
+  }
+
+  public boolean isReady() {
+    return ready != null;
+  }
+
+  public MinecraftServerStartup toStatus() {
+    final Map<String, Duration> phases = phases();
+    final MinecraftServerStartup startup = new MinecraftServerStartup();
+    startup.setSchedulingSeconds(seconds(phases.get(SCHEDULING)));
+    startup.setInitImagePullSeconds(seconds(phases.get(INIT_IMAGE_PULL)));
+    startup.setInitSeconds(seconds(phases.get(INIT)));
+    startup.setImagePullSeconds(seconds(phases.get(IMAGE_PULL)));
+    startup.setBootSeconds(seconds(phases.get(BOOT)));
+    startup.setTotalSeconds(created == null || ready == null ? null : seconds(Duration.between(created, ready)));
+    return startup;
+  }
+
+  private static void putIfComplete(Map<String, Duration> phases, String phase, Instant from, Instant to) {
+    if (from != null && to != null) {
+      // timestamps have second precision and come from different clocks, so clamp small inversions
+      phases.put(phase, to.isBefore(from) ? Duration.ZERO : Duration.between(from, to));
+    }
+  }
+
+  private static Long seconds(Duration duration) {
+    return duration == null ? null : duration.toSeconds();
+  }
+
+  /**
+   * The recorded first ready time, since the Ready condition's transition time moves when the probe flaps.
+   */
+  private static Instant getReadyTime(Pod pod) {
+    final String firstReadyAt = pod.getMetadata().getAnnotations() == null ? null
+            : pod.getMetadata().getAnnotations().get(ServerData.ANNOTATION_FIRST_READY);
+    return firstReadyAt != null ? parse(firstReadyAt) : getConditionTime(pod, "Ready");
+  }
+
+  private static Instant getConditionTime(Pod pod, String type) {
+    if (pod.getStatus().getConditions() == null) {
+      return null;
+    }
+    return pod.getStatus().getConditions().stream()
+            .filter(condition -> type.equals(condition.getType()) && "True".equals(condition.getStatus()))
+            .map(PodCondition::getLastTransitionTime)
+            .filter(Objects::nonNull)
+            .map(ServerStartupTimeline::parse)
+            .findFirst()
+            .orElse(null);
+  }
+
+  private static Instant getStartedAt(ContainerStatus status) {
+    if (status.getState() == null) {
+      return null;
+    }
+    if (status.getState().getRunning() != null) {
+      return parse(status.getState().getRunning().getStartedAt());
+    }
+    return status.getState().getTerminated() == null ? null : parse(status.getState().getTerminated().getStartedAt());
+  }
+
+  private static Instant getFinishedAt(ContainerStatus status) {
+    if (status.getState() == null || status.getState().getTerminated() == null
+            || !Integer.valueOf(0).equals(status.getState().getTerminated().getExitCode())) {
+      return null;
+    }
+    return parse(status.getState().getTerminated().getFinishedAt());
+  }
+
+  private static Instant parse(String timestamp) {
+    return timestamp == null ? null : Instant.parse(timestamp);
+  }
+}
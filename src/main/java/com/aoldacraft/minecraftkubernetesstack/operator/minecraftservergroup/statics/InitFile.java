@@ -1,7 +1,10 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils.ProxyPodUtil;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yaml.snakeyaml.DumperOptions;
@@ -45,11 +48,17 @@ public enum InitFile {
     if (getFileName().equals("server.properties")) {
       return getServerProperties(resource);
     }
-    return downloadFile(getFilePath(resource.getSpec().getVersion()));
+    return downloadFile(getFileName(), getFilePath(resource.getSpec().getVersion()));
   }
 
   private String getPaperGlobalYaml(MinecraftServerGroup resource) {
-    final String paperGlobalYml = downloadFile(getFilePath(resource.getSpec().getVersion()));
+    return transformPaperGlobalYaml(downloadFile(getFileName(), getFilePath(resource.getSpec().getVersion())));
+  }
+
+  /**
+   * Turns on velocity forwarding with the shared secret in a downloaded {@code paper-global.yml}.
+   */
+  public static String transformPaperGlobalYaml(String paperGlobalYml) {
     final Yaml yaml = new Yaml();
     final Map<String, Object> paperGlobalConfig = yaml.load(paperGlobalYml);
     final Map<String, Object> proxies = (Map<String, Object>) paperGlobalConfig.get("proxies");
@@ -68,8 +77,14 @@ public enum InitFile {
   }
 
   private String getServerProperties(MinecraftServerGroup resource) {
+    return transformServerProperties(downloadFile(getFileName(), getFilePath(resource.getSpec().getVersion())));
+  }
+
+  /**
+   * Turns off online mode in a downloaded {@code server.properties}; the proxy authenticates players.
+   */
+  public static String transformServerProperties(String serverProperties) {
     try {
-      final String serverProperties = downloadFile(getFilePath(resource.getSpec().getVersion()));
       Properties tmpServerProperties = new Properties();
       tmpServerProperties.load(new ByteArrayInputStream(serverProperties.getBytes(StandardCharsets.UTF_8)));
       tmpServerProperties.setProperty("online-mode", "false");
@@ -83,8 +98,18 @@ public enum InitFile {
     return null;
   }
 
-  private static String downloadFile(String fileURL) {
+  /**
+   * Download time per file lands in {@code mcks.initfile.download}; a failed download is tagged as an error
+   * and yields an empty file, as before.
+   */
+  private static String downloadFile(String fileName, String fileURL) {
+    return Traces.span("download init file", Map.of("file", fileName), () -> download(fileName, fileURL));
+  }
+
+  private static String download(String fileName, String fileURL) {
     StringBuilder content = new StringBuilder();
+    Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+    String outcome = "success";
     try {
       URL url = new URL(fileURL);
       HttpURLConnection connection = (HttpURLConnection) url.openConnection();
@@ -94,8 +119,15 @@ public enum InitFile {
         content.append(in.lines().collect(Collectors.joining("\n")));
       }
     } catch (Exception e) {
+      outcome = "error";
+      Traces.markFailed();
       log.error("Error downloading file from URL: {}", fileURL, e);
     }
+    sample.stop(Timer.builder("mcks.initfile.download")
+            .description("Default config file download time")
+            .tag("file", fileName)
+            .tag("outcome", outcome)
+            .register(Metrics.globalRegistry));
     return content.toString();
   }
 }
@@ -2,6 +2,40 @@ package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.st
 
 public record ServerData() {
   public static final String LABEL_GROUP = "mcks";
+  public static final String LABEL_DRAINING = "mcks-draining";
+  public static final String ANNOTATION_DRAIN_STARTED = "mcks-drain-started";
+  public static final String LABEL_STANDBY = "mcks-standby";
+  public static final String ANNOTATION_START_KIND = "mcks-start-kind";
+  public static final String ANNOTATION_PROMOTED = "mcks-promoted";
+  public static final String ANNOTATION_FIRST_READY = "mcks-first-ready";
+  public static final String START_COLD = "cold";
+  public static final String START_WARM = "warm";
+  public static final String START_SNAPSHOT = "snapshot";
+  public static final String ARTIFACT_CACHE = "mcks-artifact-cache";
+  public static final String ANNOTATION_ARTIFACT_CACHE_ATTEMPT = "mcks-artifact-cache-attempt";
+  public static final String ANNOTATION_WAKE_REQUESTED = "mcks-wake-requested";
+  public static final String ANNOTATION_PREGEN = "mcks-pregen";
+  public static final String ANNOTATION_PREGEN_STARTED = "mcks-pregen-started";
+  public static final String ANNOTATION_PREGEN_PROGRESS = "mcks-pregen-progress";
+  public static final String ANNOTATION_PREGEN_SECONDS = "mcks-pregen-seconds";
+  public static final String ANNOTATION_PREGEN_RADIUS = "mcks-pregen-radius";
+  public static final String PREGEN_RUNNING = "running";
+  public static final String PREGEN_DONE = "done";
+  public static final String PREGEN_TIMEOUT = "timeout";
+  public static final String PREGEN_SKIPPED = "skipped";
+  public static final String DEDICATED_NODE_LABEL = "mcks-dedicated";
+  public static final String DEDICATED_NODE_VALUE = "game";
+  public static final String SERVER_TYPE = "PAPER";
+  public static final String STATE_HIBERNATED = "Hibernated";
+  public static final String STATE_WAKING = "Waking";
   public static final String INIT_IMAGE = "ghcr.io/sigee-min/sigee-min/minecraft-kubernetes-stack-init-container:3cbedc6";
   public static final String SERVER_IMAGE = "itzg/minecraft-server:latest";
+  public static final int SERVER_PORT = 25565;
+  public static final int QUERY_PORT = 25565;
+  public static final int RCON_PORT = 25575;
+  public static final int READINESS_INITIAL_DELAY_SECONDS = 10;
+  public static final int READINESS_PERIOD_SECONDS = 5;
+  public static final int READINESS_TIMEOUT_SECONDS = 3;
+  public static final String LOAD_SOURCE_QUERY = "Query";
+  public static final String LOAD_SOURCE_RCON = "Rcon";
 }
@@ -0,0 +1,144 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.tier;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.fabric8.kubernetes.api.model.Affinity;
+import io.fabric8.kubernetes.api.model.AffinityBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.TolerationBuilder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduling and resources of a server pod by {@code spec.performanceTier}. {@code standard} passes the spec's
+ * resources through. {@code pinned} makes the pod Guaranteed QoS with whole CPUs, so a kubelet running the static
+ * CPU manager gives the server exclusive cores instead of a share of the node's pool. Pinned pods tolerate and
+ * prefer nodes labelled and tainted {@code mcks-dedicated=game}, spread the group across nodes, and get JVM flags
+ * for memory that is committed up front. Node and pod placement are preferences so a group still starts on a
+ * cluster without enough dedicated nodes.
+ */
+public enum ServerPerformanceTier {
+  @JsonProperty("standard")
+  STANDARD("standard"),
+  @JsonProperty("pinned")
+  PINNED("pinned");
+
+  private static final Quantity DEFAULT_PINNED_CPU = new Quantity("2");
+  private static final Quantity DEFAULT_PINNED_MEMORY = new Quantity("4Gi");
+  private static final ResourceRequirements PINNED_INIT_RESOURCES = new ResourceRequirementsBuilder()
+          .addToRequests(Map.of("cpu", new Quantity("250m"), "memory", new Quantity("256Mi")))
+          .addToLimits(Map.of("cpu", new Quantity("250m"), "memory", new Quantity("256Mi")))
+          .build();
+
+  private final String value;
+
+  ServerPerformanceTier(String value) {
+    this.value = value;
+  }
+
+  public static ServerPerformanceTier of(MinecraftServerGroupSpec spec) {
+    final String tier = spec.getPerformanceTier();
+    if (tier == null || tier.isBlank()) {
+      return STANDARD;
+    }
+    return Arrays.stream(values())
+            .filter(candidate -> candidate.value.equalsIgnoreCase(tier))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown performance tier: " + tier));
+  }
+
+  /**
+   * Container resources for the server. Pinned rounds CPU up to whole cores and sets requests equal to limits,
+   * taking the larger of the two and falling back to 2 cores and 4Gi.
+   */
+  public ResourceRequirements resources(ResourceRequirements requested) {
+    if (this == STANDARD) {
+      return requested;
+    }
+    final Quantity cpu = new Quantity(String.valueOf((int) Math.max(1, Math.ceil(
+            Quantity.getAmountInBytes(max(requested, "cpu", DEFAULT_PINNED_CPU)).doubleValue()))));
+    final Quantity memory = max(requested, "memory", DEFAULT_PINNED_MEMORY);
+    final Map<String, Quantity> requests = new HashMap<>(requested == null || requested.getRequests() == null ? Map.of() : requested.getRequests());
+    final Map<String, Quantity> limits = new HashMap<>(requested == null || requested.getLimits() == null ? Map.of() : requested.getLimits());
+    requests.put("cpu", cpu);
+    requests.put("memory", memory);
+    limits.put("cpu", cpu);
+    limits.put("memory", memory);
+    return new ResourceRequirementsBuilder().withRequests(requests).withLimits(limits).build();
+  }
+
+  /**
+   * Init containers need requests equal to limits as well, or the whole pod drops out of Guaranteed QoS.
+   */
+  public ResourceRequirements initResources() {
+    return this == PINNED ? PINNED_INIT_RESOURCES : null;
+  }
+
+  public Affinity affinity(MinecraftServerGroup resource) {
+    if (this == STANDARD) {
+      return null;
+    }
+    return new AffinityBuilder()
+            .withNewNodeAffinity()
+            .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+            .withWeight(100)
+            .withNewPreference()
+            .addNewMatchExpression()
+            .withKey(ServerData.DEDICATED_NODE_LABEL)
+            .withOperator("In")
+            .withValues(ServerData.DEDICATED_NODE_VALUE)
+            .endMatchExpression()
+            .endPreference()
+            .endPreferredDuringSchedulingIgnoredDuringExecution()
+            .endNodeAffinity()
+            .withNewPodAntiAffinity()
+            .addNewPreferredDuringSchedulingIgnoredDuringExecution()
+            .withWeight(100)
+            .withNewPodAffinityTerm()
+            .withTopologyKey("kubernetes.io/hostname")
+            .withNewLabelSelector()
+            .addToMatchLabels(ServerData.LABEL_GROUP, resource.getMetadata().getName())
+            .endLabelSelector()
+            .endPodAffinityTerm()
+            .endPreferredDuringSchedulingIgnoredDuringExecution()
+            .endPodAntiAffinity()
+            .build();
+  }
+
+  public List<Toleration> tolerations() {
+    if (this == STANDARD) {
+      return List.of();
+    }
+    return List.of(new TolerationBuilder()
+            .withKey(ServerData.DEDICATED_NODE_LABEL)
+            .withOperator("Equal")
+            .withValue(ServerData.DEDICATED_NODE_VALUE)
+            .withEffect("NoSchedule")
+            .build());
+  }
+
+  /**
+   * Extra {@code -XX} flags on top of the derived JVM profile. Transparent huge pages back the pre-touched heap
+   * with fewer TLB entries, and without the shared perf-data file a GC safepoint never waits on disk I/O.
+   */
+  public String jvmXxOpts() {
+    return this == PINNED ? "-XX:+UseTransparentHugePages -XX:+PerfDisableSharedMem" : null;
+  }
+
+  private static Quantity max(ResourceRequirements resources, String name, Quantity fallback) {
+    final Quantity request = resources == null || resources.getRequests() == null ? null : resources.getRequests().get(name);
+    final Quantity limit = resources == null || resources.getLimits() == null ? null : resources.getLimits().get(name);
+    if (request == null || limit == null) {
+      return limit != null ? limit : request != null ? request : fallback;
+    }
+    return Quantity.getAmountInBytes(limit).compareTo(Quantity.getAmountInBytes(request)) >= 0 ? limit : request;
+  }
+}
@@ -1,6 +1,12 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
 
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupAutoscaling;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.QueryLoadSource;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.RconLoadSource;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerListPingLoadSource;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerLoadSource;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +33,69 @@ public class ResourceUtil {
     );
   }
 
+  public static boolean isHibernated(MinecraftServerGroup resource) {
+    return resource.getStatus() != null && Boolean.TRUE.equals(resource.getStatus().getHibernated());
+  }
+
+  /**
+   * Replica count the pods are reconciled to: none while hibernated, otherwise {@link #getScaledReplicas}
+   * raised to the floor of the active schedule.
+   */
+  public static int getDesiredReplicas(MinecraftServerGroup resource) {
+    if (isHibernated(resource)) {
+      return 0;
+    }
+    final Integer scheduledMinReplicas = resource.getStatus() == null ? null : resource.getStatus().getScheduledMinReplicas();
+    return Math.max(getScaledReplicas(resource), scheduledMinReplicas == null ? 0 : scheduledMinReplicas);
+  }
+
+  /**
+   * The autoscaler's last decision when autoscaling is configured, otherwise {@code spec.replicas}.
+   */
+  public static int getScaledReplicas(MinecraftServerGroup resource) {
+    final MinecraftServerGroupAutoscaling autoscaling = resource.getSpec().getAutoscaling();
+    if (autoscaling == null) {
+      return resource.getSpec().getReplicas();
+    }
+    if (resource.getStatus() != null && resource.getStatus().getDesiredReplicas() != null) {
+      return resource.getStatus().getDesiredReplicas();
+    }
+    return Math.clamp(resource.getSpec().getReplicas(), autoscaling.getMinReplicas(), Math.max(autoscaling.getMinReplicas(), autoscaling.getMaxReplicas()));
+  }
+
+  /**
+   * Load source configured by {@code spec.loadSource}. RCON needs {@code spec.rconPassword}; without one the
+   * group falls back to the server list ping.
+   */
+  public static ServerLoadSource getLoadSource(MinecraftServerGroup resource) {
+    final MinecraftServerGroupSpec spec = resource.getSpec();
+    if (ServerData.LOAD_SOURCE_QUERY.equalsIgnoreCase(spec.getLoadSource())) {
+      return new QueryLoadSource(ServerData.QUERY_PORT);
+    }
+    if (ServerData.LOAD_SOURCE_RCON.equalsIgnoreCase(spec.getLoadSource())) {
+      if (isRconEnabled(spec)) {
+        return new RconLoadSource(getRconPort(spec), spec.getRconPassword());
+      }
+      log.warn("MinecraftServerGroup {} uses the RCON load source without rconPassword, falling back to server list ping",
+              resource.getMetadata().getName());
+    }
+    return new ServerListPingLoadSource(ServerData.SERVER_PORT);
+  }
+
+  public static boolean isRconEnabled(MinecraftServerGroupSpec spec) {
+    return spec.getRconPassword() != null && !spec.getRconPassword().isEmpty()
+            && (Boolean.TRUE.equals(spec.getEnableRcon()) || ServerData.LOAD_SOURCE_RCON.equalsIgnoreCase(spec.getLoadSource())
+            || (spec.getPregen() != null && Boolean.TRUE.equals(spec.getPregen().getEnabled())));
+  }
+
+  public static int getRconPort(MinecraftServerGroupSpec spec) {
+    return spec.getRconPort() != null ? spec.getRconPort() : ServerData.RCON_PORT;
+  }
+
+  public static String getClaimName(MinecraftServerGroup resource, int index) {
+    return "data-" + resource.getMetadata().getName() + "-" + index;
+  }
+
   public static String getConfigMapName(MinecraftServerGroup resource) {
     return "minecraft-config-" + resource.getMetadata().getName();
   }
@@ -0,0 +1,297 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupArtifactCache;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Content-addressed cache of server jars and plugins, shared by all groups of a namespace.
+ * A prefetch job downloads each (type, version, plugin set) once into {@code /cache/<key>} on a
+ * ReadWriteMany volume; pods started after it completed link the jar from there and copy the plugins
+ * instead of downloading them. A failed job is replaced after an exponential backoff. Jobs are owned by
+ * the volume, so removing the cache removes them too.
+ */
+@RequiredArgsConstructor
+public class ServerArtifactCacheUtil {
+  private static final Logger log = LoggerFactory.getLogger(ServerArtifactCacheUtil.class);
+  private static final String CACHE_VOLUME = "artifact-cache";
+  private static final String CACHE_MOUNT_PATH = "/cache";
+  private static final Duration RETRY_BACKOFF = Duration.ofMinutes(1);
+  private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(30);
+  private final KubernetesClient kubernetesClient;
+  private final ImageDigests imageDigests;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * What to do about the prefetch jobs of one cache key.
+   *
+   * @param cached  a job completed, so the artifacts are in the cache
+   * @param attempt the attempt to start now, or {@code null} while a job runs or backs off
+   * @param failed  the failed job the new attempt replaces
+   */
+  record PrefetchStep(boolean cached, Integer attempt, Job failed) {
+  }
+
+  public static boolean isEnabled(MinecraftServerGroup resource) {
+    final MinecraftServerGroupArtifactCache cache = resource.getSpec().getArtifactCache();
+    return cache != null && Boolean.TRUE.equals(cache.getEnabled());
+  }
+
+  /**
+   * Short content hash of everything the server downloads on first start.
+   */
+  public static String getCacheKey(MinecraftServerGroup resource) {
+    final MinecraftServerGroupSpec spec = resource.getSpec();
+    final StringBuilder content = new StringBuilder(ServerData.SERVER_TYPE)
+            .append('\n').append(spec.getVersion() != null ? spec.getVersion() : "LATEST");
+    if (spec.getPlugins() != null) {
+      new TreeSet<>(spec.getPlugins()).forEach(plugin -> content.append('\n').append(plugin));
+    }
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 8);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Ensures the shared volume and the prefetch job for the group's artifacts exist.
+   *
+   * @return whether the artifacts are already in the cache
+   */
+  public boolean sync(MinecraftServerGroup resource) {
+    if (!isEnabled(resource)) {
+      return false;
+    }
+    final String namespace = resource.getMetadata().getNamespace();
+    final String key = getCacheKey(resource);
+    final PersistentVolumeClaim volume = ensureVolume(resource);
+
+    final List<Job> jobs = kubernetesClient.batch().v1().jobs().inNamespace(namespace)
+            .withLabel(ServerData.ARTIFACT_CACHE, key).list().getItems();
+    final PrefetchStep step = planPrefetch(jobs, Instant.now());
+    if (step.attempt() == null) {
+      return step.cached();
+    }
+    if (step.failed() != null) {
+      log.warn("Artifact prefetch Job {} failed, replacing it with attempt {}", step.failed().getMetadata().getName(), step.attempt());
+      kubernetesClient.resource(step.failed()).withPropagationPolicy(DeletionPropagation.BACKGROUND).delete();
+    }
+    final Job job = createPrefetchJob(resource, volume, key, step.attempt());
+    log.info("Creating artifact prefetch Job: {} in namespace: {}", job.getMetadata().getName(), namespace);
+    kubernetesClient.batch().v1().jobs().inNamespace(namespace).resource(job).create();
+    return false;
+  }
+
+  /**
+   * A completed job means the cache is filled. Otherwise the latest attempt is left to run, or, once it failed
+   * and its backoff of a minute doubling per attempt up to half an hour passed, replaced by the next one.
+   */
+  static PrefetchStep planPrefetch(List<Job> jobs, Instant now) {
+    if (jobs.stream().anyMatch(ServerArtifactCacheUtil::isSucceeded)) {
+      return new PrefetchStep(true, null, null);
+    }
+    final Job latest = jobs.stream().max(Comparator.comparingInt(ServerArtifactCacheUtil::getAttempt)).orElse(null);
+    if (latest == null) {
+      return new PrefetchStep(false, 0, null);
+    }
+    final Instant failedAt = getFailedAt(latest);
+    if (failedAt == null) {
+      return new PrefetchStep(false, null, null);
+    }
+    final int attempt = getAttempt(latest);
+    final Duration backoff = RETRY_BACKOFF.multipliedBy(1L << Math.min(attempt, 10));
+    if (now.isBefore(failedAt.plus(backoff.compareTo(MAX_RETRY_BACKOFF) > 0 ? MAX_RETRY_BACKOFF : backoff))) {
+      return new PrefetchStep(false, null, null);
+    }
+    return new PrefetchStep(false, attempt + 1, latest);
+  }
+
+  public void recordLookup(boolean hit) {
+    meterRegistry.counter("mcks.artifact.cache.lookups", "result", hit ? "hit" : "miss").increment();
+  }
+
+  public static Volume createCacheVolume() {
+    return new VolumeBuilder()
+            .withName(CACHE_VOLUME)
+            .withNewPersistentVolumeClaim()
+            .withClaimName(ServerData.ARTIFACT_CACHE)
+            .withReadOnly(true)
+            .endPersistentVolumeClaim()
+            .build();
+  }
+
+  public static VolumeMount createCacheVolumeMount() {
+    return new VolumeMountBuilder()
+            .withName(CACHE_VOLUME)
+            .withMountPath(CACHE_MOUNT_PATH)
+            .withReadOnly(true)
+            .build();
+  }
+
+  /**
+   * Links the cached jar to {@code /data/server.jar} and copies plugins, which need a writable directory for
+   * their configs. The link target stays valid because the main container mounts the cache at the same path.
+   */
+  public Container createLinkContainer(MinecraftServerGroup resource) {
+    final String source = CACHE_MOUNT_PATH + "/" + getCacheKey(resource);
+    return new ContainerBuilder()
+            .withName("init-link-artifacts")
+            .withImage(imageDigests.resolve(ServerData.SERVER_IMAGE))
+            .withImagePullPolicy(imageDigests.getPullPolicy(ServerData.SERVER_IMAGE))
+            .withCommand("sh", "-c", """
+                    set -e
+                    ln -sf "$(ls %1$s/*.jar | head -n 1)" /data/server.jar
+                    if [ -d %1$s/plugins ]; then mkdir -p /data/plugins && cp -rn %1$s/plugins/. /data/plugins/; fi
+                    """.formatted(source))
+            .withVolumeMounts(
+                    new VolumeMountBuilder()
+                            .withName("volume")
+                            .withMountPath("/data")
+                            .build(),
+                    createCacheVolumeMount()
+            )
+            .build();
+  }
+
+  private PersistentVolumeClaim ensureVolume(MinecraftServerGroup resource) {
+    final String namespace = resource.getMetadata().getNamespace();
+    final PersistentVolumeClaim existing = kubernetesClient.persistentVolumeClaims().inNamespace(namespace)
+            .withName(ServerData.ARTIFACT_CACHE).get();
+    if (existing != null) {
+      return existing;
+    }
+    final MinecraftServerGroupArtifactCache cache = resource.getSpec().getArtifactCache();
+    log.info("Creating artifact cache PersistentVolumeClaim in namespace: {}", namespace);
+    return kubernetesClient.persistentVolumeClaims().inNamespace(namespace).resource(new PersistentVolumeClaimBuilder()
+            .withNewMetadata()
+            .withName(ServerData.ARTIFACT_CACHE)
+            .withNamespace(namespace)
+            .endMetadata()
+            .withNewSpec()
+            .withAccessModes("ReadWriteMany")
+            .withStorageClassName(cache.getStorageClassName())
+            .withNewResources()
+            .addToRequests("storage", new Quantity(cache.getSize()))
+            .endResources()
+            .endSpec()
+            .build()).create();
+  }
+
+  /**
+   * Runs the server image in setup-only mode so it downloads exactly what a server pod would, then exits.
+   */
+  private Job createPrefetchJob(MinecraftServerGroup resource, PersistentVolumeClaim volume, String key, int attempt) {
+    final MinecraftServerGroupSpec spec = resource.getSpec();
+    final List<EnvVar> env = new ArrayList<>(List.of(
+            new EnvVar("TYPE", ServerData.SERVER_TYPE, null),
+            new EnvVar("VERSION", spec.getVersion() != null ? spec.getVersion() : "LATEST", null),
+            new EnvVar("EULA", "true", null),
+            new EnvVar("SETUP_ONLY", "true", null)
+    ));
+    if (spec.getPlugins() != null && !spec.getPlugins().isEmpty()) {
+      env.add(new EnvVar("PLUGINS", String.join(",", spec.getPlugins()), null));
+    }
+    return new JobBuilder()
+            .withNewMetadata()
+            .withName(ServerData.ARTIFACT_CACHE + "-" + key + (attempt == 0 ? "" : "-" + attempt))
+            .withNamespace(resource.getMetadata().getNamespace())
+            .withLabels(Map.of(ServerData.ARTIFACT_CACHE, key))
+            .withAnnotations(Map.of(ServerData.ANNOTATION_ARTIFACT_CACHE_ATTEMPT, String.valueOf(attempt)))
+            .withOwnerReferences(new OwnerReferenceBuilder()
+                    .withApiVersion("v1")
+                    .withKind("PersistentVolumeClaim")
+                    .withName(volume.getMetadata().getName())
+                    .withUid(volume.getMetadata().getUid())
+                    .build())
+            .endMetadata()
+            .withNewSpec()
+            .withBackoffLimit(3)
+            .withNewTemplate()
+            .withNewSpec()
+            .withRestartPolicy("OnFailure")
+            .addNewContainer()
+            .withName("prefetch")
+            .withImage(imageDigests.resolve(ServerData.SERVER_IMAGE))
+            .withImagePullPolicy(imageDigests.getPullPolicy(ServerData.SERVER_IMAGE))
+            .withEnv(env)
+            .addNewVolumeMount()
+            .withName(CACHE_VOLUME)
+            .withMountPath("/data")
+            .withSubPath(key)
+            .endVolumeMount()
+            .endContainer()
+            .addNewVolume()
+            .withName(CACHE_VOLUME)
+            .withNewPersistentVolumeClaim()
+            .withClaimName(ServerData.ARTIFACT_CACHE)
+            .endPersistentVolumeClaim()
+            .endVolume()
+            .endSpec()
+            .endTemplate()
+            .endSpec()
+            .build();
+  }
+
+  private static boolean isSucceeded(Job job) {
+    return job.getStatus() != null && job.getStatus().getSucceeded() != null && job.getStatus().getSucceeded() > 0;
+  }
+
+  /**
+   * When the job gave up after its pod-level retries, or {@code null} while it has not.
+   */
+  private static Instant getFailedAt(Job job) {
+    if (job.getStatus() == null || job.getStatus().getConditions() == null) {
+      return null;
+    }
+    return job.getStatus().getConditions().stream()
+            .filter(condition -> "Failed".equals(condition.getType()) && "True".equals(condition.getStatus()))
+            .map(condition -> condition.getLastTransitionTime() != null ? condition.getLastTransitionTime()
+                    : job.getMetadata().getCreationTimestamp())
+            .filter(Objects::nonNull)
+            .map(Instant::parse)
+            .findFirst()
+            .orElse(Instant.EPOCH);
+  }
+
+  private static int getAttempt(Job job) {
+    final String attempt = job.getMetadata().getAnnotations() == null ? null
+            : job.getMetadata().getAnnotations().get(ServerData.ANNOTATION_ARTIFACT_CACHE_ATTEMPT);
+    return attempt == null ? 0 : Integer.parseInt(attempt);
+  }
+}
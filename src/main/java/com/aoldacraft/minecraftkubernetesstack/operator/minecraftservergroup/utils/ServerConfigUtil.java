@@ -1,5 +1,6 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.InitFile;
@@ -39,23 +40,26 @@ public class ServerConfigUtil {
             .addToData(InitFile.SERVER_PROPERTIES.getFileName(), InitFile.SERVER_PROPERTIES.getRawData(resource))
             .build();
 
-    kubernetesClient.configMaps()
+    KubernetesApiMetrics.record("configmaps.createOrReplace", () -> kubernetesClient.configMaps()
             .inNamespace(resource.getMetadata().getNamespace())
-            .createOrReplace(configMap);
+            .createOrReplace(configMap));
     log.info("Created/Updated ConfigMap for MinecraftServerGroup: {}", resource.getMetadata().getName());
     return true;
   }
 
   public void delete(MinecraftServerGroup resource) {
-    kubernetesClient.configMaps()
+    KubernetesApiMetrics.record("configmaps.delete", () -> kubernetesClient.configMaps()
             .inNamespace(resource.getMetadata().getNamespace())
             .withName("minecraft-config-" + resource.getMetadata().getName())
-            .delete();
+            .delete());
     log.info("Deleted ConfigMap for MinecraftServerGroup: {}", resource.getMetadata().getName());
   }
 
   public void updateStatus(MinecraftServerGroup resource, MinecraftServerGroupStatus status) {
-    final ConfigMap configMap = getConfigMap(resource);
+    updateStatus(status, getConfigMap(resource));
+  }
+
+  public void updateStatus(MinecraftServerGroupStatus status, ConfigMap configMap) {
     if(configMap == null) {
       return;
     }
@@ -63,10 +67,10 @@ public class ServerConfigUtil {
   }
 
   public ConfigMap getConfigMap(MinecraftServerGroup resource) {
-    List<ConfigMap> configMaps = kubernetesClient.configMaps()
+    List<ConfigMap> configMaps = KubernetesApiMetrics.record("configmaps.list", () -> kubernetesClient.configMaps()
             .inNamespace(resource.getMetadata().getNamespace())
             .withLabel(ServerData.LABEL_GROUP, resource.getMetadata().getName())
-            .list().getItems();
+            .list().getItems());
 
     if(configMaps == null || configMaps.isEmpty()) {
       return null;
@@ -0,0 +1,117 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupHibernation;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Idle hibernation of a group. Wake requests are kept in an annotation on the group, so one made just before
+ * an operator restart is not lost; a request only counts while it is newer than the last hibernation.
+ */
+public class ServerHibernationUtil {
+
+  private static final Logger log = LoggerFactory.getLogger(ServerHibernationUtil.class);
+
+  /**
+   * Stamps a wake request on the group, keeping an earlier one that is still pending so the wake time is
+   * measured from the first request.
+   */
+  public static MinecraftServerGroup requestWake(MinecraftServerGroup resource, Instant now) {
+    if (getWakeRequestedAt(resource) == null) {
+      final Map<String, String> annotations = resource.getMetadata().getAnnotations() == null
+              ? new HashMap<>() : new HashMap<>(resource.getMetadata().getAnnotations());
+      annotations.put(ServerData.ANNOTATION_WAKE_REQUESTED, now.toString());
+      resource.getMetadata().setAnnotations(annotations);
+    }
+    return resource;
+  }
+
+  /**
+   * The pending wake request, or {@code null} when there is none or it predates the last hibernation.
+   */
+  public static Instant getWakeRequestedAt(MinecraftServerGroup resource) {
+    final String requestedAt = resource.getMetadata().getAnnotations() == null ? null
+            : resource.getMetadata().getAnnotations().get(ServerData.ANNOTATION_WAKE_REQUESTED);
+    if (requestedAt == null) {
+      return null;
+    }
+    final Instant wakeRequestedAt = Instant.parse(requestedAt);
+    final String hibernatedTime = resource.getStatus() == null ? null : resource.getStatus().getHibernatedTime();
+    return hibernatedTime == null || wakeRequestedAt.isAfter(Instant.parse(hibernatedTime)) ? wakeRequestedAt : null;
+  }
+
+  /**
+   * Hibernates the group once it has been sampled empty for the idle window, and wakes it on request or when
+   * a schedule with a replica floor starts. The idle window restarts on wake so a freshly woken group is not
+   * put back to sleep before players arrive.
+   *
+   * @return whether status changed
+   */
+  public static boolean update(MinecraftServerGroup resource, boolean sampled, int players, Instant now) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    final MinecraftServerGroupHibernation hibernation = resource.getSpec().getHibernation();
+    final boolean hibernated = ResourceUtil.isHibernated(resource);
+    final boolean enabled = hibernation != null && Boolean.TRUE.equals(hibernation.getEnabled());
+    final boolean scheduled = status.getScheduledMinReplicas() != null && status.getScheduledMinReplicas() > 0;
+    if (hibernated) {
+      final Instant wakeRequestedAt = getWakeRequestedAt(resource);
+      if (wakeRequestedAt == null && !scheduled && enabled) {
+        return false;
+      }
+      log.info("Waking MinecraftServerGroup {}", resource.getMetadata().getName());
+      status.setHibernated(false);
+      status.setWakeRequestedTime((wakeRequestedAt != null ? wakeRequestedAt : now).toString());
+      status.setIdleSince(now.toString());
+      return true;
+    }
+    if (scheduled || !enabled || !sampled) {
+      return false;
+    }
+    if (players > 0) {
+      final boolean changed = status.getIdleSince() != null;
+      status.setIdleSince(null);
+      return changed;
+    }
+    if (status.getIdleSince() == null) {
+      status.setIdleSince(now.toString());
+      return true;
+    }
+    if (Instant.parse(status.getIdleSince()).plusSeconds(hibernation.getIdleSeconds()).isAfter(now)) {
+      return false;
+    }
+    log.info("Hibernating MinecraftServerGroup {} after {} idle seconds", resource.getMetadata().getName(), hibernation.getIdleSeconds());
+    status.setHibernated(true);
+    status.setHibernatedTime(now.toString());
+    status.setIdleSince(null);
+    return true;
+  }
+
+  /**
+   * Overrides the pod-derived state while hibernated or waking, and records how long the last wake took
+   * once the first server is published again.
+   */
+  public static void updateState(MinecraftServerGroupStatus status, Instant now) {
+    if (Boolean.TRUE.equals(status.getHibernated())) {
+      status.setState(ServerData.STATE_HIBERNATED);
+      return;
+    }
+    if (status.getWakeRequestedTime() == null) {
+      return;
+    }
+    if (status.getPodIPs().isEmpty()) {
+      status.setState(ServerData.STATE_WAKING);
+      return;
+    }
+    status.setLastWakeSeconds(Duration.between(Instant.parse(status.getWakeRequestedTime()), now).toSeconds());
+    status.setLastWakeTime(now.toString());
+    status.setWakeRequestedTime(null);
+  }
+}
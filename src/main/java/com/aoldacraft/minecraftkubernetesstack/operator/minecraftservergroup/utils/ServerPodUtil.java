@@ -1,73 +1,392 @@
 package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ScaleDownVictimSelector;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.jvm.ServerJvmProfile;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.RollingServerLoad;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.startup.ServerStartupRecorder;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.startup.ServerStartupTimeline;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.InitFile;
 import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.tier.ServerPerformanceTier;
 import io.fabric8.kubernetes.api.model.*;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class ServerPodUtil {
   private static final Logger log = LoggerFactory.getLogger(ServerPodUtil.class);
   private final KubernetesClient kubernetesClient;
+  private final ServerStorageUtil serverStorageUtil;
+  private final ServerArtifactCacheUtil serverArtifactCacheUtil;
+  private final ImageDigests imageDigests;
+  private final ServerStartupRecorder serverStartupRecorder = new ServerStartupRecorder();
 
-  public Boolean sync(MinecraftServerGroup resource) {
+  /**
+   * One scaling step, computed from the pods alone so the drain and promotion rules can be checked without a cluster.
+   *
+   * @param toUndrain draining pods taken back into service because the group scaled up again
+   * @param toPromote warm pods moved into service, ready ones first
+   * @param toCreate  number of pods to add once draining and warm pods are used up
+   * @param toDrain   pods to take out of service, picked by {@link ScaleDownVictimSelector}
+   */
+  record ScaleStep(List<Pod> toUndrain, List<Pod> toPromote, int toCreate, List<Pod> toDrain) {
+  }
+
+  public Boolean sync(MinecraftServerGroup resource, List<RollingServerLoad> loads) {
     boolean isUpdated = false;
     List<Pod> existingPods = getPods(resource);
-    int desiredReplicas = resource.getSpec().getReplicas();
-    int currentReplicas = existingPods.size();
+    Map<String, Integer> playersByPod = loads.stream()
+            .collect(Collectors.toMap(RollingServerLoad::podName, RollingServerLoad::players));
     Set<String> podNames = existingPods.stream()
             .map(pod -> pod.getMetadata().getName())
-            .collect(Collectors.toSet());
+            .collect(Collectors.toCollection(HashSet::new));
+    List<Pod> drainingPods = new ArrayList<>(existingPods.stream().filter(ServerPodUtil::isDraining).toList());
+    List<Pod> standbyPods = new ArrayList<>(getStandbyPods(existingPods));
+    int desiredReplicas = ResourceUtil.getDesiredReplicas(resource);
+    int warmPool = getWarmPool(resource);
+    boolean cacheHit = serverArtifactCacheUtil.sync(resource);
+    if (resource.getStatus() != null && ServerArtifactCacheUtil.isEnabled(resource)) {
+      resource.getStatus().setArtifactCacheKey(ServerArtifactCacheUtil.getCacheKey(resource));
+      resource.getStatus().setArtifactCacheReady(cacheHit);
+    }
+
+    log.info("Current replicas: {}, Desired replicas: {}, Draining: {}, Standby: {}",
+            existingPods.stream().filter(ServerPodUtil::isActive).count(), desiredReplicas, drainingPods.size(), standbyPods.size());
+
+    ScaleStep step = planScale(existingPods, desiredReplicas, playersByPod);
+    // a pod that could not be relabelled is made up for by a new one
+    int toCreate = step.toCreate();
+    for (Pod pod : step.toUndrain()) {
+      if (setDraining(pod, false)) {
+        log.info("Cancelled draining of Pod {}", pod.getMetadata().getName());
+        drainingPods.remove(pod);
+        isUpdated = true;
+      } else {
+        toCreate++;
+      }
+    }
+    for (Pod pod : step.toPromote()) {
+      if (setStandby(pod, false)) {
+        log.info("Promoted warm Pod {} (ready: {})", pod.getMetadata().getName(), isReady(pod));
+        standbyPods.remove(pod);
+        isUpdated = true;
+      } else {
+        toCreate++;
+      }
+    }
+    isUpdated |= createServers(resource, podNames, toCreate, false, cacheHit) > 0;
+    for (Pod victim : step.toDrain()) {
+      if (setDraining(victim, true)) {
+        log.info("Draining Pod {} with {} players", victim.getMetadata().getName(), playersByPod.get(victim.getMetadata().getName()));
+        isUpdated = true;
+      }
+    }
 
-    log.info("Current replicas: {}, Desired replicas: {}", currentReplicas, desiredReplicas);
-
-    if (currentReplicas < desiredReplicas) {
-      int j = 0;
-      for (int i = currentReplicas; i < desiredReplicas && j < desiredReplicas; j++) {
-        if (podNames.contains(ResourceUtil.getPodName(resource, j))) {
-          continue;
-        }
-        try {
-          createServer(resource, j);
-          log.info("Creating Pod {} of {}", i + 1, desiredReplicas);
-          isUpdated = true;
-          i++;
-        } catch (Exception e) {
-          log.error("Error creating Pod for MinecraftServerGroup: {}", resource.getMetadata().getName(), e);
-        }
+    if (standbyPods.size() < warmPool) {
+      isUpdated |= createServers(resource, podNames, warmPool - standbyPods.size(), true, cacheHit) > 0;
+    } else if (standbyPods.size() > warmPool) {
+      // standby pods hold no players, so the surplus (not-ready ones first) can go right away
+      for (Pod pod : standbyPods.reversed().subList(0, standbyPods.size() - warmPool)) {
+        isUpdated |= deletePod(resource, pod, "surplus warm pod");
       }
-    } else if (currentReplicas > desiredReplicas) {
-      for (int i = currentReplicas - 1; i >= desiredReplicas; i--) {
-        try {
-          log.info("Deleting Pod {}", existingPods.get(i).getMetadata().getName());
-          kubernetesClient.resource(existingPods.get(i)).delete();
-          isUpdated = true;
-        } catch (Exception e) {
-          log.error("Error deleting Pod for MinecraftServerGroup: {}", resource.getMetadata().getName(), e);
-        }
+    }
+
+    Duration gracePeriod = Duration.ofSeconds(resource.getSpec().getDrainGracePeriodSeconds());
+    for (Pod pod : drainingPods) {
+      boolean empty = getPlayers(pod, playersByPod) == 0;
+      boolean expired = getDrainStartedAt(pod).plus(gracePeriod).isBefore(Instant.now());
+      if (!empty && !expired) {
+        continue;
       }
+      isUpdated |= deletePod(resource, pod, empty ? "empty" : "grace period expired");
     }
     return isUpdated;
   }
 
+  /**
+   * Scaling up takes draining pods back first, since they still hold players, then promotes warm pods and
+   * creates whatever is still missing. Scaling down drains the pods {@link ScaleDownVictimSelector} picks;
+   * warm pods never count towards {@code replicas} and are not drained.
+   */
+  static ScaleStep planScale(List<Pod> existingPods, int desiredReplicas, Map<String, Integer> playersByPod) {
+    List<Pod> activePods = existingPods.stream().filter(ServerPodUtil::isActive).toList();
+    int missing = desiredReplicas - activePods.size();
+    if (missing < 0) {
+      return new ScaleStep(List.of(), List.of(), 0,
+              ScaleDownVictimSelector.select(activePods, -missing, pod -> getPlayers(pod, playersByPod)));
+    }
+    List<Pod> toUndrain = existingPods.stream().filter(ServerPodUtil::isDraining).limit(missing).toList();
+    missing -= toUndrain.size();
+    List<Pod> toPromote = getStandbyPods(existingPods).stream().limit(missing).toList();
+    missing -= toPromote.size();
+    return new ScaleStep(toUndrain, toPromote, missing, List.of());
+  }
+
+  private static List<Pod> getStandbyPods(List<Pod> pods) {
+    return pods.stream().filter(pod -> isStandby(pod) && !isDraining(pod))
+            .sorted(Comparator.comparing(ServerPodUtil::isReady).reversed())
+            .toList();
+  }
+
+  /**
+   * Creates {@code count} pods on the lowest free indices.
+   *
+   * @return the number of pods created
+   */
+  private int createServers(MinecraftServerGroup resource, Set<String> podNames, int count, boolean standby, boolean cacheHit) {
+    int created = 0;
+    for (int index = 0; created < count && index < podNames.size() + count; index++) {
+      String podName = ResourceUtil.getPodName(resource, index);
+      if (podNames.contains(podName)) {
+        continue;
+      }
+      try {
+        final int podIndex = index;
+        Traces.run("create server pod", podTags(resource, String.valueOf(index)),
+                () -> createServer(resource, podIndex, standby, cacheHit));
+        log.info("Creating {}Pod {} of {}", standby ? "warm " : "", created + 1, count);
+        podNames.add(podName);
+        created++;
+      } catch (Exception e) {
+        log.error("Error creating Pod for MinecraftServerGroup: {}", resource.getMetadata().getName(), e);
+      }
+    }
+    return created;
+  }
+
+  private boolean deletePod(MinecraftServerGroup resource, Pod pod, String reason) {
+    try {
+      log.info("Deleting Pod {} ({})", pod.getMetadata().getName(), reason);
+      Traces.run("delete server pod", podTags(resource, pod.getMetadata().getLabels() == null ? null : pod.getMetadata().getLabels().get("pod-index")),
+              () -> KubernetesApiMetrics.record("pods.delete", () -> kubernetesClient.resource(pod).delete()));
+      return true;
+    } catch (Exception e) {
+      log.error("Error deleting Pod for MinecraftServerGroup: {}", resource.getMetadata().getName(), e);
+      return false;
+    }
+  }
+
+  private static Map<String, String> podTags(MinecraftServerGroup resource, String podIndex) {
+    final Map<String, String> tags = new HashMap<>(Map.of(Traces.GROUP, resource.getMetadata().getName(),
+            Traces.NAMESPACE, resource.getMetadata().getNamespace()));
+    if (podIndex != null) {
+      tags.put(Traces.POD_INDEX, podIndex);
+    }
+    return tags;
+  }
+
+  public static int getWarmPool(MinecraftServerGroup resource) {
+    return resource.getSpec().getWarmPool() == null || ResourceUtil.isHibernated(resource) ? 0 : Math.max(0, resource.getSpec().getWarmPool());
+  }
+
+  public static boolean isStandby(Pod pod) {
+    return pod.getMetadata().getLabels() != null && "true".equals(pod.getMetadata().getLabels().get(ServerData.LABEL_STANDBY));
+  }
+
+  /**
+   * Pods counted towards {@code replicas}: neither draining nor held in the warm pool.
+   */
+  public static boolean isActive(Pod pod) {
+    return !isDraining(pod) && !isStandby(pod);
+  }
+
+  public static boolean isDraining(Pod pod) {
+    return pod.getMetadata().getLabels() != null && "true".equals(pod.getMetadata().getLabels().get(ServerData.LABEL_DRAINING));
+  }
+
+  /**
+   * Whether the pod passed its status-ping readiness probe, i.e. the server accepts logins.
+   */
+  public static boolean isReady(Pod pod) {
+    return getReadyCondition(pod) != null && "Running".equals(pod.getStatus().getPhase());
+  }
+
+  /**
+   * Seconds from pod creation until it first became ready, or {@code null} while it has not been ready yet.
+   */
+  public static Long getTimeToReadySeconds(Pod pod) {
+    final Instant firstReadyAt = getFirstReadyAt(pod);
+    if (firstReadyAt == null || pod.getMetadata().getCreationTimestamp() == null) {
+      return null;
+    }
+    return Duration.between(Instant.parse(pod.getMetadata().getCreationTimestamp()), firstReadyAt).toSeconds();
+  }
+
+  /**
+   * When the pod first became ready, as recorded by {@link #recordFirstReady}. Until then the Ready condition's
+   * transition time, which is the same on first sight but moves every time the readiness probe flaps.
+   */
+  public static Instant getFirstReadyAt(Pod pod) {
+    final String firstReadyAt = getAnnotation(pod, ServerData.ANNOTATION_FIRST_READY);
+    if (firstReadyAt != null) {
+      return Instant.parse(firstReadyAt);
+    }
+    final PodCondition ready = getReadyCondition(pod);
+    return ready == null || ready.getLastTransitionTime() == null ? null : Instant.parse(ready.getLastTransitionTime());
+  }
+
+  /**
+   * Stamps pods that turned ready with their first ready time, once per pod.
+   */
+  public void recordFirstReady(Collection<Pod> pods) {
+    for (Pod pod : pods) {
+      if (getAnnotation(pod, ServerData.ANNOTATION_FIRST_READY) != null || !isReady(pod)) {
+        continue;
+      }
+      final Instant firstReadyAt = getFirstReadyAt(pod);
+      if (firstReadyAt == null) {
+        continue;
+      }
+      try {
+        KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+                .withName(pod.getMetadata().getName())
+                .edit(current -> getAnnotation(current, ServerData.ANNOTATION_FIRST_READY) != null ? current
+                        : new PodBuilder(current).editMetadata()
+                        .addToAnnotations(ServerData.ANNOTATION_FIRST_READY, firstReadyAt.toString())
+                        .endMetadata().build()));
+      } catch (Exception e) {
+        log.error("Error recording first ready time of Pod: {}", pod.getMetadata().getName(), e);
+      }
+    }
+  }
+
+  /**
+   * Milliseconds from a warm pod being marked for promotion until it was ready to take players, or {@code null}
+   * for pods that were never promoted or are not ready yet. A pod that was already ready when promoted took none.
+   */
+  public static Long getPromotionLatencyMillis(Pod pod) {
+    final Instant firstReadyAt = getFirstReadyAt(pod);
+    final String promotedAt = getAnnotation(pod, ServerData.ANNOTATION_PROMOTED);
+    if (promotedAt == null || firstReadyAt == null) {
+      return null;
+    }
+    return Math.max(0, Duration.between(Instant.parse(promotedAt), firstReadyAt).toMillis());
+  }
+
+  /**
+   * Average seconds to ready of the ready pods, grouped by the value of the given pod annotation.
+   */
+  private static Map<String, Long> averageTimeToReadyBy(Collection<Pod> pods, String annotation) {
+    return pods.stream()
+            .filter(pod -> getTimeToReadySeconds(pod) != null && getAnnotation(pod, annotation) != null)
+            .collect(Collectors.groupingBy(pod -> getAnnotation(pod, annotation), TreeMap::new,
+                    Collectors.collectingAndThen(Collectors.averagingLong(ServerPodUtil::getTimeToReadySeconds), Math::round)));
+  }
+
+  /**
+   * Average seconds per startup phase over the ready pods, in pipeline order.
+   */
+  private static Map<String, Long> averagePhaseSeconds(Collection<Pod> pods) {
+    return pods.stream()
+            .map(ServerStartupTimeline::of)
+            .filter(ServerStartupTimeline::isReady)
+            .flatMap(timeline -> timeline.phases().entrySet().stream())
+            .collect(Collectors.groupingBy(Map.Entry::getKey, LinkedHashMap::new,
+                    Collectors.collectingAndThen(Collectors.averagingLong(entry -> entry.getValue().toSeconds()), Math::round)));
+  }
+
+  private static String getAnnotation(Pod pod, String annotation) {
+    return pod.getMetadata().getAnnotations() == null ? null : pod.getMetadata().getAnnotations().get(annotation);
+  }
+
+  private static PodCondition getReadyCondition(Pod pod) {
+    if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+      return null;
+    }
+    return pod.getStatus().getConditions().stream()
+            .filter(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()))
+            .findFirst()
+            .orElse(null);
+  }
+
+  /**
+   * Players on a pod as last sampled. Pods that are not running have none; running pods that
+   * could not be sampled are treated as busy so they are neither picked nor deleted early.
+   */
+  private static int getPlayers(Pod pod, Map<String, Integer> playersByPod) {
+    if (pod.getStatus() == null || !"Running".equals(pod.getStatus().getPhase())) {
+      return 0;
+    }
+    return playersByPod.getOrDefault(pod.getMetadata().getName(), Integer.MAX_VALUE);
+  }
+
+  private static Instant getDrainStartedAt(Pod pod) {
+    String drainStartedAt = pod.getMetadata().getAnnotations() == null ? null
+            : pod.getMetadata().getAnnotations().get(ServerData.ANNOTATION_DRAIN_STARTED);
+    return drainStartedAt == null ? Instant.EPOCH : Instant.parse(drainStartedAt);
+  }
+
+  private boolean setDraining(Pod pod, boolean draining) {
+    try {
+      KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+              .withName(pod.getMetadata().getName())
+              .edit(current -> {
+                PodBuilder builder = new PodBuilder(current);
+                if (draining) {
+                  builder.editMetadata()
+                          .addToLabels(ServerData.LABEL_DRAINING, "true")
+                          .addToAnnotations(ServerData.ANNOTATION_DRAIN_STARTED, Instant.now().toString())
+                          .endMetadata();
+                } else {
+                  builder.editMetadata()
+                          .removeFromLabels(ServerData.LABEL_DRAINING)
+                          .removeFromAnnotations(ServerData.ANNOTATION_DRAIN_STARTED)
+                          .endMetadata();
+                }
+                return builder.build();
+              }));
+      return true;
+    } catch (Exception e) {
+      log.error("Error updating draining state of Pod: {}", pod.getMetadata().getName(), e);
+      return false;
+    }
+  }
+
+  private boolean setStandby(Pod pod, boolean standby) {
+    try {
+      KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+              .withName(pod.getMetadata().getName())
+              .edit(current -> standby
+                      ? new PodBuilder(current).editMetadata().addToLabels(ServerData.LABEL_STANDBY, "true").endMetadata().build()
+                      : new PodBuilder(current).editMetadata()
+                      .removeFromLabels(ServerData.LABEL_STANDBY)
+                      .addToAnnotations(ServerData.ANNOTATION_PROMOTED, Instant.now().toString())
+                      .endMetadata().build()));
+      return true;
+    } catch (Exception e) {
+      log.error("Error updating standby state of Pod: {}", pod.getMetadata().getName(), e);
+      return false;
+    }
+  }
+
   public void delete(MinecraftServerGroup resource) {
     List<Pod> pods = getPods(resource);
     for (Pod pod : pods) {
       try {
         log.info("Deleting Pod: {}", pod.getMetadata().getName());
-        kubernetesClient.resource(pod).delete();
+        KubernetesApiMetrics.record("pods.delete", () -> kubernetesClient.resource(pod).delete());
       } catch (Exception e) {
         log.error("Error deleting Pod: {}", pod.getMetadata().getName(), e);
       }
@@ -75,34 +394,95 @@ public class ServerPodUtil {
   }
 
   public void updateStatus(MinecraftServerGroup resource, MinecraftServerGroupStatus status) {
-    List<Pod> pods = getPods(resource);
+    updateStatus(resource, status, getPods(resource));
+  }
+
+  public void updateStatus(MinecraftServerGroup resource, MinecraftServerGroupStatus status, Collection<Pod> pods) {
     Set<String> podIPs = pods.stream()
-            .filter(pod -> "Running".equals(pod.getStatus().getPhase()))
+            .filter(pod -> isReady(pod) && isActive(pod) && !ServerPregenUtil.isPending(resource, pod))
+            .map(pod -> pod.getStatus().getPodIP())
+            .collect(Collectors.toSet());
+    Set<String> drainingPodIPs = pods.stream()
+            .filter(pod -> pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()) && isDraining(pod))
             .map(pod -> pod.getStatus().getPodIP())
             .collect(Collectors.toSet());
 
-    log.info("Updating status for MinecraftServerGroup: {}. Pod IPs: {}", resource.getMetadata().getName(), podIPs);
+    log.info("Updating status for MinecraftServerGroup: {}. Pod IPs: {}, draining: {}", resource.getMetadata().getName(), podIPs, drainingPodIPs);
     status.setPodIPs(new ArrayList<>(podIPs));
+    status.setDrainingPodIPs(new ArrayList<>(drainingPodIPs));
+    status.setPodTimeToReadySeconds(pods.stream()
+            .filter(pod -> getTimeToReadySeconds(pod) != null)
+            .collect(Collectors.toMap(pod -> pod.getMetadata().getName(), ServerPodUtil::getTimeToReadySeconds, (a, b) -> a, TreeMap::new)));
+    status.setStartSecondsByKind(averageTimeToReadyBy(pods, ServerData.ANNOTATION_START_KIND));
+    status.setPodStartup(pods.stream()
+            .collect(Collectors.toMap(pod -> pod.getMetadata().getName(), pod -> ServerStartupTimeline.of(pod).toStatus(), (a, b) -> a, TreeMap::new)));
+    status.setStartupPhaseSeconds(averagePhaseSeconds(pods));
+    serverStartupRecorder.record(resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName(), pods);
+    status.setArtifactCacheHits((int) pods.stream().filter(pod -> "hit".equals(getAnnotation(pod, ServerData.ARTIFACT_CACHE))).count());
+    status.setArtifactCacheMisses((int) pods.stream().filter(pod -> "miss".equals(getAnnotation(pod, ServerData.ARTIFACT_CACHE))).count());
+    status.setBootstrapSecondsByCache(averageTimeToReadyBy(pods, ServerData.ARTIFACT_CACHE));
+    status.setWarmPoolSize((int) pods.stream().filter(pod -> isStandby(pod) && !isDraining(pod)).count());
+    status.setWarmPoolReady((int) pods.stream()
+            .filter(pod -> isStandby(pod) && !isDraining(pod) && isReady(pod) && !ServerPregenUtil.isPending(resource, pod))
+            .count());
+    pods.stream()
+            .filter(pod -> isActive(pod) && getPromotionLatencyMillis(pod) != null)
+            .max(Comparator.comparing(pod -> Instant.parse(getAnnotation(pod, ServerData.ANNOTATION_PROMOTED))))
+            .ifPresent(pod -> {
+              status.setLastPromotionTime(getAnnotation(pod, ServerData.ANNOTATION_PROMOTED));
+              status.setLastPromotionLatencyMillis(getPromotionLatencyMillis(pod));
+            });
+    ServerPregenUtil.updateStatus(resource, status, pods);
     status.setState(podIPs.isEmpty() ? "Not Ready" : "Ready");
     status.setObservedGeneration(resource.getMetadata().getGeneration());
   }
 
-  private void createServer(MinecraftServerGroup resource, int index) {
-    Map<String, String> labels = ResourceUtil.createLabels(resource, index);
+  private void createServer(MinecraftServerGroup resource, int index, boolean standby, boolean cacheHit) {
+    String startKind = serverStorageUtil.ensureVolume(resource, index);
+    if (ServerArtifactCacheUtil.isEnabled(resource)) {
+      serverArtifactCacheUtil.recordLookup(cacheHit);
+    }
+    Pod pod = buildServer(resource, index, standby, cacheHit, startKind);
+    log.info("Creating Pod: {} in namespace: {}", pod.getMetadata().getName(), pod.getMetadata().getNamespace());
+    KubernetesApiMetrics.record("pods.create", () -> kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace()).create(pod));
+  }
+
+  /**
+   * Pod spec of one server; no API calls, so it can be built and compared without a cluster.
+   */
+  public Pod buildServer(MinecraftServerGroup resource, int index, boolean standby, boolean cacheHit, String startKind) {
+    Map<String, String> labels = new HashMap<>(ResourceUtil.createLabels(resource, index));
+    if (standby) {
+      labels.put(ServerData.LABEL_STANDBY, "true");
+    }
+    Map<String, String> annotations = new HashMap<>(Map.of(ServerData.ANNOTATION_START_KIND, startKind));
+    List<Container> initContainers = new ArrayList<>(createInitContainers(resource));
+    List<Volume> volumes = new ArrayList<>(List.of(serverStorageUtil.createDataVolume(resource, index)));
+    if (ServerArtifactCacheUtil.isEnabled(resource)) {
+      annotations.put(ServerData.ARTIFACT_CACHE, cacheHit ? "hit" : "miss");
+    }
+    if (cacheHit) {
+      initContainers.add(serverArtifactCacheUtil.createLinkContainer(resource));
+      volumes.add(ServerArtifactCacheUtil.createCacheVolume());
+    }
+    final ServerPerformanceTier tier = ServerPerformanceTier.of(resource.getSpec());
+    if (tier.initResources() != null) {
+      initContainers.replaceAll(container -> new ContainerBuilder(container).withResources(tier.initResources()).build());
+    }
 
-    Pod pod = new PodBuilder()
+    return new PodBuilder()
             .editOrNewMetadata()
             .withName(ResourceUtil.getPodName(resource, index))
             .withNamespace(resource.getMetadata().getNamespace())
             .withLabels(labels)
+            .withAnnotations(annotations)
             .endMetadata()
             .editOrNewSpec()
-            .addAllToInitContainers(createInitContainers(resource))
-            .addAllToContainers(createMinecraftContainers(resource))
-            .addNewVolume()
-            .withName("volume")
-            .withEmptyDir(new EmptyDirVolumeSource())
-            .endVolume()
+            .addAllToInitContainers(initContainers)
+            .addAllToContainers(createMinecraftContainers(resource, cacheHit))
+            .addAllToVolumes(volumes)
+            .withAffinity(tier.affinity(resource))
+            .addAllToTolerations(tier.tolerations())
             .addNewVolume()
             .withName("config-tmp-volume")
             .withNewConfigMap()
@@ -111,15 +491,28 @@ public class ServerPodUtil {
             .endVolume()
             .endSpec()
             .build();
+  }
 
-    log.info("Creating Pod: {} in namespace: {}", pod.getMetadata().getName(), pod.getMetadata().getNamespace());
-    kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace()).create(pod);
+  /**
+   * The image's {@code mc-health} sends a Server List Ping, so a pod only turns ready once Paper accepts logins
+   * rather than as soon as the JVM starts.
+   */
+  private static Probe createReadinessProbe() {
+    return new ProbeBuilder()
+            .withNewExec()
+            .withCommand("mc-health")
+            .endExec()
+            .withInitialDelaySeconds(ServerData.READINESS_INITIAL_DELAY_SECONDS)
+            .withPeriodSeconds(ServerData.READINESS_PERIOD_SECONDS)
+            .withTimeoutSeconds(ServerData.READINESS_TIMEOUT_SECONDS)
+            .withFailureThreshold(3)
+            .build();
   }
 
   private List<Pod> getPods(MinecraftServerGroup resource) {
-    List<Pod> pods = kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace())
+    List<Pod> pods = KubernetesApiMetrics.record("pods.list", () -> kubernetesClient.pods().inNamespace(resource.getMetadata().getNamespace())
             .withLabel(ServerData.LABEL_GROUP, resource.getMetadata().getName())
-            .list().getItems();
+            .list().getItems());
     log.info("Found {} pods for MinecraftServerGroup: {}", pods.size(), resource.getMetadata().getName());
     return pods;
   }
@@ -127,7 +520,8 @@ public class ServerPodUtil {
   private List<Container> createInitContainers(MinecraftServerGroup resource) {
     Container initContainer = new ContainerBuilder()
             .withName("init-copy-config")
-            .withImage(ServerData.INIT_IMAGE)
+            .withImage(imageDigests.resolve(ServerData.INIT_IMAGE))
+            .withImagePullPolicy(imageDigests.getPullPolicy(ServerData.INIT_IMAGE))
             .withVolumeMounts(
                     new VolumeMountBuilder()
                             .withName("volume")
@@ -145,26 +539,53 @@ public class ServerPodUtil {
   }
 
 
-  private List<Container> createMinecraftContainers(MinecraftServerGroup resource) {
+  private List<Container> createMinecraftContainers(MinecraftServerGroup resource, boolean cacheHit) {
     final MinecraftServerGroupSpec spec = resource.getSpec();
+    final List<EnvVar> env = new ArrayList<>(List.of(
+            new EnvVar("EULA", spec.getEula() != null ? spec.getEula().toString() : "false", null),
+            new EnvVar("ONLINE_MODE", "false", null),
+            new EnvVar("VERSION", spec.getVersion() != null ? spec.getVersion() : "LATEST", null)
+    ));
+    final List<VolumeMount> volumeMounts = new ArrayList<>(List.of(
+            new VolumeMountBuilder()
+                    .withName("volume")
+                    .withMountPath("/data")
+                    .withReadOnly(false)
+                    .build()
+    ));
+    if (cacheHit) {
+      // jar and plugins were linked from the artifact cache by the init container
+      env.add(new EnvVar("TYPE", "CUSTOM", null));
+      env.add(new EnvVar("CUSTOM_SERVER", "/data/server.jar", null));
+      volumeMounts.add(ServerArtifactCacheUtil.createCacheVolumeMount());
+    } else {
+      env.add(new EnvVar("TYPE", ServerData.SERVER_TYPE, null));
+      if (spec.getPlugins() != null && !spec.getPlugins().isEmpty()) {
+        env.add(new EnvVar("PLUGINS", String.join(",", spec.getPlugins()), null));
+      }
+    }
+    env.addAll(ServerJvmProfile.of(spec).toEnv(spec));
+    env.addAll(ServerPregenUtil.createEnv(resource));
+    if (ResourceUtil.isRconEnabled(spec)) {
+      env.add(new EnvVar("ENABLE_RCON", "true", null));
+      env.add(new EnvVar("RCON_PASSWORD", spec.getRconPassword(), null));
+      env.add(new EnvVar("RCON_PORT", String.valueOf(ResourceUtil.getRconPort(spec)), null));
+    } else {
+      env.add(new EnvVar("ENABLE_RCON", "false", null));
+    }
+    if (ServerData.LOAD_SOURCE_QUERY.equalsIgnoreCase(spec.getLoadSource())) {
+      env.add(new EnvVar("ENABLE_QUERY", "true", null));
+      env.add(new EnvVar("QUERY_PORT", String.valueOf(ServerData.QUERY_PORT), null));
+    }
     final Container container = new ContainerBuilder()
             .withName("minecraft")
-            .withImage(ServerData.SERVER_IMAGE)
-            .withEnv(
-                    new EnvVar("TYPE", "PAPER", null),
-                    new EnvVar("EULA", spec.getEula() != null ? spec.getEula().toString() : "false", null),
-                    new EnvVar("ONLINE_MODE", "false", null),
-                    new EnvVar("VERSION", spec.getVersion() != null ? spec.getVersion() : "LATEST", null)
-            )
-            .withPorts(new ContainerPortBuilder().withContainerPort(25565).build())
-            .withVolumeMounts(
-                    new VolumeMountBuilder()
-                            .withName("volume")
-                            .withMountPath("/data")
-                            .withReadOnly(false)
-                            .build()
-            )
-            .withNewResourcesLike(resource.getSpec().getResourceRequirements())
+            .withImage(imageDigests.resolve(ServerData.SERVER_IMAGE))
+            .withImagePullPolicy(imageDigests.getPullPolicy(ServerData.SERVER_IMAGE))
+            .withEnv(env)
+            .withPorts(new ContainerPortBuilder().withContainerPort(ServerData.SERVER_PORT).build())
+            .withReadinessProbe(createReadinessProbe())
+            .withVolumeMounts(volumeMounts)
+            .withNewResourcesLike(ServerPerformanceTier.of(spec).resources(spec.getResourceRequirements()))
             .endResources()
             .build();
 
@@ -0,0 +1,401 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupPregen;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load.ServerLoadSampler;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe.RconClient;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodCondition;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * World pre-generation with the Chunky plugin, driven over RCON once a pod passes its readiness probe. Until the
+ * pod's {@code mcks-pregen} annotation reads done (or timeout) it is kept out of the published pod IPs, so proxies
+ * only route to servers whose spawn area already exists. Pods that were already serving when pre-generation was
+ * enabled are marked skipped rather than pulled out of the pool. RCON runs on the load sampler's threads, never
+ * the reconciler's. With storage the first finished world is snapshotted; volumes seeded from that snapshot carry
+ * the generated radius and their pods skip the stage.
+ */
+@RequiredArgsConstructor
+public class ServerPregenUtil {
+  private static final Logger log = LoggerFactory.getLogger(ServerPregenUtil.class);
+  static final String SNAPSHOT_API_VERSION = "snapshot.storage.k8s.io/v1";
+  static final String SNAPSHOT_KIND = "VolumeSnapshot";
+  private static final Duration RCON_TIMEOUT = Duration.ofSeconds(2);
+  private static final int DEFAULT_VIEW_DISTANCE = 10;
+  private static final Pattern COLOR_CODES = Pattern.compile("§.");
+  private static final Pattern PERCENT = Pattern.compile("(\\d+(?:\\.\\d+)?)%");
+  private final KubernetesClient kubernetesClient;
+  private final ServerLoadSampler serverLoadSampler;
+
+  public static boolean isEnabled(MinecraftServerGroup resource) {
+    final MinecraftServerGroupPregen pregen = resource.getSpec().getPregen();
+    return pregen != null && Boolean.TRUE.equals(pregen.getEnabled()) && ResourceUtil.isRconEnabled(resource.getSpec());
+  }
+
+  /**
+   * Whether the pod still has to finish pre-generation before it may take players.
+   */
+  public static boolean isPending(MinecraftServerGroup resource, Pod pod) {
+    if (!isEnabled(resource)) {
+      return false;
+    }
+    final String state = getAnnotation(pod, ServerData.ANNOTATION_PREGEN);
+    if (state == null) {
+      return !isServingSinceEnabled(resource, pod);
+    }
+    return !ServerData.PREGEN_DONE.equals(state) && !ServerData.PREGEN_TIMEOUT.equals(state) && !ServerData.PREGEN_SKIPPED.equals(state);
+  }
+
+  /**
+   * Whether the pod was already ready before pre-generation was enabled on the group, so it has players to keep.
+   */
+  static boolean isServingSinceEnabled(MinecraftServerGroup resource, Pod pod) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    if (status == null || status.getPregenEnabledTime() == null || !ServerPodUtil.isReady(pod)) {
+      return false;
+    }
+    final Instant readySince = getReadySince(pod);
+    return readySince != null && readySince.isBefore(Instant.parse(status.getPregenEnabledTime()));
+  }
+
+  /**
+   * Radius in blocks: the spec value, else eight view distances, never beyond the world border.
+   */
+  public static int getRadius(MinecraftServerGroupSpec spec) {
+    final int viewDistance = spec.getViewDistance() != null ? spec.getViewDistance() : DEFAULT_VIEW_DISTANCE;
+    final int radius = spec.getPregen().getRadius() != null ? spec.getPregen().getRadius() : viewDistance * 16 * 8;
+    return spec.getMaxWorldSize() != null ? Math.min(radius, spec.getMaxWorldSize()) : radius;
+  }
+
+  /**
+   * One snapshot per group and radius, so a larger radius is generated and captured again.
+   */
+  public static String getSnapshotName(MinecraftServerGroup resource) {
+    return resource.getMetadata().getName() + "-pregen-" + getRadius(resource.getSpec());
+  }
+
+  /**
+   * The pre-generated snapshot new volumes can start from, or {@code null} while there is none ready.
+   */
+  public static String getSeedSnapshot(MinecraftServerGroup resource) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    if (!isEnabled(resource) || status == null || !Boolean.TRUE.equals(status.getPregenSnapshotReady())) {
+      return null;
+    }
+    return getSnapshotName(resource).equals(status.getPregenSnapshotName()) ? status.getPregenSnapshotName() : null;
+  }
+
+  /**
+   * Installs Chunky from Modrinth; the loader is pinned because artifact-cache pods run as a custom server type.
+   */
+  public static List<EnvVar> createEnv(MinecraftServerGroup resource) {
+    if (!isEnabled(resource)) {
+      return List.of();
+    }
+    return List.of(
+            new EnvVar("MODRINTH_PROJECTS", "chunky", null),
+            new EnvVar("MODRINTH_LOADER", "paper", null));
+  }
+
+  /**
+   * Whether a pod is still generating or the snapshot of a finished world is not ready yet; pods and snapshots
+   * send no event when Chunky makes progress, so the caller polls while this holds.
+   */
+  public static boolean isInProgress(MinecraftServerGroup resource, Collection<Pod> pods) {
+    if (!isEnabled(resource)) {
+      return false;
+    }
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    return pods.stream().anyMatch(pod -> isPending(resource, pod) && !ServerPodUtil.isDraining(pod))
+            || (status != null && status.getPregenSnapshotName() != null && !Boolean.TRUE.equals(status.getPregenSnapshotReady()));
+  }
+
+  /**
+   * Starts, polls and finishes pre-generation on every ready pod that still needs it, and snapshots the first
+   * finished world. The RCON steps are handed to the load sampler and land as pod annotations.
+   */
+  public void sync(MinecraftServerGroup resource, Collection<Pod> pods) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    if (!isEnabled(resource)) {
+      status.setPregenEnabledTime(null);
+      return;
+    }
+    if (status.getPregenEnabledTime() == null) {
+      status.setPregenEnabledTime(Instant.now().toString());
+    }
+    for (Pod pod : pods) {
+      if (ServerPodUtil.isDraining(pod) || !ServerPodUtil.isReady(pod)) {
+        continue;
+      }
+      if (getAnnotation(pod, ServerData.ANNOTATION_PREGEN) == null && isServingSinceEnabled(resource, pod)) {
+        // recorded on the pod so a later readiness flap does not pull a serving pod out of the pool
+        annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_SKIPPED));
+        continue;
+      }
+      if (!isPending(resource, pod)) {
+        continue;
+      }
+      final String podName = pod.getMetadata().getName();
+      serverLoadSampler.submit("pregen/" + pod.getMetadata().getNamespace() + "/" + podName, () -> {
+        try {
+          syncPod(resource, pod);
+        } catch (Exception e) {
+          log.warn("Pre-generation step failed on Pod {}: {}", podName, e.getMessage());
+        }
+      });
+    }
+    snapshotFinishedWorld(resource, pods);
+    syncSnapshot(resource);
+  }
+
+  private void syncPod(MinecraftServerGroup resource, Pod pod) throws IOException {
+    final MinecraftServerGroupSpec spec = resource.getSpec();
+    final int radius = getRadius(spec);
+    final String state = getAnnotation(pod, ServerData.ANNOTATION_PREGEN);
+    final Instant started = parseInstant(getAnnotation(pod, ServerData.ANNOTATION_PREGEN_STARTED));
+
+    if (state == null && getGeneratedRadius(resource, pod) >= radius) {
+      log.info("Pod {} starts from a world pre-generated to {} blocks", pod.getMetadata().getName(), radius);
+      annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_DONE, ServerData.ANNOTATION_PREGEN_SECONDS, "0"));
+      return;
+    }
+    final Instant since = started != null ? started : getReadySince(pod);
+    if (since != null && since.plusSeconds(spec.getPregen().getTimeoutSeconds()).isBefore(Instant.now())) {
+      log.warn("Pre-generation on Pod {} did not finish within {} s, letting it join anyway",
+              pod.getMetadata().getName(), spec.getPregen().getTimeoutSeconds());
+      annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_TIMEOUT));
+      return;
+    }
+
+    try (RconClient client = RconClient.connect(new InetSocketAddress(pod.getStatus().getPodIP(), ResourceUtil.getRconPort(spec)),
+            spec.getRconPassword(), RCON_TIMEOUT)) {
+      if (state == null || isRestartedSince(pod, started)) {
+        client.command("chunky world " + (spec.getLevel() != null ? spec.getLevel() : "world"));
+        client.command("chunky spawn");
+        client.command("chunky radius " + radius);
+        log.info("Starting pre-generation of {} blocks on Pod {}: {}", radius, pod.getMetadata().getName(),
+                stripColors(client.command("chunky start")));
+        annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_RUNNING,
+                ServerData.ANNOTATION_PREGEN_STARTED, Instant.now().toString(),
+                ServerData.ANNOTATION_PREGEN_PROGRESS, "0"));
+        return;
+      }
+      final String progress = stripColors(client.command("chunky progress"));
+      if (isIdle(progress)) {
+        client.command("save-all flush");
+        final long seconds = started == null ? 0 : Duration.between(started, Instant.now()).toSeconds();
+        log.info("Pre-generation on Pod {} finished after {} s", pod.getMetadata().getName(), seconds);
+        markGenerated(resource, pod, radius);
+        annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_DONE,
+                ServerData.ANNOTATION_PREGEN_PROGRESS, "100",
+                ServerData.ANNOTATION_PREGEN_SECONDS, String.valueOf(seconds)));
+        return;
+      }
+      final Double percent = parseProgress(progress);
+      if (percent != null && !String.valueOf(percent.intValue()).equals(getAnnotation(pod, ServerData.ANNOTATION_PREGEN_PROGRESS))) {
+        annotate(pod, Map.of(ServerData.ANNOTATION_PREGEN_PROGRESS, String.valueOf(percent.intValue())));
+      }
+    }
+  }
+
+  /**
+   * Records the generated radius on the pod's volume, before the pod reads done, so the snapshot taken from it
+   * and volumes seeded from that snapshot know what they carry.
+   */
+  private void markGenerated(MinecraftServerGroup resource, Pod pod, int radius) {
+    final String claimName = getClaimName(resource, pod);
+    if (claimName == null) {
+      return;
+    }
+    KubernetesApiMetrics.record("persistentvolumeclaims.edit", () -> kubernetesClient.persistentVolumeClaims()
+            .inNamespace(resource.getMetadata().getNamespace())
+            .withName(claimName)
+            .edit(claim -> new PersistentVolumeClaimBuilder(claim).editMetadata()
+                    .addToAnnotations(ServerData.ANNOTATION_PREGEN_RADIUS, String.valueOf(radius))
+                    .endMetadata()
+                    .build()));
+  }
+
+  /**
+   * Captures the volume of the first pod whose world is generated to the current radius for later volumes.
+   */
+  private void snapshotFinishedWorld(MinecraftServerGroup resource, Collection<Pod> pods) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    if (!Boolean.TRUE.equals(resource.getSpec().getPregen().getSnapshot()) || resource.getSpec().getStorage() == null
+            || resource.getSpec().getStorage().getSnapshotName() != null || getSnapshotName(resource).equals(status.getPregenSnapshotName())) {
+      return;
+    }
+    final int radius = getRadius(resource.getSpec());
+    final String claimName = pods.stream()
+            .filter(pod -> ServerData.PREGEN_DONE.equals(getAnnotation(pod, ServerData.ANNOTATION_PREGEN)))
+            .filter(pod -> getGeneratedRadius(resource, pod) >= radius)
+            .map(pod -> getClaimName(resource, pod))
+            .findFirst()
+            .orElse(null);
+    if (claimName == null) {
+      return;
+    }
+    final Map<String, Object> spec = new HashMap<>(Map.of("source", Map.of("persistentVolumeClaimName", claimName)));
+    if (resource.getSpec().getPregen().getVolumeSnapshotClassName() != null) {
+      spec.put("volumeSnapshotClassName", resource.getSpec().getPregen().getVolumeSnapshotClassName());
+    }
+    final GenericKubernetesResource snapshot = new GenericKubernetesResourceBuilder()
+            .withApiVersion(SNAPSHOT_API_VERSION)
+            .withKind(SNAPSHOT_KIND)
+            .withNewMetadata()
+            .withName(getSnapshotName(resource))
+            .withNamespace(resource.getMetadata().getNamespace())
+            .withLabels(ResourceUtil.createLabels(resource, -1))
+            .addToAnnotations(ServerData.ANNOTATION_PREGEN_RADIUS, String.valueOf(radius))
+            .endMetadata()
+            .addToAdditionalProperties("spec", spec)
+            .build();
+    final var snapshots = kubernetesClient.genericKubernetesResources(SNAPSHOT_API_VERSION, SNAPSHOT_KIND)
+            .inNamespace(resource.getMetadata().getNamespace());
+    if (KubernetesApiMetrics.record("volumesnapshots.get", () -> snapshots.withName(snapshot.getMetadata().getName()).get()) == null) {
+      log.info("Snapshotting pre-generated volume {} as {}", claimName, snapshot.getMetadata().getName());
+      KubernetesApiMetrics.record("volumesnapshots.create", () -> snapshots.resource(snapshot).create());
+    }
+    status.setPregenSnapshotName(snapshot.getMetadata().getName());
+    status.setPregenSnapshotReady(false);
+  }
+
+  /**
+   * Follows {@code readyToUse} of the snapshot taken for the current radius.
+   */
+  private void syncSnapshot(MinecraftServerGroup resource) {
+    final MinecraftServerGroupStatus status = resource.getStatus();
+    if (status == null || status.getPregenSnapshotName() == null || Boolean.TRUE.equals(status.getPregenSnapshotReady())) {
+      return;
+    }
+    final GenericKubernetesResource snapshot = KubernetesApiMetrics.record("volumesnapshots.get",
+            () -> kubernetesClient.genericKubernetesResources(SNAPSHOT_API_VERSION, SNAPSHOT_KIND)
+                    .inNamespace(resource.getMetadata().getNamespace())
+                    .withName(status.getPregenSnapshotName())
+                    .get());
+    if (snapshot == null) {
+      status.setPregenSnapshotName(null);
+      status.setPregenSnapshotReady(null);
+      return;
+    }
+    status.setPregenSnapshotReady(Boolean.TRUE.equals(snapshot.get("status", "readyToUse")));
+  }
+
+  public static void updateStatus(MinecraftServerGroup resource, MinecraftServerGroupStatus status, Collection<Pod> pods) {
+    if (!isEnabled(resource)) {
+      status.setPregenProgress(new TreeMap<>());
+      status.setPregenSeconds(new TreeMap<>());
+      return;
+    }
+    status.setPregenProgress(pods.stream()
+            .filter(pod -> ServerData.PREGEN_RUNNING.equals(getAnnotation(pod, ServerData.ANNOTATION_PREGEN)))
+            .filter(pod -> getAnnotation(pod, ServerData.ANNOTATION_PREGEN_PROGRESS) != null)
+            .collect(Collectors.toMap(pod -> pod.getMetadata().getName(),
+                    pod -> Integer.parseInt(getAnnotation(pod, ServerData.ANNOTATION_PREGEN_PROGRESS)), (a, b) -> a, TreeMap::new)));
+    status.setPregenSeconds(pods.stream()
+            .filter(pod -> getAnnotation(pod, ServerData.ANNOTATION_PREGEN_SECONDS) != null)
+            .collect(Collectors.toMap(pod -> pod.getMetadata().getName(),
+                    pod -> Long.parseLong(getAnnotation(pod, ServerData.ANNOTATION_PREGEN_SECONDS)), (a, b) -> a, TreeMap::new)));
+  }
+
+  /**
+   * Chunky answers {@code chunky progress} with e.g. {@code Task running for world. Processed: 1200 chunks (12.34%), ...}.
+   */
+  static Double parseProgress(String response) {
+    final Matcher matcher = PERCENT.matcher(stripColors(response));
+    return matcher.find() ? Double.parseDouble(matcher.group(1)) : null;
+  }
+
+  static boolean isIdle(String response) {
+    return stripColors(response).toLowerCase().contains("no tasks running");
+  }
+
+  /**
+   * Radius recorded on the pod's volume by an earlier pre-generation or copied from the seed snapshot.
+   */
+  private int getGeneratedRadius(MinecraftServerGroup resource, Pod pod) {
+    final String claimName = getClaimName(resource, pod);
+    if (claimName == null) {
+      return 0;
+    }
+    final PersistentVolumeClaim claim = KubernetesApiMetrics.record("persistentvolumeclaims.get",
+            () -> kubernetesClient.persistentVolumeClaims().inNamespace(resource.getMetadata().getNamespace()).withName(claimName).get());
+    final String radius = claim == null || claim.getMetadata().getAnnotations() == null ? null
+            : claim.getMetadata().getAnnotations().get(ServerData.ANNOTATION_PREGEN_RADIUS);
+    return radius == null ? 0 : Integer.parseInt(radius);
+  }
+
+  private static String getClaimName(MinecraftServerGroup resource, Pod pod) {
+    final String index = pod.getMetadata().getLabels() == null ? null : pod.getMetadata().getLabels().get("pod-index");
+    return resource.getSpec().getStorage() == null || index == null ? null : ResourceUtil.getClaimName(resource, Integer.parseInt(index));
+  }
+
+  /**
+   * A server restart drops the running Chunky task, so it is started again.
+   */
+  private static boolean isRestartedSince(Pod pod, Instant started) {
+    if (started == null || pod.getStatus().getContainerStatuses() == null) {
+      return false;
+    }
+    return pod.getStatus().getContainerStatuses().stream()
+            .filter(status -> status.getState() != null && status.getState().getRunning() != null)
+            .map(status -> parseInstant(status.getState().getRunning().getStartedAt()))
+            .anyMatch(containerStarted -> containerStarted != null && containerStarted.isAfter(started));
+  }
+
+  private static Instant getReadySince(Pod pod) {
+    return pod.getStatus().getConditions() == null ? null : pod.getStatus().getConditions().stream()
+            .filter(condition -> "Ready".equals(condition.getType()))
+            .map(PodCondition::getLastTransitionTime)
+            .filter(Objects::nonNull)
+            .map(ServerPregenUtil::parseInstant)
+            .findFirst()
+            .orElse(null);
+  }
+
+  private void annotate(Pod pod, Map<String, String> annotations) {
+    KubernetesApiMetrics.record("pods.edit", () -> kubernetesClient.pods().inNamespace(pod.getMetadata().getNamespace())
+            .withName(pod.getMetadata().getName())
+            .edit(current -> new PodBuilder(current).editMetadata().addToAnnotations(annotations).endMetadata().build()));
+  }
+
+  private static String getAnnotation(Pod pod, String annotation) {
+    return pod.getMetadata().getAnnotations() == null ? null : pod.getMetadata().getAnnotations().get(annotation);
+  }
+
+  private static Instant parseInstant(String timestamp) {
+    return timestamp == null ? null : Instant.parse(timestamp);
+  }
+
+  private static String stripColors(String text) {
+    return COLOR_CODES.matcher(text).replaceAll("");
+  }
+}
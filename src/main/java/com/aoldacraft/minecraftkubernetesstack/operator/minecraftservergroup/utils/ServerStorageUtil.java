@@ -0,0 +1,137 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.KubernetesApiMetrics;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStorage;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.EmptyDirVolumeSource;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-index data volumes for server pods. With {@code spec.storage} each pod index gets its own PVC that
+ * outlives the pod, so restarts and spec changes keep the world and the downloaded server jar.
+ */
+@RequiredArgsConstructor
+public class ServerStorageUtil {
+  private static final Logger log = LoggerFactory.getLogger(ServerStorageUtil.class);
+  private final KubernetesClient kubernetesClient;
+
+  /**
+   * What to do about the data volume of one pod index.
+   *
+   * @param claim     the claim to create, or {@code null} when the index needs none
+   * @param startKind how the pod on this index will start
+   */
+  record VolumeStep(PersistentVolumeClaim claim, String startKind) {
+  }
+
+  /**
+   * Makes sure the data volume for the given index exists.
+   *
+   * @return how the pod on this index will start: {@code cold}, {@code warm} from its own volume,
+   * or {@code snapshot} when seeded from {@code storage.snapshotName} or the group's pre-generated world
+   */
+  public String ensureVolume(MinecraftServerGroup resource, int index) {
+    if (resource.getSpec().getStorage() == null) {
+      return ServerData.START_COLD;
+    }
+    final String namespace = resource.getMetadata().getNamespace();
+    final String claimName = ResourceUtil.getClaimName(resource, index);
+    final PersistentVolumeClaim existing = KubernetesApiMetrics.record("persistentvolumeclaims.get",
+            () -> kubernetesClient.persistentVolumeClaims().inNamespace(namespace).withName(claimName).get());
+    final VolumeStep step = planVolume(resource, index, existing);
+    if (step.claim() != null) {
+      log.info("Creating PersistentVolumeClaim: {} in namespace: {}", claimName, namespace);
+      KubernetesApiMetrics.record("persistentvolumeclaims.create",
+              () -> kubernetesClient.persistentVolumeClaims().inNamespace(namespace).resource(step.claim()).create());
+    }
+    return step.startKind();
+  }
+
+  /**
+   * Decides the data volume for the given index from the claim already bound to it, if any.
+   */
+  static VolumeStep planVolume(MinecraftServerGroup resource, int index, PersistentVolumeClaim existing) {
+    final MinecraftServerGroupStorage storage = resource.getSpec().getStorage();
+    if (storage == null) {
+      return new VolumeStep(null, ServerData.START_COLD);
+    }
+    if (existing != null) {
+      return new VolumeStep(null, ServerData.START_WARM);
+    }
+    final String pregenSnapshot = storage.getSnapshotName() == null ? ServerPregenUtil.getSeedSnapshot(resource) : null;
+    final String snapshotName = storage.getSnapshotName() != null ? storage.getSnapshotName() : pregenSnapshot;
+    final PersistentVolumeClaimBuilder builder = new PersistentVolumeClaimBuilder()
+            .withNewMetadata()
+            .withName(ResourceUtil.getClaimName(resource, index))
+            .withNamespace(resource.getMetadata().getNamespace())
+            .withLabels(ResourceUtil.createLabels(resource, index))
+            .endMetadata()
+            .withNewSpec()
+            .withAccessModes("ReadWriteOnce")
+            .withStorageClassName(storage.getStorageClassName())
+            .withNewResources()
+            .addToRequests("storage", new Quantity(storage.getSize()))
+            .endResources()
+            .endSpec();
+    if (snapshotName != null) {
+      builder.editSpec()
+              .withNewDataSource()
+              .withApiGroup("snapshot.storage.k8s.io")
+              .withKind(ServerPregenUtil.SNAPSHOT_KIND)
+              .withName(snapshotName)
+              .endDataSource()
+              .endSpec();
+    }
+    if (pregenSnapshot != null) {
+      // the seed already holds the generated spawn area, so pods on this volume skip pre-generation
+      builder.editMetadata()
+              .addToAnnotations(ServerData.ANNOTATION_PREGEN_RADIUS, String.valueOf(ServerPregenUtil.getRadius(resource.getSpec())))
+              .endMetadata();
+    }
+    return new VolumeStep(builder.build(), snapshotName != null ? ServerData.START_SNAPSHOT : ServerData.START_COLD);
+  }
+
+  public Volume createDataVolume(MinecraftServerGroup resource, int index) {
+    if (resource.getSpec().getStorage() == null) {
+      return new VolumeBuilder()
+              .withName("volume")
+              .withEmptyDir(new EmptyDirVolumeSource())
+              .build();
+    }
+    return new VolumeBuilder()
+            .withName("volume")
+            .withNewPersistentVolumeClaim()
+            .withClaimName(ResourceUtil.getClaimName(resource, index))
+            .endPersistentVolumeClaim()
+            .build();
+  }
+
+  public void delete(MinecraftServerGroup resource) {
+    final MinecraftServerGroupStorage storage = resource.getSpec().getStorage();
+    if (storage == null || !Boolean.TRUE.equals(storage.getDeleteWithGroup())) {
+      return;
+    }
+    KubernetesApiMetrics.record("persistentvolumeclaims.delete", () -> kubernetesClient.persistentVolumeClaims()
+            .inNamespace(resource.getMetadata().getNamespace())
+            .withLabel(ServerData.LABEL_GROUP, resource.getMetadata().getName())
+            .delete());
+    log.info("Deleted PersistentVolumeClaims for MinecraftServerGroup: {}", resource.getMetadata().getName());
+    if (resource.getSpec().getPregen() != null) {
+      KubernetesApiMetrics.record("volumesnapshots.delete", () -> kubernetesClient
+              .genericKubernetesResources(ServerPregenUtil.SNAPSHOT_API_VERSION, ServerPregenUtil.SNAPSHOT_KIND)
+              .inNamespace(resource.getMetadata().getNamespace())
+              .withLabel(ServerData.LABEL_GROUP, resource.getMetadata().getName())
+              .delete());
+      log.info("Deleted pre-generated VolumeSnapshots for MinecraftServerGroup: {}", resource.getMetadata().getName());
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.prepull;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.node.dto.NodePrePullStateDto;
+import com.aoldacraft.minecraftkubernetesstack.domain.node.services.NodePrePullStateProvider;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.DaemonSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the server, init and proxy images warm on every eligible node through a DaemonSet whose init
+ * containers pull them, and pins each image to the digest the nodes actually pulled. The template is
+ * re-rolled once per refresh interval so moving tags such as {@code latest} are picked up. A pull container
+ * only has to exit, so it runs a static busybox copied into a shared volume rather than anything the pulled
+ * image ships, which may have no shell at all.
+ */
+public class ImagePrePuller implements NodePrePullStateProvider {
+  private static final Logger log = LoggerFactory.getLogger(ImagePrePuller.class);
+  private static final String NAME = "mcks-image-prepuller";
+  private static final String LABEL_APP = "app";
+  private static final String ANNOTATION_SPEC = "mcks-prepull-spec";
+  private static final String PAUSE_IMAGE = "registry.k8s.io/pause:3.9";
+  private static final String TOOLS_IMAGE = "busybox:1.36-musl";
+  private static final String TOOLS_VOLUME = "prepull-tools";
+  private static final String TOOLS_PATH = "/mcks-prepull";
+  private static final String PULLER_PREFIX = "pull-";
+
+  private final KubernetesClient kubernetesClient;
+  private final ImageDigests imageDigests;
+  private final String namespace;
+  private final List<String> images;
+  private final Map<String, String> nodeSelector;
+  private final Duration interval;
+  private final Duration refreshInterval;
+  private final ScheduledExecutorService scheduler =
+          Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("image-prepuller").factory());
+  private volatile List<NodePrePullStateDto> nodeStates = List.of();
+
+  public ImagePrePuller(KubernetesClient kubernetesClient, ImageDigests imageDigests, String namespace, List<String> images,
+                        Map<String, String> nodeSelector, Duration interval, Duration refreshInterval) {
+    this.kubernetesClient = kubernetesClient;
+    this.imageDigests = imageDigests;
+    this.namespace = namespace;
+    this.images = List.copyOf(images);
+    this.nodeSelector = Map.copyOf(nodeSelector);
+    this.interval = interval;
+    this.refreshInterval = refreshInterval;
+  }
+
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::sync, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public List<NodePrePullStateDto> getNodePrePullStates() {
+    return nodeStates;
+  }
+
+  void sync() {
+    try {
+      ensureDaemonSet();
+      final List<Pod> pods = kubernetesClient.pods().inNamespace(namespace).withLabel(LABEL_APP, NAME).list().getItems();
+      pinDigests(pods);
+      nodeStates = pods.stream()
+              .filter(pod -> pod.getSpec().getNodeName() != null)
+              .map(this::toNodeState)
+              .sorted(Comparator.comparing(NodePrePullStateDto::getNodeName))
+              .toList();
+    } catch (Exception e) {
+      log.error("Error while syncing image pre-puller", e);
+    }
+  }
+
+  private void ensureDaemonSet() {
+    final String spec = images + "|" + nodeSelector + "|" + Instant.now().getEpochSecond() / refreshInterval.toSeconds();
+    final DaemonSet current = kubernetesClient.apps().daemonSets().inNamespace(namespace).withName(NAME).get();
+    if (current != null && current.getMetadata().getAnnotations() != null
+            && spec.equals(current.getMetadata().getAnnotations().get(ANNOTATION_SPEC))) {
+      return;
+    }
+
+    final List<Container> pullers = new ArrayList<>();
+    pullers.add(new ContainerBuilder()
+            .withName("install-tools")
+            .withImage(TOOLS_IMAGE)
+            .withCommand("/bin/cp", "/bin/busybox", TOOLS_PATH + "/busybox")
+            .addNewVolumeMount().withName(TOOLS_VOLUME).withMountPath(TOOLS_PATH).endVolumeMount()
+            .build());
+    for (int i = 0; i < images.size(); i++) {
+      pullers.add(new ContainerBuilder()
+              .withName(PULLER_PREFIX + i)
+              .withImage(images.get(i))
+              .withImagePullPolicy("Always")
+              .withCommand(TOOLS_PATH + "/busybox", "true")
+              .addNewVolumeMount().withName(TOOLS_VOLUME).withMountPath(TOOLS_PATH).withReadOnly(true).endVolumeMount()
+              .build());
+    }
+    final DaemonSet daemonSet = new DaemonSetBuilder()
+            .withNewMetadata()
+            .withName(NAME)
+            .withNamespace(namespace)
+            .addToLabels(LABEL_APP, NAME)
+            .addToAnnotations(ANNOTATION_SPEC, spec)
+            .endMetadata()
+            .withNewSpec()
+            .withNewSelector()
+            .addToMatchLabels(LABEL_APP, NAME)
+            .endSelector()
+            .withNewTemplate()
+            .withNewMetadata()
+            .addToLabels(LABEL_APP, NAME)
+            .addToAnnotations(ANNOTATION_SPEC, spec)
+            .endMetadata()
+            .withNewSpec()
+            .withNodeSelector(nodeSelector)
+            .addNewVolume().withName(TOOLS_VOLUME).withNewEmptyDir().endEmptyDir().endVolume()
+            .withInitContainers(pullers)
+            .addNewContainer()
+            .withName("pause")
+            .withImage(PAUSE_IMAGE)
+            .withNewResources()
+            .addToRequests("cpu", new Quantity("1m"))
+            .addToRequests("memory", new Quantity("8Mi"))
+            .endResources()
+            .endContainer()
+            .endSpec()
+            .endTemplate()
+            .endSpec()
+            .build();
+    log.info("Applying image pre-puller DaemonSet in namespace: {}", namespace);
+    kubernetesClient.apps().daemonSets().inNamespace(namespace).resource(daemonSet).forceConflicts().serverSideApply();
+  }
+
+  /**
+   * Pins every image to the digest most of the finished nodes pulled, so that new pods land on an image
+   * that is already present almost everywhere.
+   */
+  private void pinDigests(Collection<Pod> pods) {
+    final Map<String, Map<String, Long>> digestCounts = new HashMap<>();
+    pods.stream()
+            .filter(ImagePrePuller::isReady)
+            .forEach(pod -> getPulledImages(pod).forEach((image, reference) ->
+                    digestCounts.computeIfAbsent(image, key -> new HashMap<>()).merge(reference, 1L, Long::sum)));
+    digestCounts.forEach((image, counts) -> counts.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .filter(reference -> !reference.equals(imageDigests.getPinned().get(image)))
+            .ifPresent(reference -> {
+              log.info("Pinning image {} to {}", image, reference);
+              imageDigests.pin(image, reference);
+            }));
+  }
+
+  private NodePrePullStateDto toNodeState(Pod pod) {
+    final Map<String, String> pulled = getPulledImages(pod);
+    final Map<String, String> pinned = imageDigests.getPinned();
+    return NodePrePullStateDto.builder()
+            .nodeName(pod.getSpec().getNodeName())
+            .ready(isReady(pod))
+            .pinned(isReady(pod) && images.stream().allMatch(image -> Objects.equals(pinned.get(image), pulled.get(image))))
+            .images(new TreeMap<>(pulled))
+            .build();
+  }
+
+  /**
+   * All pull init containers have run to completion, so every image is on the node.
+   */
+  private static boolean isReady(Pod pod) {
+    final List<ContainerStatus> statuses = pod.getStatus() == null ? null : pod.getStatus().getInitContainerStatuses();
+    return statuses != null && !statuses.isEmpty() && statuses.stream().allMatch(status -> status.getState() != null
+            && status.getState().getTerminated() != null
+            && Integer.valueOf(0).equals(status.getState().getTerminated().getExitCode()));
+  }
+
+  /**
+   * Image as configured mapped to the digest reference the node resolved it to.
+   */
+  private static Map<String, String> getPulledImages(Pod pod) {
+    if (pod.getStatus() == null || pod.getStatus().getInitContainerStatuses() == null) {
+      return Map.of();
+    }
+    final Map<String, String> imagesByContainer = pod.getSpec().getInitContainers().stream()
+            .filter(container -> container.getName().startsWith(PULLER_PREFIX))
+            .collect(Collectors.toMap(Container::getName, Container::getImage));
+    final Map<String, String> pulled = new HashMap<>();
+    for (ContainerStatus status : pod.getStatus().getInitContainerStatuses()) {
+      final String image = imagesByContainer.get(status.getName());
+      final String reference = image == null ? null : ImageDigests.toDigestReference(image, status.getImageID());
+      if (reference != null) {
+        pulled.put(image, reference);
+      }
+    }
+    return pulled;
+  }
+}
@@ -1,19 +1,46 @@
 package com.aoldacraft.minecraftkubernetesstack.util;
 
+import com.aoldacraft.minecraftkubernetesstack.operator.common.Traces;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 @Getter
 @Component
 public class SseEmitterHandler {
+    private static final long RECONNECT_TIME = 5000;
+
     private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
     private final Logger log = LoggerFactory.getLogger(SseEmitterHandler.class);
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> publishTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> sentBytes = new ConcurrentHashMap<>();
+
+    public SseEmitterHandler(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mcks.sse.subscribers", emitters, List::size)
+                .description("Connected SSE subscribers")
+                .register(meterRegistry);
+    }
 
     public SseEmitter add(SseEmitter emitter) {
         log.info("Adding new SseEmitter: {}", emitter);
@@ -34,4 +61,67 @@ public class SseEmitterHandler {
         return emitter;
     }
 
+    /**
+     * Sends one event to a single subscriber, e.g. the initial state right after it connected.
+     */
+    public void send(SseEmitter emitter, String name, Object data) throws IOException {
+        final long start = System.nanoTime();
+        final String payload = serialize(data);
+        emitter.send(event(name, payload));
+        record(name, start, payload, 1);
+    }
+
+    /**
+     * Sends one event to every subscriber. The payload is serialized once for the whole fan-out; a subscriber
+     * whose connection is gone is dropped instead of failing the publish for everyone else.
+     */
+    public void broadcast(String name, Object data) {
+        Traces.run("sse publish", Map.of("event", name), () -> {
+            final long start = System.nanoTime();
+            final String payload = serialize(data);
+            int sent = 0;
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(event(name, payload));
+                    sent++;
+                } catch (IOException | IllegalStateException e) {
+                    log.warn("Dropping SseEmitter {} after failed send: {}", emitter, e.getMessage());
+                    emitters.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+            Traces.tag("subscribers", String.valueOf(sent));
+            record(name, start, payload, sent);
+        });
+    }
+
+    private String serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize SSE payload", e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(String name, String payload) {
+        return SseEmitter.event()
+                .name(name)
+                .data(payload, MediaType.APPLICATION_JSON)
+                .reconnectTime(RECONNECT_TIME);
+    }
+
+    private void record(String name, long start, String payload, int subscribers) {
+        publishTimers.computeIfAbsent(name, event -> Timer.builder("mcks.sse.publish")
+                        .description("Time to send an event to all subscribers")
+                        .tag("event", event)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        sentBytes.computeIfAbsent(name, event -> DistributionSummary.builder("mcks.sse.sent")
+                        .description("Payload bytes sent per publish, across all subscribers")
+                        .baseUnit("bytes")
+                        .tag("event", event)
+                        .register(meterRegistry))
+                .record((double) payload.getBytes(StandardCharsets.UTF_8).length * subscribers);
+    }
 }
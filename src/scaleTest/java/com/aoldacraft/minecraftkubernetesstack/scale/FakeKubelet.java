@@ -0,0 +1,87 @@
+package com.aoldacraft.minecraftkubernetesstack.scale;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for the kubelet on the mock API server: every pod the operator creates is reported Running and
+ * Ready with its own pod IP, so groups and proxies converge without a cluster.
+ */
+class FakeKubelet implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(FakeKubelet.class);
+
+  private final KubernetesClient client;
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+  private final AtomicInteger nextIp = new AtomicInteger();
+  private SharedIndexInformer<Pod> informer;
+
+  FakeKubelet(KubernetesClient client) {
+    this.client = client;
+  }
+
+  void start(String namespace) {
+    informer = client.pods().inNamespace(namespace).inform(new ResourceEventHandler<>() {
+      @Override
+      public void onAdd(Pod pod) {
+        executor.execute(() -> markRunning(pod));
+      }
+
+      @Override
+      public void onUpdate(Pod oldPod, Pod pod) {
+        if (!isRunning(pod)) {
+          executor.execute(() -> markRunning(pod));
+        }
+      }
+
+      @Override
+      public void onDelete(Pod pod, boolean deletedFinalStateUnknown) {
+      }
+    });
+  }
+
+  private void markRunning(Pod pod) {
+    if (isRunning(pod) || pod.getMetadata().getDeletionTimestamp() != null) {
+      return;
+    }
+    final int ip = nextIp.incrementAndGet();
+    final String now = Instant.now().toString();
+    try {
+      client.pods().inNamespace(pod.getMetadata().getNamespace()).withName(pod.getMetadata().getName())
+              .editStatus(current -> {
+                current.setStatus(new PodStatusBuilder()
+                        .withPhase("Running")
+                        .withPodIP("10.%d.%d.%d".formatted((ip >> 16) & 255, (ip >> 8) & 255, ip & 255))
+                        .withStartTime(now)
+                        .addNewCondition().withType("Ready").withStatus("True").withLastTransitionTime(now).endCondition()
+                        .build());
+                return current;
+              });
+    } catch (KubernetesClientException e) {
+      // deleted or replaced by the operator in the meantime
+      log.debug("Could not start pod {}: {}", pod.getMetadata().getName(), e.getMessage());
+    }
+  }
+
+  private static boolean isRunning(Pod pod) {
+    return pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase());
+  }
+
+  @Override
+  public void close() {
+    if (informer != null) {
+      informer.close();
+    }
+    executor.shutdownNow();
+  }
+}
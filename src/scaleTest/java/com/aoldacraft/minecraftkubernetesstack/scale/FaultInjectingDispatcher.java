@@ -0,0 +1,78 @@
+package com.aoldacraft.minecraftkubernetesstack.scale;
+
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CRUD mock API server that delays every operator request and answers a share of them with 429, the way a
+ * loaded API server sheds requests under priority and fairness. Watches are neither delayed nor throttled, and
+ * requests sent with {@link #HARNESS_USER_AGENT} are passed through uncounted so the harness does not skew
+ * the report. Custom resources are served once their CRDs are created, with the status subresource they declare.
+ */
+class FaultInjectingDispatcher extends KubernetesCrudDispatcher {
+  static final String HARNESS_USER_AGENT = "mcks-scale-harness";
+  private static final String TOO_MANY_REQUESTS = """
+          {"kind":"Status","apiVersion":"v1","status":"Failure","reason":"TooManyRequests","code":429,\
+          "message":"injected by the scale harness"}""";
+
+  private final Duration latency;
+  private final double throttleRate;
+  private final Map<String, LongAdder> requestsByMethod = new ConcurrentHashMap<>();
+  private final LongAdder throttled = new LongAdder();
+
+  FaultInjectingDispatcher(Duration latency, double throttleRate) {
+    this.latency = latency;
+    this.throttleRate = throttleRate;
+  }
+
+  @Override
+  public MockResponse dispatch(RecordedRequest request) {
+    if (HARNESS_USER_AGENT.equals(request.getHeader("User-Agent")) || isWatch(request)) {
+      return super.dispatch(request);
+    }
+    requestsByMethod.computeIfAbsent(request.getMethod(), method -> new LongAdder()).increment();
+    sleep();
+    if (ThreadLocalRandom.current().nextDouble() < throttleRate) {
+      throttled.increment();
+      return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1").setBody(TOO_MANY_REQUESTS);
+    }
+    return super.dispatch(request);
+  }
+
+  long requests() {
+    return requestsByMethod.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  Map<String, Long> requestsByMethod() {
+    final Map<String, Long> snapshot = new TreeMap<>();
+    requestsByMethod.forEach((method, count) -> snapshot.put(method, count.sum()));
+    return snapshot;
+  }
+
+  long throttled() {
+    return throttled.sum();
+  }
+
+  private static boolean isWatch(RecordedRequest request) {
+    return request.getPath() != null && request.getPath().contains("watch=true");
+  }
+
+  private void sleep() {
+    if (latency.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(latency);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
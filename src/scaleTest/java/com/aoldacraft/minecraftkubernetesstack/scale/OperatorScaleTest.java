@@ -0,0 +1,286 @@
+package com.aoldacraft.minecraftkubernetesstack.scale;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.MinecraftGroupInfoService;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftproxy.services.MinecraftProxySettingsService;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReconcileScheduler;
+import com.aoldacraft.minecraftkubernetesstack.operator.config.OperatorConfig;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.InitFile;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ResourceUtil;
+import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.mockwebserver.Context;
+import io.javaoperatorsdk.operator.Operator;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the operator wired by {@link OperatorConfig} against a fabric8 mock API server with injected latency and
+ * 429s, creates and then scales thousands of server groups and proxies, and reports reconcile throughput,
+ * convergence time, API requests per reconcile and heap to {@code build/reports/scale/report.json}.
+ * <p>
+ * Run with {@code ./gradlew scaleTest}; sizes and faults are set with {@code -Dmcks.scale.*}, see the fields below.
+ * Load samplers are built but not started since the fake pod IPs have nothing to ping, and the server config
+ * ConfigMaps are seeded so no default configs are downloaded.
+ */
+@Tag("scale")
+class OperatorScaleTest {
+  private static final Logger log = LoggerFactory.getLogger(OperatorScaleTest.class);
+  private static final String NAMESPACE = "default";
+  private static final List<String> CRDS = List.of(
+          "/crd/minecraftservergroups.aoldacraft.com-v1.yml", "/crd/minecraftproxies.aoldacraft.com-v1.yml");
+
+  private final int groups = Integer.getInteger("mcks.scale.groups", 2000);
+  private final int groupReplicas = Integer.getInteger("mcks.scale.group-replicas", 2);
+  private final int proxies = Integer.getInteger("mcks.scale.proxies", 100);
+  private final int proxyReplicas = Integer.getInteger("mcks.scale.proxy-replicas", 2);
+  private final double mutateFraction = Double.parseDouble(System.getProperty("mcks.scale.mutate-fraction", "0.25"));
+  private final Duration latency = Duration.ofMillis(Long.getLong("mcks.scale.latency-ms", 5));
+  private final double throttleRate = Double.parseDouble(System.getProperty("mcks.scale.throttle-rate", "0.01"));
+  private final int permits = Integer.getInteger("mcks.scale.permits", 16);
+  private final Duration timeout = Duration.ofSeconds(Long.getLong("mcks.scale.timeout-seconds", 900));
+  private final Path reportFile = Path.of(System.getProperty("mcks.scale.report", "build/reports/scale/report.json"));
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  record Phase(String name, int resources, double convergenceSeconds, long reconciles, double reconcilesPerSecond,
+               long apiRequests, double apiRequestsPerReconcile, Map<String, Long> apiRequestsByMethod,
+               long throttled, long heapUsedMb) {
+  }
+
+  @Test
+  void convergesAtScale() throws IOException {
+    final FaultInjectingDispatcher dispatcher = new FaultInjectingDispatcher(latency, throttleRate);
+    final KubernetesMockServer server = new KubernetesMockServer(new Context(), new MockWebServer(), new HashMap<>(), dispatcher, false);
+    server.init();
+    Metrics.addRegistry(registry);
+    try (KubernetesClient operatorClient = server.createClient();
+         KubernetesClient harnessClient = new KubernetesClientBuilder().withConfig(new ConfigBuilder(operatorClient.getConfiguration())
+                 .withUserAgent(FaultInjectingDispatcher.HARNESS_USER_AGENT).build()).build();
+         FakeKubelet kubelet = new FakeKubelet(harnessClient)) {
+      for (String crd : CRDS) {
+        harnessClient.apiextensions().v1().customResourceDefinitions().load(resource(crd)).create();
+      }
+      seedConfigMaps(harnessClient);
+      kubelet.start(NAMESPACE);
+      final Operator operator = startOperator(operatorClient);
+      final List<Phase> phases = new ArrayList<>();
+      try {
+        phases.add(measure("create", dispatcher, harnessClient, () -> create(harnessClient)));
+        phases.add(measure("scale", dispatcher, harnessClient, () -> scale(harnessClient)));
+      } finally {
+        operator.stop();
+        Metrics.removeRegistry(registry);
+        server.destroy();
+      }
+      report(phases);
+    }
+  }
+
+  private Operator startOperator(KubernetesClient client) {
+    final SseEmitterHandler sseEmitterHandler = new SseEmitterHandler(new ObjectMapper(), registry);
+    final OperatorConfig config = new OperatorConfig(new MinecraftGroupInfoService(client, sseEmitterHandler),
+            new MinecraftProxySettingsService(client, sseEmitterHandler), client, registry);
+    final ReconcileScheduler scheduler = config.reconcileScheduler(permits, Duration.ofSeconds(1), Duration.ofSeconds(30));
+    final ImageDigests imageDigests = config.imageDigests();
+    final Operator operator = config.operator(List.of(
+            config.minecraftServerGroupController(scheduler, config.serverLoadSampler(Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofMinutes(2), 32), imageDigests),
+            config.minecraftProxyOperator(scheduler, config.proxyLoadSampler(Duration.ofSeconds(15), Duration.ofSeconds(2), Duration.ofMinutes(2), 32), imageDigests)),
+            Optional.empty());
+    operator.start();
+    return operator;
+  }
+
+  /**
+   * Stands in for the default configs the operator would otherwise download.
+   */
+  private void seedConfigMaps(KubernetesClient client) {
+    for (int i = 0; i < groups; i++) {
+      final MinecraftServerGroup group = group(i);
+      client.configMaps().inNamespace(NAMESPACE).resource(new ConfigMapBuilder()
+              .withNewMetadata()
+              .withName(ResourceUtil.getConfigMapName(group))
+              .withNamespace(NAMESPACE)
+              .withLabels(ResourceUtil.createLabels(group, -1))
+              .endMetadata()
+              .addToData(InitFile.SERVER_PROPERTIES.getFileName(), "")
+              .build()).create();
+    }
+  }
+
+  private void create(KubernetesClient client) {
+    for (int i = 0; i < groups; i++) {
+      client.resource(group(i)).create();
+    }
+    for (int i = 0; i < proxies; i++) {
+      final MinecraftProxy proxy = load("/sample/minecraftproxy.yaml", MinecraftProxy.class, "scale-proxy-%05d".formatted(i));
+      proxy.getSpec().setReplicas(proxyReplicas);
+      client.resource(proxy).create();
+    }
+  }
+
+  /**
+   * Adds a replica to a share of the groups and proxies, spread evenly over the name range.
+   */
+  private void scale(KubernetesClient client) {
+    final int step = (int) Math.max(1, Math.round(1 / mutateFraction));
+    for (int i = 0; i < groups; i += step) {
+      client.resources(MinecraftServerGroup.class).inNamespace(NAMESPACE).withName("scale-group-%05d".formatted(i)).edit(group -> {
+        group.getSpec().setReplicas(group.getSpec().getReplicas() + 1);
+        return group;
+      });
+    }
+    for (int i = 0; i < proxies; i += step) {
+      client.resources(MinecraftProxy.class).inNamespace(NAMESPACE).withName("scale-proxy-%05d".formatted(i)).edit(proxy -> {
+        proxy.getSpec().setReplicas(proxy.getSpec().getReplicas() + 1);
+        return proxy;
+      });
+    }
+  }
+
+  private Phase measure(String name, FaultInjectingDispatcher dispatcher, KubernetesClient client, Runnable action) {
+    final long requestsBefore = dispatcher.requests();
+    final Map<String, Long> requestsByMethodBefore = dispatcher.requestsByMethod();
+    final long throttledBefore = dispatcher.throttled();
+    final long reconcilesBefore = reconciles();
+    final long start = System.nanoTime();
+    action.run();
+    awaitConvergence(name, client);
+    final double seconds = (System.nanoTime() - start) / 1e9;
+    final long reconciles = reconciles() - reconcilesBefore;
+    final long requests = dispatcher.requests() - requestsBefore;
+    final Map<String, Long> requestsByMethod = new LinkedHashMap<>();
+    dispatcher.requestsByMethod().forEach((method, count) ->
+            requestsByMethod.put(method, count - requestsByMethodBefore.getOrDefault(method, 0L)));
+    System.gc();
+    final long heapUsedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+    final Phase phase = new Phase(name, groups + proxies, round(seconds), reconciles, round(reconciles / seconds),
+            requests, round(reconciles == 0 ? 0 : (double) requests / reconciles), requestsByMethod,
+            dispatcher.throttled() - throttledBefore, heapUsedMb);
+    log.info("{}", phase);
+    return phase;
+  }
+
+  private void awaitConvergence(String phase, KubernetesClient client) {
+    final long deadline = System.nanoTime() + timeout.toNanos();
+    List<String> pending = List.of();
+    while (System.nanoTime() < deadline) {
+      pending = Stream.concat(
+              client.resources(MinecraftServerGroup.class).inNamespace(NAMESPACE).list().getItems().stream()
+                      .filter(group -> group.getStatus() == null
+                              || !Objects.equals(group.getStatus().getObservedGeneration(), group.getMetadata().getGeneration())
+                              || group.getStatus().getPodIPs().size() != group.getSpec().getReplicas()),
+              client.resources(MinecraftProxy.class).inNamespace(NAMESPACE).list().getItems().stream()
+                      .filter(proxy -> proxy.getStatus() == null
+                              || !Objects.equals(proxy.getStatus().getObservedGeneration(), proxy.getMetadata().getGeneration())
+                              || proxy.getStatus().getPodIPs().size() != proxy.getSpec().getReplicas()))
+              .map(resource -> resource.getMetadata().getName())
+              .toList();
+      if (pending.isEmpty()) {
+        return;
+      }
+      sleep(Duration.ofMillis(500));
+    }
+    fail("%s did not converge within %s, %d of %d resources pending, e.g. %s"
+            .formatted(phase, timeout, pending.size(), groups + proxies, pending.subList(0, Math.min(5, pending.size()))));
+  }
+
+  private long reconciles() {
+    return registry.find("mcks.reconcile").timers().stream().mapToLong(Timer::count).sum();
+  }
+
+  private void report(List<Phase> phases) throws IOException {
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("groups", groups);
+    report.put("groupReplicas", groupReplicas);
+    report.put("proxies", proxies);
+    report.put("proxyReplicas", proxyReplicas);
+    report.put("latencyMs", latency.toMillis());
+    report.put("throttleRate", throttleRate);
+    report.put("permits", permits);
+    report.put("phases", phases);
+    report.put("peakHeapMb", ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum() >> 20);
+    report.put("kubernetesApiCalls", apiCallsByOperation());
+    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+    log.info("Scale report written to {}", reportFile.toAbsolutePath());
+  }
+
+  private Map<String, Long> apiCallsByOperation() {
+    final Map<String, Long> calls = new TreeMap<>();
+    registry.find("mcks.kubernetes.api").timers().forEach(timer ->
+            calls.merge(timer.getId().getTag("operation"), timer.count(), Long::sum));
+    return calls;
+  }
+
+  private MinecraftServerGroup group(int index) {
+    final MinecraftServerGroup group = load("/sample/minecraftserver.yaml", MinecraftServerGroup.class, "scale-group-%05d".formatted(index));
+    group.getSpec().setReplicas(groupReplicas);
+    return group;
+  }
+
+  private static <T extends HasMetadata> T load(String path, Class<T> type, String name) {
+    final T resource = Serialization.unmarshal(resource(path), type);
+    resource.getMetadata().setName(name);
+    resource.getMetadata().setNamespace(NAMESPACE);
+    return resource;
+  }
+
+  private static InputStream resource(String path) {
+    final InputStream in = OperatorScaleTest.class.getResourceAsStream(path);
+    if (in == null) {
+      throw new IllegalStateException("Missing resource " + path);
+    }
+    return in;
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 100) / 100.0;
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.aoldacraft.minecraftkubernetesstack.config;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedule;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.MinecraftProxyOperator;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyAutoscaling;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.javaoperatorsdk.operator.processing.retry.GenericRetry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+  private final RuntimeHints hints = new RuntimeHints();
+
+  NativeRuntimeHintsTest() {
+    new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+  }
+
+  @Test
+  void registersJacksonBoundTypes() {
+    for (Class<?> type : new Class<?>[]{MinecraftServerGroup.class, MinecraftServerGroupStatus.class,
+            MinecraftProxyAutoscaling.class, ReplicaSchedule.class, MinecraftServerGroupDto.class, Pod.class, DaemonSet.class}) {
+      assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+    }
+  }
+
+  @Test
+  void registersOperatorSdkReflection() {
+    assertTrue(RuntimeHintsPredicates.reflection().onType(MinecraftProxyOperator.class).test(hints));
+    assertTrue(RuntimeHintsPredicates.reflection().onType(GenericRetry.class).test(hints));
+    assertTrue(RuntimeHintsPredicates.resource().forResource("version.properties").test(hints));
+  }
+
+  @Test
+  void leavesSubpackagesOut() {
+    assertFalse(RuntimeHintsPredicates.reflection().onType(Job.class).test(hints));
+  }
+}
@@ -0,0 +1,77 @@
+package com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup;
+
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.dto.MinecraftServerGroupDto;
+import com.aoldacraft.minecraftkubernetesstack.domain.minecraftgroup.services.MinecraftGroupInfoService;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupHibernation;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils.ServerHibernationUtil;
+import com.aoldacraft.minecraftkubernetesstack.util.SseEmitterHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MinecraftGroupInfoControllerTest {
+  private static final Instant HIBERNATED_AT = Instant.parse("2024-06-07T18:00:00Z");
+
+  @Test
+  void wakesAHibernatedGroupNamedByItsGroupEvent() {
+    MinecraftServerGroup resource = hibernatedGroup();
+    List<Object> events = new ArrayList<>();
+    MinecraftGroupInfoService service = new MinecraftGroupInfoService(null, capturing(events));
+    MinecraftGroupInfoController controller = new MinecraftGroupInfoController(service, (namespace, name) -> {
+      if (!namespace.equals(resource.getMetadata().getNamespace()) || !name.equals(resource.getMetadata().getName())) {
+        return false;
+      }
+      ServerHibernationUtil.requestWake(resource, HIBERNATED_AT.plusSeconds(60));
+      return true;
+    }, null, null);
+
+    service.publishMinecraftServerGroupInfo(resource);
+    MinecraftServerGroupDto hibernated = (MinecraftServerGroupDto) events.get(0);
+    assertEquals(ServerData.STATE_HIBERNATED, hibernated.getState());
+
+    assertEquals(HttpStatus.ACCEPTED, controller.wake(hibernated.getNamespace(), hibernated.getName()).getStatusCode());
+    assertEquals(HttpStatus.NOT_FOUND, controller.wake("other", hibernated.getName()).getStatusCode());
+
+    ServerHibernationUtil.update(resource, false, 0, HIBERNATED_AT.plusSeconds(61));
+    ServerHibernationUtil.updateState(resource.getStatus(), HIBERNATED_AT.plusSeconds(61));
+    service.publishMinecraftServerGroupInfo(resource);
+
+    MinecraftServerGroupDto waking = (MinecraftServerGroupDto) events.get(1);
+    assertEquals(ServerData.STATE_WAKING, waking.getState());
+    assertEquals("games", waking.getNamespace());
+    assertEquals(HIBERNATED_AT.plusSeconds(60).toString(), resource.getStatus().getWakeRequestedTime());
+  }
+
+  private static SseEmitterHandler capturing(List<Object> events) {
+    return new SseEmitterHandler(new ObjectMapper(), new SimpleMeterRegistry()) {
+      @Override
+      public void broadcast(String name, Object data) {
+        events.add(data);
+      }
+    };
+  }
+
+  private static MinecraftServerGroup hibernatedGroup() {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("survival").withNamespace("games").build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    resource.getSpec().setHibernation(new MinecraftServerGroupHibernation());
+    resource.setStatus(new MinecraftServerGroupStatus());
+    resource.getStatus().setHibernated(true);
+    resource.getStatus().setHibernatedTime(HIBERNATED_AT.toString());
+    ServerHibernationUtil.updateState(resource.getStatus(), HIBERNATED_AT);
+    return resource;
+  }
+}
@@ -0,0 +1,28 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImageDigestsTest {
+  private static final String DIGEST = "@sha256:4f6f9c2a0b1e8d7c6b5a49382716f5e4d3c2b1a09f8e7d6c5b4a39281706f5e4";
+
+  @Test
+  void buildsDigestReferenceFromNodeImageId() {
+    assertEquals("itzg/minecraft-server" + DIGEST,
+            ImageDigests.toDigestReference("itzg/minecraft-server:latest", "docker.io/itzg/minecraft-server" + DIGEST));
+    assertEquals("registry.local:5000/velocity" + DIGEST,
+            ImageDigests.toDigestReference("registry.local:5000/velocity:cc6a0b1", "docker-pullable://registry.local:5000/velocity" + DIGEST));
+  }
+
+  @Test
+  void keepsRegistryPortWhenImageHasNoTag() {
+    assertEquals("registry.local:5000/velocity", ImageDigests.getRepository("registry.local:5000/velocity"));
+  }
+
+  @Test
+  void ignoresImageIdsWithoutDigest() {
+    assertNull(ImageDigests.toDigestReference("itzg/minecraft-server:latest", "sha256:4f6f9c2a"));
+  }
+}
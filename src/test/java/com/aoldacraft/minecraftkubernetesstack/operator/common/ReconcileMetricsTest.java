@@ -0,0 +1,45 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReconcileMetricsTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ReconcileMetrics metrics = new ReconcileMetrics("minecraftproxy", registry);
+
+  @Test
+  void tagsOutcomeFromUpdateControl() {
+    metrics.record("status", () -> UpdateControl.<MinecraftProxy>noUpdate());
+    metrics.record("status", () -> UpdateControl.patchStatus(new MinecraftProxy()));
+
+    assertEquals(1, count("status", "noop"));
+    assertEquals(1, count("status", "status"));
+  }
+
+  @Test
+  void countsSwallowedAndThrownFailuresAsErrors() {
+    metrics.record("repair", () -> {
+      metrics.markFailed();
+      return UpdateControl.<MinecraftProxy>noUpdate();
+    });
+    assertThrows(IllegalStateException.class, () -> metrics.record("repair", () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    assertEquals(2, count("repair", "error"));
+  }
+
+  private long count(String path, String outcome) {
+    return registry.get("mcks.reconcile")
+            .tag("controller", "minecraftproxy")
+            .tag("path", path)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+  }
+}
@@ -0,0 +1,160 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReconcileSchedulerTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Test
+  void servesDeletesThenRepairsThenStatusRefreshes() throws Exception {
+    ReconcileScheduler scheduler = new ReconcileScheduler(registry, 1, Duration.ofHours(1), Duration.ofHours(1));
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    runQueued(scheduler, order, List.of(
+            new Queued(ReconcileScheduler.Lane.STATUS, 999, "status"),
+            new Queued(ReconcileScheduler.Lane.REPAIR, 0, "repair"),
+            new Queued(ReconcileScheduler.Lane.DELETE, 0, "delete")));
+
+    assertEquals(List.of("delete", "repair", "status"), order);
+  }
+
+  @Test
+  void servesHigherPriorityFirstWithinALane() throws Exception {
+    ReconcileScheduler scheduler = new ReconcileScheduler(registry, 1, Duration.ofHours(1), Duration.ofHours(1));
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    runQueued(scheduler, order, List.of(
+            new Queued(ReconcileScheduler.Lane.STATUS, 5, "idle"),
+            new Queued(ReconcileScheduler.Lane.STATUS, 5000, "pinned"),
+            new Queued(ReconcileScheduler.Lane.STATUS, 50, "busy")));
+
+    assertEquals(List.of("pinned", "busy", "idle"), order);
+  }
+
+  @Test
+  void agedLowPriorityWorkGetsAPermitUnderConstantHighPriorityLoad() throws Exception {
+    ReconcileScheduler scheduler = new ReconcileScheduler(registry, 1, Duration.ofMillis(10), Duration.ofHours(1));
+    AtomicBoolean running = new AtomicBoolean(true);
+    List<Future<?>> load = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      load.add(executor.submit(() -> {
+        while (running.get()) {
+          scheduler.run(ReconcileScheduler.Lane.STATUS, Long.MAX_VALUE, () -> sleep(2));
+        }
+      }));
+    }
+    try {
+      Future<Boolean> low = executor.submit(() -> scheduler.run(ReconcileScheduler.Lane.STATUS, 0, () -> true));
+
+      assertTrue(low.get(10, TimeUnit.SECONDS));
+    } finally {
+      running.set(false);
+      for (Future<?> future : load) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  @Test
+  void reportsQueueDepthPerPriorityBucket() throws Exception {
+    ReconcileScheduler scheduler = new ReconcileScheduler(registry, 1, Duration.ofHours(1), Duration.ofHours(1));
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> holder = hold(scheduler, release);
+    executor.submit(() -> scheduler.run(ReconcileScheduler.Lane.STATUS, 0, () -> true));
+    executor.submit(() -> scheduler.run(ReconcileScheduler.Lane.STATUS, 40, () -> true));
+    executor.submit(() -> scheduler.run(ReconcileScheduler.Lane.STATUS, 2040, () -> true));
+    awaitDepth(3);
+
+    assertEquals(1, depth("idle"));
+    assertEquals(1, depth("low"));
+    assertEquals(1, depth("high"));
+    release.countDown();
+    holder.get(10, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Holds the only permit until every entry is queued, then records the order they were served in.
+   */
+  private void runQueued(ReconcileScheduler scheduler, List<String> order, List<Queued> queued) throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> holder = hold(scheduler, release);
+    List<Future<?>> futures = new ArrayList<>();
+    for (Queued entry : queued) {
+      futures.add(executor.submit(() -> scheduler.run(entry.lane(), entry.priority(), () -> order.add(entry.name()))));
+      awaitDepth(futures.size());
+    }
+    release.countDown();
+    holder.get(10, TimeUnit.SECONDS);
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Takes the only permit and keeps it until released.
+   */
+  private Future<?> hold(ReconcileScheduler scheduler, CountDownLatch release) throws InterruptedException {
+    CountDownLatch held = new CountDownLatch(1);
+    Future<?> holder = executor.submit(() -> scheduler.run(ReconcileScheduler.Lane.STATUS, 0, () -> {
+      held.countDown();
+      return await(release);
+    }));
+    assertTrue(held.await(10, TimeUnit.SECONDS));
+    return holder;
+  }
+
+  private void awaitDepth(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (totalDepth() != expected) {
+      assertTrue(System.nanoTime() < deadline, "queue never reached depth " + expected);
+      Thread.sleep(5);
+    }
+  }
+
+  private double totalDepth() {
+    return registry.find("mcks.reconcile.queue.depth").gauges().stream().mapToDouble(Gauge::value).sum();
+  }
+
+  private double depth(String bucket) {
+    return registry.find("mcks.reconcile.queue.depth").tag("priority", bucket).gauges().stream().mapToDouble(Gauge::value).sum();
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private record Queued(ReconcileScheduler.Lane lane, long priority, String name) {
+  }
+}
@@ -0,0 +1,64 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReplicaSchedulesTest {
+
+  // 2024-06-07 is a Friday
+  private static final ReplicaSchedule FRIDAY_EVENING = schedule("friday-evening", "0 18 * * FRI", 240, 6);
+  private static final ReplicaSchedule WEEKEND = schedule("weekend", "0 10 * * SAT,SUN", 600, 4);
+
+  @Test
+  void raisesTheFloorWhileAScheduleIsActive() {
+    ReplicaSchedules.Evaluation evaluation = ReplicaSchedules.evaluate(List.of(FRIDAY_EVENING, WEEKEND),
+            Instant.parse("2024-06-07T19:30:00Z"));
+
+    assertEquals("friday-evening", evaluation.activeSchedule());
+    assertEquals(6, evaluation.minReplicas());
+    assertEquals(Instant.parse("2024-06-07T22:00:00Z"), evaluation.nextTransition());
+  }
+
+  @Test
+  void requeuesAtTheNextStartWhenIdle() {
+    ReplicaSchedules.Evaluation evaluation = ReplicaSchedules.evaluate(List.of(FRIDAY_EVENING, WEEKEND),
+            Instant.parse("2024-06-07T23:00:00Z"));
+
+    assertNull(evaluation.activeSchedule());
+    assertEquals(0, evaluation.minReplicas());
+    assertEquals(Instant.parse("2024-06-08T10:00:00Z"), evaluation.nextTransition());
+  }
+
+  @Test
+  void evaluatesInTheScheduleTimeZone() {
+    ReplicaSchedule seoul = schedule("seoul-evening", "0 20 * * *", 120, 3);
+    seoul.setTimeZone("Asia/Seoul");
+
+    ReplicaSchedules.Evaluation evaluation = ReplicaSchedules.evaluate(List.of(seoul), Instant.parse("2024-06-07T11:30:00Z"));
+
+    assertEquals("seoul-evening", evaluation.activeSchedule());
+    assertEquals(Instant.parse("2024-06-07T13:00:00Z"), evaluation.nextTransition());
+  }
+
+  @Test
+  void ignoresInvalidSchedules() {
+    ReplicaSchedules.Evaluation evaluation = ReplicaSchedules.evaluate(List.of(schedule("broken", "every friday", 60, 9)),
+            Instant.parse("2024-06-07T19:30:00Z"));
+
+    assertEquals(ReplicaSchedules.Evaluation.NONE, evaluation);
+  }
+
+  private static ReplicaSchedule schedule(String name, String cron, int durationMinutes, int minReplicas) {
+    ReplicaSchedule schedule = new ReplicaSchedule();
+    schedule.setName(name);
+    schedule.setSchedule(cron);
+    schedule.setDurationMinutes(durationMinutes);
+    schedule.setMinReplicas(minReplicas);
+    return schedule;
+  }
+}
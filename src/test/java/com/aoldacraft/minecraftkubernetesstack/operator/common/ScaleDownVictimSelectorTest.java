@@ -0,0 +1,59 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScaleDownVictimSelectorTest {
+
+  @Test
+  void picksTheFewestPlayersFirst() {
+    Map<String, Integer> players = Map.of("server-0", 12, "server-1", 0, "server-2", 3);
+    List<Pod> pods = List.of(pod("server-0", "Running", "2024-06-07T10:00:00Z"),
+            pod("server-1", "Running", "2024-06-07T10:00:00Z"),
+            pod("server-2", "Running", "2024-06-07T10:00:00Z"));
+
+    assertEquals(List.of("server-1", "server-2"), names(ScaleDownVictimSelector.select(pods, 2, pod -> players.get(pod.getMetadata().getName()))));
+  }
+
+  @Test
+  void picksPodsThatAreNotRunningBeforeIdleOnes() {
+    Map<String, Integer> players = Map.of("server-0", 0, "server-1", 5);
+    List<Pod> pods = List.of(pod("server-0", "Running", "2024-06-07T10:00:00Z"),
+            pod("server-1", "Pending", "2024-06-07T10:00:00Z"));
+
+    assertEquals(List.of("server-1"), names(ScaleDownVictimSelector.select(pods, 1, pod -> players.get(pod.getMetadata().getName()))));
+  }
+
+  @Test
+  void picksTheYoungestAmongEquallyLoadedPods() {
+    List<Pod> pods = List.of(pod("server-0", "Running", "2024-06-07T10:00:00Z"),
+            pod("server-1", "Running", "2024-06-07T12:00:00Z"),
+            pod("server-2", "Running", "2024-06-07T11:00:00Z"));
+
+    assertEquals(List.of("server-1", "server-2"), names(ScaleDownVictimSelector.select(pods, 2, pod -> 0)));
+    assertTrue(ScaleDownVictimSelector.select(pods, -1, pod -> 0).isEmpty());
+  }
+
+  private static Pod pod(String name, String phase, String creationTimestamp) {
+    return new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withCreationTimestamp(creationTimestamp)
+            .endMetadata()
+            .withNewStatus()
+            .withPhase(phase)
+            .endStatus()
+            .build();
+  }
+
+  private static List<String> names(List<Pod> pods) {
+    return pods.stream().map(pod -> pod.getMetadata().getName()).toList();
+  }
+}
@@ -0,0 +1,18 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+
+public final class TestResources {
+
+  private TestResources() {
+  }
+
+  public static ResourceRequirements limits(String memory, String cpu) {
+    return new ResourceRequirementsBuilder()
+            .addToLimits("memory", new Quantity(memory))
+            .addToLimits("cpu", new Quantity(cpu))
+            .build();
+  }
+}
@@ -0,0 +1,90 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.common;
+
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TracesTest {
+  private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+  private SdkTracerProvider tracerProvider;
+
+  @BeforeEach
+  void setUp() {
+    tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new SpanExporter() {
+              @Override
+              public CompletableResultCode export(Collection<SpanData> exported) {
+                spans.addAll(exported);
+                return CompletableResultCode.ofSuccess();
+              }
+
+              @Override
+              public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+              }
+
+              @Override
+              public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+              }
+            }))
+            .build();
+    Traces.use(new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+    }));
+  }
+
+  @AfterEach
+  void tearDown() {
+    Traces.use(Tracer.NOOP);
+    tracerProvider.close();
+  }
+
+  @Test
+  void nestsApiCallsUnderTheReconcile() {
+    Traces.run("reconcile minecraftservergroup", Map.of(Traces.GROUP, "lobby", Traces.NAMESPACE, "games"),
+            () -> KubernetesApiMetrics.record("pods.list", () -> List.of()));
+
+    SpanData call = span("k8s pods.list");
+    SpanData reconcile = span("reconcile minecraftservergroup");
+    assertEquals(reconcile.getSpanId(), call.getParentSpanId());
+    assertEquals("lobby", reconcile.getAttributes().get(AttributeKey.stringKey(Traces.GROUP)));
+    assertEquals("success", call.getAttributes().get(AttributeKey.stringKey(Traces.OUTCOME)));
+  }
+
+  @Test
+  void tagsThrownAndSwallowedFailuresAsErrors() {
+    assertThrows(IllegalStateException.class, () -> Traces.run("thrown", Map.of(), () -> {
+      throw new IllegalStateException("boom");
+    }));
+    Traces.run("swallowed", Map.of(), () -> {
+      Traces.run("child", Map.of(), () -> {
+      });
+      Traces.markFailed();
+    });
+
+    assertEquals("error", span("thrown").getAttributes().get(AttributeKey.stringKey(Traces.OUTCOME)));
+    assertEquals("error", span("swallowed").getAttributes().get(AttributeKey.stringKey(Traces.OUTCOME)));
+    assertEquals("success", span("child").getAttributes().get(AttributeKey.stringKey(Traces.OUTCOME)));
+  }
+
+  private SpanData span(String name) {
+    return spans.stream().filter(span -> span.getName().equals(name)).findFirst().orElseThrow();
+  }
+}
@@ -0,0 +1,47 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.autoscaling;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxyAutoscaling;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProxyAutoscalerTest {
+  private final ResourceID proxy = new ResourceID("proxy", "default");
+  private final Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+  private MinecraftProxyAutoscaling autoscaling() {
+    MinecraftProxyAutoscaling autoscaling = new MinecraftProxyAutoscaling();
+    autoscaling.setMinReplicas(2);
+    autoscaling.setMaxReplicas(8);
+    autoscaling.setTargetConnectionsPerProxy(500);
+    autoscaling.setTargetCpuUtilizationPercentage(70);
+    autoscaling.setScaleDownCooldownSeconds(300);
+    return autoscaling;
+  }
+
+  @Test
+  void scalesUpForConnections() {
+    ProxyAutoscaler autoscaler = new ProxyAutoscaler();
+
+    assertEquals(4, autoscaler.decide(proxy, autoscaling(), 2, 1800, null, null, start).replicas());
+  }
+
+  @Test
+  void cpuWinsWhenItAsksForMoreProxies() {
+    ProxyAutoscaler autoscaler = new ProxyAutoscaler();
+
+    assertEquals(5, autoscaler.decide(proxy, autoscaling(), 3, 600, 105.0, null, start).replicas());
+  }
+
+  @Test
+  void holdsScaleDownDuringCooldown() {
+    ProxyAutoscaler autoscaler = new ProxyAutoscaler();
+
+    assertEquals(4, autoscaler.decide(proxy, autoscaling(), 4, 1800, null, null, start).replicas());
+    assertEquals(4, autoscaler.decide(proxy, autoscaling(), 4, 100, null, start, start.plusSeconds(60)).replicas());
+    assertEquals(2, autoscaler.decide(proxy, autoscaling(), 4, 100, null, start, start.plusSeconds(301)).replicas());
+  }
+}
@@ -0,0 +1,75 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.tuning;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.TestResources;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyTuningProfileTest {
+
+  @Test
+  void sizesHeapAndDirectMemoryWithoutProfile() {
+    MinecraftProxySpec spec = spec("1Gi", "2", null);
+    spec.setExpectedPlayers(400);
+
+    ProxyTuningProfile tuning = ProxyTuningProfile.of(spec);
+
+    assertTrue(tuning.javaOpts().contains("-Xms764M -Xmx764M -XX:MaxDirectMemorySize=100M"));
+    assertTrue(tuning.javaOpts().contains("-XX:ActiveProcessorCount=2"));
+    assertEquals(spec.getCompressionThreshold(), tuning.compressionThreshold());
+    assertEquals(spec.isTcpFastOpen(), tuning.tcpFastOpen());
+  }
+
+  @Test
+  void keepsHeapAndDirectMemoryWithinSmallLimits() {
+    MinecraftProxySpec spec = spec("512Mi", "1", null);
+    spec.setExpectedPlayers(2000);
+
+    ProxyTuningProfile tuning = ProxyTuningProfile.of(spec);
+
+    // direct memory is capped at 35% of the limit and 160Mi of overhead stays outside the heap
+    assertTrue(tuning.javaOpts().contains("-Xms172M -Xmx172M -XX:MaxDirectMemorySize=179M"));
+  }
+
+  @Test
+  void highConnectionCountDoublesEventLoops() {
+    ProxyTuningProfile tuning = ProxyTuningProfile.of(spec("2Gi", "4", "high-connection-count"));
+
+    assertTrue(tuning.javaOpts().contains("-Dio.netty.eventLoopThreads=8"));
+    assertEquals(3, tuning.compressionLevel());
+    assertTrue(tuning.tcpFastOpen());
+  }
+
+  @Test
+  void bandwidthSaverCompressesMoreOnSmallBudgets() {
+    ProxyTuningProfile tuning = ProxyTuningProfile.of(spec("512Mi", "500m", "bandwidth-saver"));
+
+    assertEquals(64, tuning.compressionThreshold());
+    assertEquals(4, tuning.compressionLevel());
+    assertFalse(tuning.tcpFastOpen());
+  }
+
+  @Test
+  void rejectsUnknownProfiles() {
+    assertThrows(IllegalArgumentException.class, () -> ProxyTuningProfile.of(spec("1Gi", "1", "turbo")));
+  }
+
+  @Test
+  void reportsSpecsThatCannotBeTuned() {
+    assertNull(ProxyTuningProfile.validate(spec("1Gi", "1", "low-latency")));
+    assertEquals("Unknown proxy tuning profile: turbo", ProxyTuningProfile.validate(spec("1Gi", "1", "turbo")));
+    assertTrue(ProxyTuningProfile.validate(spec("200Mi", "1", null)).startsWith("Memory limit of 200Mi"));
+  }
+
+  private static MinecraftProxySpec spec(String memory, String cpu, String profile) {
+    MinecraftProxySpec spec = new MinecraftProxySpec();
+    spec.setTuningProfile(profile);
+    spec.setResourceRequirements(TestResources.limits(memory, cpu));
+    return spec;
+  }
+}
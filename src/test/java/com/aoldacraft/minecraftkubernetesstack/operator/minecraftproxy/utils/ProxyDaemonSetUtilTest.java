@@ -0,0 +1,148 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ImageDigests;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.DaemonSetBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyDaemonSetUtilTest {
+  private static final Instant NOW = Instant.parse("2024-06-07T18:00:00Z");
+  private static final Duration GRACE = Duration.ofSeconds(300);
+
+  @Test
+  void isRolledOutOnlyWhenEveryScheduledProxyIsReadyAndUpdated() {
+    assertFalse(ProxyDaemonSetUtil.isRolledOut(new DaemonSetBuilder().build()));
+    assertFalse(ProxyDaemonSetUtil.isRolledOut(daemonSet(0, 0, 0)));
+    assertFalse(ProxyDaemonSetUtil.isRolledOut(daemonSet(3, 3, 2)));
+    assertFalse(ProxyDaemonSetUtil.isRolledOut(daemonSet(3, 2, 3)));
+    assertTrue(ProxyDaemonSetUtil.isRolledOut(daemonSet(3, 3, 3)));
+  }
+
+  @Test
+  void isDrainedOnceEveryProxyLeftTheServiceForTheGracePeriod() {
+    Pod serving = pod("proxy-a", true, null);
+    Pod draining = pod("proxy-b", false, NOW.minusSeconds(60));
+    Pod drained = pod("proxy-c", false, NOW.minus(GRACE));
+
+    assertFalse(ProxyDaemonSetUtil.isDrained(List.of(serving, drained), GRACE, NOW));
+    assertFalse(ProxyDaemonSetUtil.isDrained(List.of(draining, drained), GRACE, NOW));
+    assertTrue(ProxyDaemonSetUtil.isDrained(List.of(drained), GRACE, NOW));
+    assertTrue(ProxyDaemonSetUtil.isDrained(List.of(), GRACE, NOW));
+  }
+
+  @Test
+  void drainsOneOutdatedProxyOnceTheUpdatedOnesAreReady() {
+    Pod updated = generation(pod("proxy-a", true, null), "2");
+    Pod outdatedB = generation(pod("proxy-b", true, null), "1");
+    Pod outdatedC = generation(pod("proxy-c", true, null), "1");
+
+    ProxyDaemonSetUtil.RolloutStep step = ProxyDaemonSetUtil.planRollout(List.of(updated, outdatedC, outdatedB), "2", GRACE, NOW);
+
+    assertEquals("proxy-b", step.toDrain().getMetadata().getName());
+    assertTrue(step.toDelete().isEmpty());
+    assertNull(ProxyDaemonSetUtil.planRollout(List.of(unready(updated), outdatedB), "2", GRACE, NOW).toDrain());
+  }
+
+  @Test
+  void deletesADrainedProxyOnlyAfterTheGracePeriod() {
+    Pod draining = generation(pod("proxy-b", false, NOW.minusSeconds(60)), "1");
+    Pod waiting = generation(pod("proxy-c", true, null), "1");
+
+    ProxyDaemonSetUtil.RolloutStep step = ProxyDaemonSetUtil.planRollout(List.of(draining, waiting), "2", GRACE, NOW);
+    assertNull(step.toDrain());
+    assertTrue(step.toDelete().isEmpty());
+
+    step = ProxyDaemonSetUtil.planRollout(List.of(draining, waiting), "2", GRACE, NOW.plus(GRACE));
+    assertNull(step.toDrain());
+    assertEquals(List.of(draining), step.toDelete());
+  }
+
+  @Test
+  void replacesAnUnreadyOutdatedProxyFirstAndWithoutWaiting() {
+    Pod outdated = generation(pod("proxy-a", true, null), "1");
+    Pod unready = unready(generation(pod("proxy-b", true, null), "1"));
+
+    assertEquals("proxy-b", ProxyDaemonSetUtil.planRollout(List.of(outdated, unready), "2", GRACE, NOW).toDrain().getMetadata().getName());
+
+    Pod drained = unready(generation(pod("proxy-b", false, NOW), "1"));
+    assertEquals(List.of(drained), ProxyDaemonSetUtil.planRollout(List.of(outdated, drained), "2", GRACE, NOW).toDelete());
+  }
+
+  @Test
+  void leavesProxiesAloneWhenUpToDate() {
+    Pod current = generation(pod("proxy-a", true, null), "2");
+
+    ProxyDaemonSetUtil.RolloutStep step = ProxyDaemonSetUtil.planRollout(List.of(current), "2", GRACE, NOW);
+
+    assertNull(step.toDrain());
+    assertTrue(step.toDelete().isEmpty());
+  }
+
+  @Test
+  void updatesOnlyWhenTheOperatorDeletesAProxy() {
+    MinecraftProxy resource = new MinecraftProxy();
+    resource.setMetadata(new ObjectMetaBuilder().withName("proxy").withNamespace("default").build());
+    resource.setSpec(new MinecraftProxySpec());
+
+    assertEquals("OnDelete", ProxyDaemonSetUtil.createDaemonSet(new ImageDigests(), resource).getSpec().getUpdateStrategy().getType());
+  }
+
+  private static Pod generation(Pod pod, String templateGeneration) {
+    return new PodBuilder(pod).editMetadata()
+            .addToLabels(ProxyDaemonSetUtil.LABEL_TEMPLATE_GENERATION, templateGeneration)
+            .endMetadata()
+            .build();
+  }
+
+  private static Pod unready(Pod pod) {
+    return new PodBuilder(pod).editStatus()
+            .withConditions(new PodConditionBuilder().withType("Ready").withStatus("False").build())
+            .endStatus()
+            .build();
+  }
+
+  private static DaemonSet daemonSet(int desired, int updated, int ready) {
+    return new DaemonSetBuilder()
+            .withNewStatus()
+            .withDesiredNumberScheduled(desired)
+            .withUpdatedNumberScheduled(updated)
+            .withNumberReady(ready)
+            .endStatus()
+            .build();
+  }
+
+  private static Pod pod(String name, boolean serving, Instant drainStartedAt) {
+    Map<String, String> annotations = new HashMap<>();
+    if (drainStartedAt != null) {
+      annotations.put("mcks-drain-started", drainStartedAt.toString());
+    }
+    return new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withLabels(Map.of("minecraftproxy", "proxy", ProxyPodUtil.LABEL_SERVING, String.valueOf(serving)))
+            .withAnnotations(annotations)
+            .addNewOwnerReference().withKind("DaemonSet").withName("proxy").endOwnerReference()
+            .endMetadata()
+            .withNewStatus()
+            .addNewCondition().withType("Ready").withStatus("True").endCondition()
+            .endStatus()
+            .build();
+  }
+}
@@ -0,0 +1,196 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.ReplicaSchedule;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyPodUtilTest {
+  private static final Instant NOW = Instant.parse("2024-06-07T18:00:00Z");
+  private static final Duration GRACE = Duration.ofSeconds(300);
+
+  @Test
+  void liveSettingsAndScalingKeepTemplateHash() {
+    MinecraftProxy resource = proxy();
+    String before = ProxyPodUtil.getTemplateHash(resource);
+
+    resource.getSpec().setMotd("Maintenance at 18:00");
+    resource.getSpec().setShowMaxPlayers(1000);
+    resource.getSpec().setReplicas(5);
+
+    assertEquals(before, ProxyPodUtil.getTemplateHash(resource));
+  }
+
+  @Test
+  void schedulesKeepTemplateHash() {
+    MinecraftProxy resource = proxy();
+    String before = ProxyPodUtil.getTemplateHash(resource);
+
+    ReplicaSchedule schedule = new ReplicaSchedule();
+    schedule.setName("friday-evening");
+    schedule.setSchedule("0 18 * * FRI");
+    schedule.setMinReplicas(6);
+    resource.getSpec().setSchedules(List.of(schedule));
+
+    assertEquals(before, ProxyPodUtil.getTemplateHash(resource));
+  }
+
+  @Test
+  void restartRequiredSettingsChangeTemplateHash() {
+    MinecraftProxy resource = proxy();
+    String before = ProxyPodUtil.getTemplateHash(resource);
+
+    resource.getSpec().setCompressionThreshold(512);
+
+    assertNotEquals(before, ProxyPodUtil.getTemplateHash(resource));
+  }
+
+  @Test
+  void fieldsAtTheirDefaultStayOutOfTemplateHash() throws Exception {
+    MinecraftProxy resource = proxy();
+    byte[] emptyTemplate = MessageDigest.getInstance("SHA-256").digest("{}".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(HexFormat.of().formatHex(emptyTemplate, 0, 5), ProxyPodUtil.getTemplateHash(resource));
+
+    resource.getSpec().setTcpFastOpen(true);
+    assertNotEquals(HexFormat.of().formatHex(emptyTemplate, 0, 5), ProxyPodUtil.getTemplateHash(resource));
+  }
+
+  @Test
+  void drainsUnsampledPodsLast() {
+    List<Pod> pods = List.of(pod("proxy-0", "old", true, null), pod("proxy-1", "old", true, null),
+            pod("proxy-2", "new", true, null));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 2, 1, GRACE, Map.of("proxy-1", 40), NOW);
+
+    assertEquals(List.of("proxy-1"), names(step.toDrain()));
+  }
+
+  @Test
+  void surgesBeforeDrainingOutdatedPods() {
+    List<Pod> pods = List.of(pod("proxy-0", "old", true, null), pod("proxy-1", "old", true, null));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 2, 1, GRACE, Map.of(), NOW);
+
+    assertEquals(1, step.toCreate());
+    assertTrue(step.toDrain().isEmpty());
+    assertTrue(step.toDelete().isEmpty());
+    assertTrue(step.inProgress());
+  }
+
+  @Test
+  void drainsTheLeastLoadedOutdatedPodOnceAReplacementIsReady() {
+    List<Pod> pods = List.of(pod("proxy-0", "old", true, null), pod("proxy-1", "old", true, null),
+            pod("proxy-2", "new", true, null));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 2, 1, GRACE,
+            Map.of("proxy-0", 40, "proxy-1", 3), NOW);
+
+    assertEquals(0, step.toCreate());
+    assertEquals(List.of("proxy-1"), names(step.toDrain()));
+  }
+
+  @Test
+  void deletesDrainedPodsAfterTheGracePeriodOrWhenEmpty() {
+    List<Pod> pods = List.of(pod("proxy-0", "new", true, null), pod("proxy-1", "new", true, null),
+            pod("proxy-2", "old", false, NOW.minusSeconds(30)), pod("proxy-3", "old", false, NOW.minusSeconds(30)),
+            pod("proxy-4", "old", false, NOW.minus(GRACE).minusSeconds(1)));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 2, 1, GRACE,
+            Map.of("proxy-2", 5, "proxy-3", 0), NOW);
+
+    assertEquals(List.of("proxy-3", "proxy-4"), names(step.toDelete()));
+  }
+
+  @Test
+  void keepsPodsFromBeforeTheServingLabelInTheService() {
+    Pod legacy = new PodBuilder(pod("proxy-0", null, true, null)).editMetadata()
+            .removeFromLabels(ProxyPodUtil.LABEL_SERVING)
+            .removeFromLabels(ProxyPodUtil.LABEL_TEMPLATE_HASH)
+            .endMetadata().build();
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(List.of(legacy), "new", 1, 1, GRACE, Map.of(), NOW);
+
+    assertEquals(List.of("proxy-0"), names(step.toAdopt()));
+    assertEquals(1, step.toCreate());
+    assertTrue(step.toDrain().isEmpty());
+    assertTrue(step.toDelete().isEmpty());
+  }
+
+  @Test
+  void restartsTheGracePeriodWhenTheDrainStartIsMissing() {
+    List<Pod> pods = List.of(pod("proxy-0", "new", true, null), pod("proxy-1", "old", false, null));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 1, 1, GRACE, Map.of(), NOW);
+
+    assertEquals(List.of("proxy-1"), names(step.toDrain()));
+    assertTrue(step.toDelete().isEmpty());
+  }
+
+  @Test
+  void retiringDrainsEveryPodModeProxyAtOnce() {
+    List<Pod> pods = List.of(pod("proxy-0", "new", true, null), pod("proxy-1", "old", true, null));
+
+    ProxyPodUtil.RolloutStep step = ProxyPodUtil.planRollout(pods, "new", 0, 0, GRACE, Map.of(), NOW);
+
+    assertEquals(0, step.toCreate());
+    assertEquals(List.of("proxy-0", "proxy-1"), names(step.toDrain()));
+  }
+
+  @Test
+  void recognisesDaemonSetProxies() {
+    Pod daemonSetPod = new PodBuilder(pod("proxy-x7k2p", "new", true, null)).editMetadata()
+            .addNewOwnerReference().withKind("DaemonSet").withName("proxy").endOwnerReference()
+            .endMetadata().build();
+
+    assertTrue(ProxyPodUtil.isDaemonSetPod(daemonSetPod));
+    assertFalse(ProxyPodUtil.isDaemonSetPod(pod("proxy-0", "new", true, null)));
+  }
+
+  private static Pod pod(String name, String templateHash, boolean serving, Instant drainStartedAt) {
+    Map<String, String> labels = new HashMap<>(Map.of("minecraftproxy", "proxy", ProxyPodUtil.LABEL_SERVING, String.valueOf(serving)));
+    if (templateHash != null) {
+      labels.put(ProxyPodUtil.LABEL_TEMPLATE_HASH, templateHash);
+    }
+    return new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withLabels(labels)
+            .withAnnotations(drainStartedAt == null ? Map.of() : Map.of("mcks-drain-started", drainStartedAt.toString()))
+            .withCreationTimestamp(NOW.minusSeconds(600).toString())
+            .endMetadata()
+            .withNewStatus()
+            .withPhase("Running")
+            .addNewCondition().withType("Ready").withStatus("True").endCondition()
+            .endStatus()
+            .build();
+  }
+
+  private static List<String> names(List<Pod> pods) {
+    return pods.stream().map(pod -> pod.getMetadata().getName()).sorted().toList();
+  }
+
+  private static MinecraftProxy proxy() {
+    MinecraftProxy resource = new MinecraftProxy();
+    resource.setMetadata(new ObjectMetaBuilder().withName("proxy").withNamespace("default").build());
+    resource.setSpec(new MinecraftProxySpec());
+    return resource;
+  }
+}
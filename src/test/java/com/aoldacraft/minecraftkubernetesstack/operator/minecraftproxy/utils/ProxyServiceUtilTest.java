@@ -0,0 +1,61 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxy;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftproxy.customresources.MinecraftProxySpec;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.api.model.ServicePort;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyServiceUtilTest {
+
+  @Test
+  void keepsTrafficOnTheNodeForHostNetworkProxies() {
+    Service service = ProxyServiceUtil.buildService(proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET));
+
+    assertEquals("LoadBalancer", service.getSpec().getType());
+    assertEquals("Local", service.getSpec().getExternalTrafficPolicy());
+    assertTrue(ProxyServiceUtil.isUpToDate(service, proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET)));
+  }
+
+  @Test
+  void staysClusterInternalInPodMode() {
+    Service service = ProxyServiceUtil.buildService(proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_PODS));
+
+    assertEquals("ClusterIP", service.getSpec().getType());
+    assertNull(service.getSpec().getExternalTrafficPolicy());
+    assertFalse(ProxyServiceUtil.isUpToDate(service, proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET)));
+  }
+
+  @Test
+  void dropsNodePortsWhenSwitchingBackToPodMode() {
+    Service exposed = new ServiceBuilder(ProxyServiceUtil.buildService(proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_HOST_NETWORK_DAEMON_SET)))
+            .editSpec()
+            .withHealthCheckNodePort(31000)
+            .editFirstPort().withNodePort(30565).endPort()
+            .endSpec()
+            .build();
+
+    Service updated = ProxyServiceUtil.update(exposed, proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_PODS));
+
+    assertEquals("ClusterIP", updated.getSpec().getType());
+    assertNull(updated.getSpec().getExternalTrafficPolicy());
+    assertNull(updated.getSpec().getHealthCheckNodePort());
+    assertTrue(updated.getSpec().getPorts().stream().map(ServicePort::getNodePort).allMatch(nodePort -> nodePort == null));
+    assertTrue(ProxyServiceUtil.isUpToDate(updated, proxy(ProxyDaemonSetUtil.DEPLOYMENT_MODE_PODS)));
+  }
+
+  private static MinecraftProxy proxy(String deploymentMode) {
+    MinecraftProxy resource = new MinecraftProxy();
+    resource.setMetadata(new ObjectMetaBuilder().withName("proxy").withNamespace("default").build());
+    resource.setSpec(new MinecraftProxySpec());
+    resource.getSpec().setDeploymentMode(deploymentMode);
+    return resource;
+  }
+}
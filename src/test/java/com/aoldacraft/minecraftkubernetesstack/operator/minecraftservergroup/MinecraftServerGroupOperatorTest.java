@@ -0,0 +1,92 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MinecraftServerGroupOperatorTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private final ConfigMap configMap = new ConfigMapBuilder().withNewMetadata().withGeneration(3L).endMetadata().build();
+
+  @Test
+  void refreshesOnlyStatusWhenNothingChanged() {
+    assertEquals(MinecraftServerGroupOperator.Route.STATUS, MinecraftServerGroupOperator.planRoute(
+            group(2), configMap, Set.of(pod("lobby-0", false), pod("lobby-1", false)), NOW.minusSeconds(60), NOW));
+  }
+
+  @Test
+  void repairsWhenTheReplicaCountDrifts() {
+    assertEquals(MinecraftServerGroupOperator.Route.REPAIR, MinecraftServerGroupOperator.planRoute(
+            group(2), configMap, Set.of(pod("lobby-0", false)), NOW.minusSeconds(60), NOW));
+  }
+
+  @Test
+  void repairsWhilePodsDrain() {
+    assertEquals(MinecraftServerGroupOperator.Route.REPAIR, MinecraftServerGroupOperator.planRoute(
+            group(1), configMap, Set.of(pod("lobby-0", false), pod("lobby-1", true)), NOW.minusSeconds(60), NOW));
+  }
+
+  @Test
+  void repairsWhenTheSpecGenerationChanged() {
+    MinecraftServerGroup resource = group(1);
+    resource.getMetadata().setGeneration(8L);
+
+    assertEquals(MinecraftServerGroupOperator.Route.REPAIR, MinecraftServerGroupOperator.planRoute(
+            resource, configMap, Set.of(pod("lobby-0", false)), NOW.minusSeconds(60), NOW));
+  }
+
+  @Test
+  void repairsWhenTheConfigMapIsMissingOrChanged() {
+    ConfigMap changed = new ConfigMapBuilder().withNewMetadata().withGeneration(4L).endMetadata().build();
+
+    assertEquals(MinecraftServerGroupOperator.Route.REPAIR, MinecraftServerGroupOperator.planRoute(
+            group(1), null, Set.of(pod("lobby-0", false)), NOW.minusSeconds(60), NOW));
+    assertEquals(MinecraftServerGroupOperator.Route.REPAIR, MinecraftServerGroupOperator.planRoute(
+            group(1), changed, Set.of(pod("lobby-0", false)), NOW.minusSeconds(60), NOW));
+  }
+
+  @Test
+  void resyncsWhenNoFullPassRanRecently() {
+    Set<Pod> pods = Set.of(pod("lobby-0", false));
+
+    assertEquals(MinecraftServerGroupOperator.Route.RESYNC, MinecraftServerGroupOperator.planRoute(
+            group(1), configMap, pods, null, NOW));
+    assertEquals(MinecraftServerGroupOperator.Route.STATUS, MinecraftServerGroupOperator.planRoute(
+            group(1), configMap, pods, NOW.minusSeconds(300), NOW));
+    assertEquals(MinecraftServerGroupOperator.Route.RESYNC, MinecraftServerGroupOperator.planRoute(
+            group(1), configMap, pods, NOW.minusSeconds(301), NOW));
+  }
+
+  private static MinecraftServerGroup group(int replicas) {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("lobby").withNamespace("default").withGeneration(7L).build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    resource.getSpec().setReplicas(replicas);
+    resource.setStatus(new MinecraftServerGroupStatus());
+    resource.getStatus().setObservedGeneration(7L);
+    resource.getStatus().setConfigMapObservedGeneration(3L);
+    return resource;
+  }
+
+  private static Pod pod(String name, boolean draining) {
+    return new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withLabels(draining ? Map.of(ServerData.LABEL_DRAINING, "true") : Map.of())
+            .endMetadata()
+            .build();
+  }
+}
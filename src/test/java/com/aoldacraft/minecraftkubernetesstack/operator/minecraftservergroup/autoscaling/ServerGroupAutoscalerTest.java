@@ -0,0 +1,49 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.autoscaling;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupAutoscaling;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServerGroupAutoscalerTest {
+  private final ResourceID group = new ResourceID("survival", "default");
+
+  private MinecraftServerGroupAutoscaling autoscaling() {
+    MinecraftServerGroupAutoscaling autoscaling = new MinecraftServerGroupAutoscaling();
+    autoscaling.setMinReplicas(1);
+    autoscaling.setMaxReplicas(5);
+    autoscaling.setTargetPlayersPerServer(20);
+    autoscaling.setScaleUpStabilizationSeconds(0);
+    autoscaling.setScaleDownStabilizationSeconds(300);
+    return autoscaling;
+  }
+
+  @Test
+  void scalesUpImmediatelyToFitPlayers() {
+    ServerGroupAutoscaler autoscaler = new ServerGroupAutoscaler();
+
+    ServerGroupAutoscaler.Decision decision = autoscaler.decide(group, autoscaling(), 1, 45, Instant.now());
+
+    assertEquals(3, decision.replicas());
+  }
+
+  @Test
+  void respectsMaxReplicas() {
+    ServerGroupAutoscaler autoscaler = new ServerGroupAutoscaler();
+
+    assertEquals(5, autoscaler.decide(group, autoscaling(), 2, 1000, Instant.now()).replicas());
+  }
+
+  @Test
+  void holdsScaleDownUntilWindowPasses() {
+    ServerGroupAutoscaler autoscaler = new ServerGroupAutoscaler();
+    Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+    assertEquals(3, autoscaler.decide(group, autoscaling(), 3, 60, start).replicas());
+    assertEquals(3, autoscaler.decide(group, autoscaling(), 3, 5, start.plusSeconds(60)).replicas());
+    assertEquals(1, autoscaler.decide(group, autoscaling(), 3, 5, start.plusSeconds(400)).replicas());
+  }
+}
@@ -0,0 +1,91 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.jvm;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.common.TestResources;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerJvmProfileTest {
+
+  @Test
+  void sizesHeapBelowTheMemoryLimitWithG1ForSmallServers() {
+    ServerJvmProfile profile = ServerJvmProfile.of(spec("2Gi", "2"));
+
+    assertEquals("1331M", profile.maxMemory());
+    assertEquals(profile.maxMemory(), profile.initMemory());
+    assertTrue(profile.aikarFlags());
+    assertEquals("-XX:MaxMetaspaceSize=256m", profile.xxOpts());
+  }
+
+  @Test
+  void keepsHeapAndOverheadWithinSmallLimits() {
+    ServerJvmProfile profile = ServerJvmProfile.of(spec("1Gi", "1"));
+
+    // 256Mi metaspace, 256Mi code cache and stacks and a tenth of the limit leave 409Mi of the 1024Mi
+    assertEquals("409M", profile.maxMemory());
+  }
+
+  @Test
+  void reportsLimitsBelowTheJvmOverhead() {
+    MinecraftServerGroupSpec spec = spec("512Mi", "1");
+
+    assertNotNull(ServerJvmProfile.validate(spec));
+    assertNull(ServerJvmProfile.of(spec).maxMemory());
+  }
+
+  @Test
+  void explicitHeapFitsLimitsBelowTheJvmOverhead() {
+    MinecraftServerGroupSpec spec = spec("512Mi", "1");
+    spec.setMaxMemory("384M");
+
+    ServerJvmProfile profile = ServerJvmProfile.of(spec);
+
+    assertNull(ServerJvmProfile.validate(spec));
+    assertEquals("384M", profile.maxMemory());
+    assertEquals("384M", profile.initMemory());
+    assertTrue(profile.aikarFlags());
+    assertEquals("-XX:MaxMetaspaceSize=256m", profile.xxOpts());
+  }
+
+  @Test
+  void usesZgcForLargeHeapsOnEnoughCores() {
+    ServerJvmProfile profile = ServerJvmProfile.of(spec("16Gi", "8"));
+
+    assertFalse(profile.aikarFlags());
+    assertTrue(profile.xxOpts().contains("-XX:+UseZGC"));
+    assertTrue(profile.xxOpts().contains("-XX:MaxMetaspaceSize=512m"));
+  }
+
+  @Test
+  void explicitSpecFieldsWin() {
+    MinecraftServerGroupSpec spec = spec("16Gi", "8");
+    spec.setMaxMemory("10G");
+    spec.setUseAikarFlags(true);
+
+    ServerJvmProfile profile = ServerJvmProfile.of(spec);
+
+    assertEquals("10G", profile.maxMemory());
+    assertEquals("10G", profile.initMemory());
+    assertTrue(profile.aikarFlags());
+    assertFalse(profile.xxOpts().contains("ZGC"));
+  }
+
+  @Test
+  void leavesDefaultsWithoutResources() {
+    ServerJvmProfile profile = ServerJvmProfile.of(new MinecraftServerGroupSpec());
+
+    assertNull(profile.maxMemory());
+    assertTrue(profile.toEnv(new MinecraftServerGroupSpec()).isEmpty());
+  }
+
+  private static MinecraftServerGroupSpec spec(String memory, String cpu) {
+    MinecraftServerGroupSpec spec = new MinecraftServerGroupSpec();
+    spec.setResourceRequirements(TestResources.limits(memory, cpu));
+    return spec;
+  }
+}
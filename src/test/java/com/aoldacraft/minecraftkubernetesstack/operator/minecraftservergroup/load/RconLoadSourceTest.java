@@ -0,0 +1,70 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe.FakeRconServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RconLoadSourceTest {
+  private static final Map<String, String> PAPER_RESPONSES = Map.of(
+          "list", "There are 12 of a max of 50 players online: alice, bob",
+          "tps", "§6TPS from last 1m, 5m, 15m: §a19.5, §a*20.0, §a*20.0",
+          "mspt", "§6Server tick times §e(§7avg§e/§7min§e/§7max§e)§6 from last 5s§7,§6 10s§7,§6 1m§e:\n§6◴ §a23.4§7/§a1.2§7/§a48.0§e, §a22.1§7/§a1.2§7/§a48.0");
+
+  @Test
+  void readsPlayersAndTickTimings() throws IOException {
+    try (FakeRconServer server = new FakeRconServer("secret", PAPER_RESPONSES)) {
+      RconLoadSource source = new RconLoadSource(server.getAddress().getPort(), "secret");
+
+      ServerLoad load = source.sample("lobby-0", server.getAddress().getHostString(), Duration.ofSeconds(2));
+
+      assertEquals(12, load.players());
+      assertEquals(50, load.maxPlayers());
+      assertEquals(19.5, load.tps());
+      assertEquals(23.4, load.mspt());
+    }
+  }
+
+  @Test
+  void rejectsWrongPassword() throws IOException {
+    try (FakeRconServer server = new FakeRconServer("secret", PAPER_RESPONSES)) {
+      RconLoadSource source = new RconLoadSource(server.getAddress().getPort(), "wrong");
+
+      assertThrows(IOException.class,
+              () -> source.sample("lobby-0", server.getAddress().getHostString(), Duration.ofSeconds(2)));
+    }
+  }
+
+  @Test
+  void leavesTimingsEmptyOnVanillaServers() {
+    assertNull(RconLoadSource.parseFirstNumberAfterColon("Unknown or incomplete command, see below for error"));
+  }
+
+  @Test
+  void rollingLoadAveragesTheWindow() {
+    ServerLoad first = new ServerLoad("lobby-0", "10.0.0.1", 3, 50, 20.0, 10.0, null);
+    ServerLoad second = new ServerLoad("lobby-0", "10.0.0.1", 5, 50, 18.0, null, null);
+
+    RollingServerLoad rolling = RollingServerLoad.of(second, List.of(first, second));
+
+    assertEquals(5, rolling.players());
+    assertEquals(19.0, rolling.tps());
+    assertEquals(10.0, rolling.mspt());
+  }
+
+  @Test
+  void rollingLoadReportsMsptJitter() {
+    ServerLoad first = new ServerLoad("lobby-0", "10.0.0.1", 3, 50, 20.0, 10.0, null);
+    ServerLoad second = new ServerLoad("lobby-0", "10.0.0.1", 3, 50, 20.0, 30.0, null);
+
+    assertEquals(10.0, RollingServerLoad.of(second, List.of(first, second)).msptJitter());
+    assertNull(RollingServerLoad.of(first, List.of(first)).msptJitter());
+  }
+}
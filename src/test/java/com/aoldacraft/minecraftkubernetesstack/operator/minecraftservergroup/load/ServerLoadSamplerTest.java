@@ -0,0 +1,123 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.load;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerLoadSamplerTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private final ResourceID group = new ResourceID("lobby", "default");
+  private final Set<String> failing = ConcurrentHashMap.newKeySet();
+  private final ServerLoadSource source = (podName, podIP, timeout) -> {
+    if (failing.contains(podName)) {
+      throw new IOException("timed out");
+    }
+    return new ServerLoad(podName, podIP, 12, 50, null, null, Instant.now());
+  };
+
+  @Test
+  void isNotSampledUntilEveryReadyPodHasALoad() {
+    ServerLoadSampler sampler = new ServerLoadSampler(Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofMinutes(2), 4);
+    List<Pod> pods = List.of(pod("lobby-0", true), pod("lobby-1", true), pod("lobby-2", false));
+    sampler.track(group, pods, source);
+
+    assertFalse(sampler.isSampled(group, pods, NOW));
+
+    failing.add("lobby-1");
+    sampler.sampleAll();
+    assertFalse(sampler.isSampled(group, pods, NOW));
+
+    failing.clear();
+    sampler.sampleAll();
+    assertTrue(sampler.isSampled(group, pods, NOW));
+    assertEquals(36, sampler.getPlayers(group));
+  }
+
+  @Test
+  void keepsTheLastKnownLoadWhenAPingFails() {
+    ServerLoadSampler sampler = new ServerLoadSampler(Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofMinutes(2), 4);
+    List<Pod> pods = List.of(pod("lobby-0", true), pod("lobby-1", true));
+    sampler.track(group, pods, source);
+    sampler.sampleAll();
+
+    failing.add("lobby-1");
+    sampler.sampleAll();
+
+    assertTrue(sampler.isSampled(group, pods, NOW));
+    assertEquals(24, sampler.getPlayers(group));
+  }
+
+  @Test
+  void stopsWaitingForAPodThatNeverAnswers() {
+    ServerLoadSampler sampler = new ServerLoadSampler(Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofMinutes(2), 4);
+    List<Pod> pods = List.of(pod("lobby-0", true), pod("lobby-1", true));
+    sampler.track(group, pods, source);
+    failing.add("lobby-1");
+    sampler.sampleAll();
+
+    assertFalse(sampler.isSampled(group, pods, NOW.plusSeconds(119)));
+    assertEquals(List.of(), sampler.getUnanswered(group, pods, NOW.plusSeconds(119)));
+    assertTrue(sampler.isSampled(group, pods, NOW.plusSeconds(120)));
+    assertEquals(List.of("lobby-1"), sampler.getUnanswered(group, pods, NOW.plusSeconds(120)));
+    assertEquals(12, sampler.getPlayers(group));
+
+    failing.clear();
+    sampler.sampleAll();
+    assertEquals(List.of(), sampler.getUnanswered(group, pods, NOW.plusSeconds(180)));
+  }
+
+  @Test
+  void runsOneTaskPerKeyAtATime() throws InterruptedException {
+    ServerLoadSampler sampler = new ServerLoadSampler(Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofMinutes(2), 4);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+
+    assertTrue(sampler.submit("pregen/lobby-0", () -> {
+      awaitQuietly(release);
+      done.countDown();
+    }));
+    assertFalse(sampler.submit("pregen/lobby-0", () -> {
+    }));
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    sampler.stop();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Pod pod(String name, boolean ready) {
+    return new PodBuilder()
+            .withNewMetadata().withName(name).endMetadata()
+            .withNewStatus()
+            .withPhase("Running")
+            .withPodIP("10.0.0." + name.charAt(name.length() - 1))
+            .addNewCondition()
+            .withType("Ready")
+            .withStatus(ready ? "True" : "False")
+            .withLastTransitionTime(NOW.toString())
+            .endCondition()
+            .endStatus()
+            .build();
+  }
+}
@@ -0,0 +1,79 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Answers RCON logins and commands on a local port with canned responses, like a Paper server would.
+ */
+public class FakeRconServer implements AutoCloseable {
+  private final ServerSocket serverSocket;
+  private final String password;
+  private final Map<String, String> responses;
+
+  public FakeRconServer(String password, Map<String, String> responses) throws IOException {
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    this.password = password;
+    this.responses = responses;
+    Thread.ofVirtual().start(this::acceptLoop);
+  }
+
+  public InetSocketAddress getAddress() {
+    return new InetSocketAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try (Socket socket = serverSocket.accept()) {
+        serve(socket);
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private void serve(Socket socket) throws IOException {
+    final DataInputStream in = new DataInputStream(socket.getInputStream());
+    final OutputStream out = socket.getOutputStream();
+    final byte[] header = new byte[4];
+    while (true) {
+      in.readFully(header);
+      final byte[] packet = new byte[ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt()];
+      in.readFully(packet);
+      final ByteBuffer buffer = ByteBuffer.wrap(packet).order(ByteOrder.LITTLE_ENDIAN);
+      final int id = buffer.getInt();
+      final int type = buffer.getInt();
+      final String payload = new String(packet, 8, packet.length - 10, StandardCharsets.UTF_8);
+      if (type == 3) {
+        write(out, password.equals(payload) ? id : -1, 2, "");
+      } else {
+        write(out, id, 0, responses.getOrDefault(payload, "Unknown command"));
+      }
+    }
+  }
+
+  private static void write(OutputStream out, int id, int type, String payload) throws IOException {
+    final byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + body.length + 2).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(4 + 4 + body.length + 2);
+    buffer.putInt(id);
+    buffer.putInt(type);
+    buffer.put(body);
+    buffer.putShort((short) 0);
+    out.write(buffer.array());
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
@@ -0,0 +1,65 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Answers Server List Ping status requests on a local port with a fixed player count.
+ */
+public class FakeServerListPingResponder implements AutoCloseable {
+  private final ServerSocket serverSocket;
+  private volatile int onlinePlayers;
+  private final int maxPlayers;
+
+  public FakeServerListPingResponder(int onlinePlayers, int maxPlayers) throws IOException {
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    this.onlinePlayers = onlinePlayers;
+    this.maxPlayers = maxPlayers;
+    Thread.ofVirtual().start(this::acceptLoop);
+  }
+
+  public InetSocketAddress getAddress() {
+    return new InetSocketAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+  }
+
+  public void setOnlinePlayers(int onlinePlayers) {
+    this.onlinePlayers = onlinePlayers;
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try (Socket socket = serverSocket.accept()) {
+        respond(socket);
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private void respond(Socket socket) throws IOException {
+    final DataInputStream in = new DataInputStream(socket.getInputStream());
+    final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    in.readFully(new byte[ServerListPing.readVarInt(in)]);
+    in.readFully(new byte[ServerListPing.readVarInt(in)]);
+
+    final ByteArrayOutputStream packetBytes = new ByteArrayOutputStream();
+    final DataOutputStream packet = new DataOutputStream(packetBytes);
+    packet.writeByte(0x00);
+    ServerListPing.writeString(packet, """
+            {"version":{"name":"Paper 1.20.1","protocol":763},"players":{"max":%d,"online":%d},"description":{"text":"fake"}}"""
+            .formatted(maxPlayers, onlinePlayers));
+    ServerListPing.writeVarInt(out, packetBytes.size());
+    out.write(packetBytes.toByteArray());
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
@@ -0,0 +1,35 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.probe;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerListPingTest {
+
+  @Test
+  void readsPlayerCountsFromStatusResponse() throws IOException {
+    try (FakeServerListPingResponder responder = new FakeServerListPingResponder(17, 100)) {
+      ServerListPing.Response response = ServerListPing.ping(responder.getAddress(), Duration.ofSeconds(2));
+
+      assertEquals(17, response.onlinePlayers());
+      assertEquals(100, response.maxPlayers());
+      assertEquals("Paper 1.20.1", response.version());
+    }
+  }
+
+  @Test
+  void failsWhenServerDoesNotAnswer() throws IOException {
+    try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+      InetSocketAddress address = new InetSocketAddress(silent.getInetAddress(), silent.getLocalPort());
+
+      assertThrows(IOException.class, () -> ServerListPing.ping(address, Duration.ofMillis(200)));
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.startup;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerStartup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ServerStartupTimelineTest {
+  private static final Instant CREATED = Instant.parse("2024-05-01T10:00:00Z");
+
+  @Test
+  void splitsStartupIntoPhases() {
+    Pod pod = pod("a", 2, 7, 9, 40, 160);
+
+    MinecraftServerStartup startup = ServerStartupTimeline.of(pod).toStatus();
+
+    assertEquals(2, startup.getSchedulingSeconds());
+    assertEquals(5, startup.getInitImagePullSeconds());
+    assertEquals(2, startup.getInitSeconds());
+    assertEquals(31, startup.getImagePullSeconds());
+    assertEquals(120, startup.getBootSeconds());
+    assertEquals(160, startup.getTotalSeconds());
+  }
+
+  @Test
+  void leavesUnfinishedPhasesEmpty() {
+    Pod pod = pod("a", 2, 7, 9, 40, null);
+
+    ServerStartupTimeline timeline = ServerStartupTimeline.of(pod);
+
+    assertFalse(timeline.isReady());
+    assertFalse(timeline.phases().containsKey(ServerStartupTimeline.BOOT));
+    assertNull(timeline.toStatus().getTotalSeconds());
+    assertEquals(List.of("scheduling", "initImagePull", "init", "imagePull"), List.copyOf(timeline.phases().keySet()));
+  }
+
+  @Test
+  void recordsEachPodOnceAfterItTurnsReady() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ServerStartupRecorder recorder = new ServerStartupRecorder(registry, CREATED.minus(Duration.ofMinutes(1)));
+
+    recorder.record("ns/group", List.of(pod("a", 2, 7, 9, 40, null)));
+    recorder.record("ns/group", List.of(pod("a", 2, 7, 9, 40, 160), pod("b", 1, 3, 4, 10, 70)));
+    recorder.record("ns/group", List.of(pod("a", 2, 7, 9, 40, 160), pod("b", 1, 3, 4, 10, 70)));
+
+    assertEquals(2, registry.get("mcks.server.startup").tag("phase", "boot").timer().count());
+    assertEquals(180, registry.get("mcks.server.startup").tag("phase", "boot").timer().totalTime(TimeUnit.SECONDS));
+  }
+
+  @Test
+  void skipsPodsReadyBeforeTheOperatorStarted() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ServerStartupRecorder recorder = new ServerStartupRecorder(registry, CREATED.plus(Duration.ofHours(1)));
+
+    recorder.record("ns/group", List.of(pod("a", 2, 7, 9, 40, 160)));
+
+    assertEquals(0, registry.find("mcks.server.startup").timers().size());
+  }
+
+  @Test
+  void keepsTheFirstReadyTimeWhenTheProbeFlaps() {
+    Pod pod = new PodBuilder(pod("a", 2, 7, 9, 40, 900)).editMetadata()
+            .addToAnnotations(ServerData.ANNOTATION_FIRST_READY, at(160))
+            .endMetadata().build();
+
+    assertEquals(160, ServerStartupTimeline.of(pod).toStatus().getTotalSeconds());
+  }
+
+  private static Pod pod(String name, int scheduled, int initStarted, int initFinished, int serverStarted, Integer ready) {
+    PodBuilder builder = new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withUid("uid-" + name)
+            .withCreationTimestamp(at(0))
+            .endMetadata()
+            .withNewStatus()
+            .withPhase("Running")
+            .addToConditions(new PodConditionBuilder().withType("PodScheduled").withStatus("True").withLastTransitionTime(at(scheduled)).build())
+            .addToInitContainerStatuses(new ContainerStatusBuilder()
+                    .withName("init-copy-config")
+                    .withNewState().withNewTerminated().withExitCode(0).withStartedAt(at(initStarted)).withFinishedAt(at(initFinished)).endTerminated().endState()
+                    .build())
+            .addToContainerStatuses(new ContainerStatusBuilder()
+                    .withName("minecraft")
+                    .withNewState().withNewRunning().withStartedAt(at(serverStarted)).endRunning().endState()
+                    .build())
+            .endStatus();
+    if (ready != null) {
+      builder.editStatus()
+              .addToConditions(new PodConditionBuilder().withType("Ready").withStatus("True").withLastTransitionTime(at(ready)).build())
+              .endStatus();
+    }
+    return builder.build();
+  }
+
+  private static String at(int seconds) {
+    return CREATED.plusSeconds(seconds).toString();
+  }
+}
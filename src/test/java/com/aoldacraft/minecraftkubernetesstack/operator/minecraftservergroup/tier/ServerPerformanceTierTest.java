@@ -0,0 +1,80 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.tier;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.jvm.ServerJvmProfile;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerPerformanceTierTest {
+
+  @Test
+  void standardKeepsTheSpecResources() {
+    MinecraftServerGroupSpec spec = new MinecraftServerGroupSpec();
+    ResourceRequirements requested = new ResourceRequirementsBuilder()
+            .addToRequests("cpu", new Quantity("500m"))
+            .build();
+
+    ServerPerformanceTier tier = ServerPerformanceTier.of(spec);
+
+    assertSame(requested, tier.resources(requested));
+    assertNull(tier.affinity(group(spec)));
+    assertTrue(tier.tolerations().isEmpty());
+  }
+
+  @Test
+  void pinnedRoundsCpuUpAndSetsRequestsToLimits() {
+    MinecraftServerGroupSpec spec = new MinecraftServerGroupSpec();
+    spec.setPerformanceTier("Pinned");
+    ResourceRequirements requested = new ResourceRequirementsBuilder()
+            .addToRequests("cpu", new Quantity("1500m"))
+            .addToRequests("memory", new Quantity("3Gi"))
+            .addToLimits("memory", new Quantity("6Gi"))
+            .build();
+
+    ResourceRequirements resources = ServerPerformanceTier.of(spec).resources(requested);
+
+    assertEquals(new Quantity("2"), resources.getRequests().get("cpu"));
+    assertEquals(new Quantity("2"), resources.getLimits().get("cpu"));
+    assertEquals(new Quantity("6Gi"), resources.getRequests().get("memory"));
+    assertEquals(new Quantity("6Gi"), resources.getLimits().get("memory"));
+  }
+
+  @Test
+  void pinnedSpreadsTheGroupAndToleratesDedicatedNodes() {
+    MinecraftServerGroupSpec spec = new MinecraftServerGroupSpec();
+    spec.setPerformanceTier("pinned");
+
+    ServerPerformanceTier tier = ServerPerformanceTier.of(spec);
+
+    assertEquals("lobby", tier.affinity(group(spec)).getPodAntiAffinity()
+            .getPreferredDuringSchedulingIgnoredDuringExecution().get(0)
+            .getPodAffinityTerm().getLabelSelector().getMatchLabels().get("mcks"));
+    assertEquals("NoSchedule", tier.tolerations().get(0).getEffect());
+    assertTrue(ServerJvmProfile.of(spec).xxOpts().endsWith("-XX:+UseTransparentHugePages -XX:+PerfDisableSharedMem"));
+  }
+
+  @Test
+  void rejectsUnknownTiers() {
+    MinecraftServerGroupSpec spec = new MinecraftServerGroupSpec();
+    spec.setPerformanceTier("turbo");
+
+    assertThrows(IllegalArgumentException.class, () -> ServerPerformanceTier.of(spec));
+  }
+
+  private static MinecraftServerGroup group(MinecraftServerGroupSpec spec) {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("lobby").withNamespace("default").build());
+    resource.setSpec(spec);
+    return resource;
+  }
+}
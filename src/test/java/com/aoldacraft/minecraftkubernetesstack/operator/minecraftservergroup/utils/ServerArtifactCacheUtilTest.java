@@ -0,0 +1,96 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.JobConditionBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerArtifactCacheUtilTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+  @Test
+  void prefetchesWhenNothingIsCached() {
+    ServerArtifactCacheUtil.PrefetchStep step = ServerArtifactCacheUtil.planPrefetch(List.of(), NOW);
+
+    assertFalse(step.cached());
+    assertEquals(0, step.attempt());
+    assertNull(step.failed());
+  }
+
+  @Test
+  void hitsOnceAPrefetchSucceeded() {
+    ServerArtifactCacheUtil.PrefetchStep step = ServerArtifactCacheUtil.planPrefetch(
+            List.of(job(0, null), job(1, null).edit().withNewStatus().withSucceeded(1).endStatus().build()), NOW);
+
+    assertTrue(step.cached());
+    assertNull(step.attempt());
+  }
+
+  @Test
+  void missesWithoutActingWhileThePrefetchRuns() {
+    ServerArtifactCacheUtil.PrefetchStep step = ServerArtifactCacheUtil.planPrefetch(List.of(job(0, null)), NOW);
+
+    assertFalse(step.cached());
+    assertNull(step.attempt());
+  }
+
+  @Test
+  void retriesAFailedPrefetchAfterItsBackoff() {
+    Job failed = job(2, NOW.minusSeconds(200));
+    assertNull(ServerArtifactCacheUtil.planPrefetch(List.of(failed), NOW).attempt());
+
+    ServerArtifactCacheUtil.PrefetchStep step = ServerArtifactCacheUtil.planPrefetch(List.of(job(1, null), failed), NOW.plusSeconds(40));
+    assertFalse(step.cached());
+    assertEquals(3, step.attempt());
+    assertSame(failed, step.failed());
+  }
+
+  @Test
+  void capsTheBackoffAtHalfAnHour() {
+    assertEquals(21, ServerArtifactCacheUtil.planPrefetch(List.of(job(20, NOW.minusSeconds(1800))), NOW).attempt());
+  }
+
+  @Test
+  void countsLookupsOnTheInjectedRegistry() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ServerArtifactCacheUtil util = new ServerArtifactCacheUtil(null, null, registry);
+
+    util.recordLookup(true);
+    util.recordLookup(false);
+    util.recordLookup(false);
+
+    assertEquals(1, registry.get("mcks.artifact.cache.lookups").tag("result", "hit").counter().count());
+    assertEquals(2, registry.get("mcks.artifact.cache.lookups").tag("result", "miss").counter().count());
+  }
+
+  private static Job job(int attempt, Instant failedAt) {
+    JobBuilder builder = new JobBuilder()
+            .withNewMetadata()
+            .withName(ServerData.ARTIFACT_CACHE + "-key-" + attempt)
+            .withAnnotations(Map.of(ServerData.ANNOTATION_ARTIFACT_CACHE_ATTEMPT, String.valueOf(attempt)))
+            .endMetadata();
+    if (failedAt != null) {
+      builder.withNewStatus()
+              .withConditions(new JobConditionBuilder()
+                      .withType("Failed")
+                      .withStatus("True")
+                      .withLastTransitionTime(failedAt.toString())
+                      .build())
+              .endStatus();
+    }
+    return builder.build();
+  }
+}
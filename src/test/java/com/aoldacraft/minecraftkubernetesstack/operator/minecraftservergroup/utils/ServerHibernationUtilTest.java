@@ -0,0 +1,113 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupHibernation;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerHibernationUtilTest {
+  private static final Instant NOW = Instant.parse("2024-06-07T18:00:00Z");
+
+  @Test
+  void hibernatesAfterTheIdleWindowAndWakesOnRequest() {
+    MinecraftServerGroup resource = group();
+
+    assertTrue(ServerHibernationUtil.update(resource, true, 0, NOW));
+    assertEquals(NOW.toString(), resource.getStatus().getIdleSince());
+    assertFalse(ServerHibernationUtil.update(resource, true, 0, NOW.plusSeconds(599)));
+    assertTrue(ServerHibernationUtil.update(resource, true, 0, NOW.plusSeconds(600)));
+    assertTrue(ResourceUtil.isHibernated(resource));
+    assertEquals(0, ResourceUtil.getDesiredReplicas(resource));
+
+    ServerHibernationUtil.updateState(resource.getStatus(), NOW.plusSeconds(600));
+    assertEquals(ServerData.STATE_HIBERNATED, resource.getStatus().getState());
+    assertFalse(ServerHibernationUtil.update(resource, false, 0, NOW.plusSeconds(900)));
+
+    ServerHibernationUtil.requestWake(resource, NOW.plusSeconds(1000));
+    assertTrue(ServerHibernationUtil.update(resource, false, 0, NOW.plusSeconds(1005)));
+    assertFalse(ResourceUtil.isHibernated(resource));
+    assertEquals(NOW.plusSeconds(1000).toString(), resource.getStatus().getWakeRequestedTime());
+    assertEquals(NOW.plusSeconds(1005).toString(), resource.getStatus().getIdleSince());
+
+    ServerHibernationUtil.updateState(resource.getStatus(), NOW.plusSeconds(1010));
+    assertEquals(ServerData.STATE_WAKING, resource.getStatus().getState());
+    resource.getStatus().setPodIPs(List.of("10.0.0.1"));
+    ServerHibernationUtil.updateState(resource.getStatus(), NOW.plusSeconds(1030));
+    assertEquals(30L, resource.getStatus().getLastWakeSeconds());
+    assertNull(resource.getStatus().getWakeRequestedTime());
+  }
+
+  @Test
+  void playersRestartTheIdleWindow() {
+    MinecraftServerGroup resource = group();
+    ServerHibernationUtil.update(resource, true, 0, NOW);
+
+    assertTrue(ServerHibernationUtil.update(resource, true, 3, NOW.plusSeconds(300)));
+    assertNull(resource.getStatus().getIdleSince());
+    assertTrue(ServerHibernationUtil.update(resource, true, 0, NOW.plusSeconds(400)));
+    assertFalse(ServerHibernationUtil.update(resource, true, 0, NOW.plusSeconds(900)));
+    assertFalse(ResourceUtil.isHibernated(resource));
+  }
+
+  @Test
+  void keepsTheFirstPendingWakeRequest() {
+    MinecraftServerGroup resource = hibernatedGroup();
+
+    ServerHibernationUtil.requestWake(resource, NOW.plusSeconds(10));
+    ServerHibernationUtil.requestWake(resource, NOW.plusSeconds(20));
+
+    assertEquals(NOW.plusSeconds(10), ServerHibernationUtil.getWakeRequestedAt(resource));
+  }
+
+  @Test
+  void ignoresWakeRequestsFromBeforeTheLastHibernation() {
+    MinecraftServerGroup resource = hibernatedGroup();
+    resource.getMetadata().getAnnotations().put(ServerData.ANNOTATION_WAKE_REQUESTED, NOW.minusSeconds(60).toString());
+
+    assertNull(ServerHibernationUtil.getWakeRequestedAt(resource));
+    assertFalse(ServerHibernationUtil.update(resource, false, 0, NOW.plusSeconds(5)));
+
+    ServerHibernationUtil.requestWake(resource, NOW.plusSeconds(10));
+    assertTrue(ServerHibernationUtil.update(resource, false, 0, NOW.plusSeconds(15)));
+  }
+
+  @Test
+  void wakesWhenAScheduleSetsAFloor() {
+    MinecraftServerGroup resource = hibernatedGroup();
+    resource.getStatus().setScheduledMinReplicas(2);
+
+    assertTrue(ServerHibernationUtil.update(resource, false, 0, NOW.plusSeconds(5)));
+    assertEquals(NOW.plusSeconds(5).toString(), resource.getStatus().getWakeRequestedTime());
+    assertEquals(2, ResourceUtil.getDesiredReplicas(resource));
+  }
+
+  private static MinecraftServerGroup hibernatedGroup() {
+    MinecraftServerGroup resource = group();
+    resource.getStatus().setHibernated(true);
+    resource.getStatus().setHibernatedTime(NOW.toString());
+    return resource;
+  }
+
+  private static MinecraftServerGroup group() {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("lobby").withNamespace("default").build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    resource.getSpec().setReplicas(2);
+    MinecraftServerGroupHibernation hibernation = new MinecraftServerGroupHibernation();
+    hibernation.setIdleSeconds(600);
+    resource.getSpec().setHibernation(hibernation);
+    resource.setStatus(new MinecraftServerGroupStatus());
+    return resource;
+  }
+}
@@ -0,0 +1,155 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerPodUtilTest {
+  private static final String ACTIVE = "active";
+  private static final String DRAINING = "draining";
+  private static final String STANDBY = "standby";
+
+  @Test
+  void scalingUpCancelsADrainBeforeCreatingPods() {
+    List<Pod> pods = List.of(pod("server-0", ACTIVE, true), pod("server-1", DRAINING, true), pod("server-2", DRAINING, true));
+
+    ServerPodUtil.ScaleStep step = ServerPodUtil.planScale(pods, 2, Map.of("server-0", 4, "server-1", 2, "server-2", 1));
+
+    assertEquals(1, step.toUndrain().size());
+    assertTrue(step.toPromote().isEmpty());
+    assertEquals(0, step.toCreate());
+    assertTrue(step.toDrain().isEmpty());
+  }
+
+  @Test
+  void scalingUpPromotesReadyWarmPodsFirstThenCreates() {
+    List<Pod> pods = List.of(pod("server-0", ACTIVE, true), pod("server-1", DRAINING, true),
+            pod("server-2", STANDBY, false), pod("server-3", STANDBY, true));
+
+    ServerPodUtil.ScaleStep step = ServerPodUtil.planScale(pods, 5, Map.of());
+
+    assertEquals(List.of("server-1"), names(step.toUndrain()));
+    assertEquals(List.of("server-3", "server-2"), names(step.toPromote()));
+    assertEquals(1, step.toCreate());
+  }
+
+  @Test
+  void scalingDownDrainsTheLeastLoadedActivePods() {
+    List<Pod> pods = List.of(pod("server-0", ACTIVE, true), pod("server-1", ACTIVE, true), pod("server-2", ACTIVE, true),
+            pod("server-3", STANDBY, true), pod("server-4", DRAINING, true));
+
+    ServerPodUtil.ScaleStep step = ServerPodUtil.planScale(pods, 1, Map.of("server-0", 9, "server-1", 0, "server-2", 5));
+
+    assertEquals(List.of("server-1", "server-2"), names(step.toDrain()));
+    assertTrue(step.toUndrain().isEmpty());
+    assertTrue(step.toPromote().isEmpty());
+    assertEquals(0, step.toCreate());
+  }
+
+  @Test
+  void unsampledPodsAreNotDrainedBeforeIdleOnes() {
+    List<Pod> pods = List.of(pod("server-0", ACTIVE, true), pod("server-1", ACTIVE, true));
+
+    ServerPodUtil.ScaleStep step = ServerPodUtil.planScale(pods, 1, Map.of("server-1", 0));
+
+    assertEquals(List.of("server-1"), names(step.toDrain()));
+  }
+
+  @Test
+  void measuresPromotionFromTheMarkUntilReady() {
+    Pod cold = promoted(pod("server-0", ACTIVE, true), "2024-06-07T10:00:00Z", "2024-06-07T10:00:04Z");
+    Pod warm = promoted(pod("server-1", ACTIVE, true), "2024-06-07T10:05:00Z", "2024-06-07T09:00:00Z");
+    Pod pending = promoted(pod("server-2", ACTIVE, false), "2024-06-07T10:06:00Z", null);
+
+    assertEquals(4000L, ServerPodUtil.getPromotionLatencyMillis(cold));
+    assertEquals(0L, ServerPodUtil.getPromotionLatencyMillis(warm));
+    assertNull(ServerPodUtil.getPromotionLatencyMillis(pending));
+    assertNull(ServerPodUtil.getPromotionLatencyMillis(pod("server-3", ACTIVE, true)));
+
+    MinecraftServerGroupStatus status = new MinecraftServerGroupStatus();
+    new ServerPodUtil(null, null, null, null).updateStatus(group(), status, List.of(cold, warm, pending));
+
+    assertEquals("2024-06-07T10:05:00Z", status.getLastPromotionTime());
+    assertEquals(0L, status.getLastPromotionLatencyMillis());
+  }
+
+  @Test
+  void timeToReadyKeepsTheFirstReadyTime() {
+    Pod pod = new PodBuilder(pod("server-0", ACTIVE, true)).editStatus()
+            .withConditions(new PodConditionBuilder().withType("Ready").withStatus("True")
+                    .withLastTransitionTime("2024-06-07T10:01:30Z").build())
+            .endStatus().build();
+    assertEquals(90L, ServerPodUtil.getTimeToReadySeconds(pod));
+
+    Pod flapped = new PodBuilder(pod).editMetadata()
+            .addToAnnotations(ServerData.ANNOTATION_FIRST_READY, "2024-06-07T10:01:30Z")
+            .endMetadata()
+            .editStatus()
+            .withConditions(new PodConditionBuilder().withType("Ready").withStatus("True")
+                    .withLastTransitionTime("2024-06-07T13:00:00Z").build())
+            .endStatus().build();
+    assertEquals(90L, ServerPodUtil.getTimeToReadySeconds(flapped));
+
+    Pod unready = new PodBuilder(flapped).editStatus().withConditions().endStatus().build();
+    assertEquals(90L, ServerPodUtil.getTimeToReadySeconds(unready));
+    assertNull(ServerPodUtil.getTimeToReadySeconds(pod("server-1", ACTIVE, false)));
+  }
+
+  private static Pod promoted(Pod pod, String promotedAt, String readySince) {
+    PodBuilder builder = new PodBuilder(pod).editMetadata()
+            .addToAnnotations(ServerData.ANNOTATION_PROMOTED, promotedAt)
+            .endMetadata();
+    if (readySince != null) {
+      builder.editStatus().withConditions(new PodConditionBuilder()
+              .withType("Ready").withStatus("True").withLastTransitionTime(readySince).build()).endStatus();
+    }
+    return builder.build();
+  }
+
+  private static MinecraftServerGroup group() {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("survival").withNamespace("default").build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    return resource;
+  }
+
+  private static Pod pod(String name, String state, boolean ready) {
+    Map<String, String> labels = new HashMap<>();
+    if (DRAINING.equals(state)) {
+      labels.put(ServerData.LABEL_DRAINING, "true");
+    } else if (STANDBY.equals(state)) {
+      labels.put(ServerData.LABEL_STANDBY, "true");
+    }
+    PodBuilder builder = new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withLabels(labels)
+            .withCreationTimestamp("2024-06-07T10:00:00Z")
+            .endMetadata()
+            .withNewStatus()
+            .withPhase("Running")
+            .endStatus();
+    if (ready) {
+      builder.editStatus().addNewCondition().withType("Ready").withStatus("True").endCondition().endStatus();
+    }
+    return builder.build();
+  }
+
+  private static List<String> names(List<Pod> pods) {
+    return pods.stream().map(pod -> pod.getMetadata().getName()).toList();
+  }
+}
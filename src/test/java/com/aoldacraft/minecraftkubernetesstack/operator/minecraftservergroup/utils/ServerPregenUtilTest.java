@@ -0,0 +1,122 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupPregen;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodConditionBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerPregenUtilTest {
+
+  @Test
+  void parsesChunkyProgress() {
+    assertEquals(12.34, ServerPregenUtil.parseProgress(
+            "§6[Chunky]§r Task running for world. Processed: 1200 chunks (12.34%), ETA: 0:05:00, Rate: 100.0 cps"));
+    assertNull(ServerPregenUtil.parseProgress("[Chunky] No tasks running."));
+    assertTrue(ServerPregenUtil.isIdle("§6[Chunky]§r No tasks running."));
+    assertFalse(ServerPregenUtil.isIdle("[Chunky] Task running for world. Processed: 1200 chunks (12.34%)"));
+  }
+
+  @Test
+  void radiusFollowsViewDistanceWithinTheWorldBorder() {
+    MinecraftServerGroupSpec spec = group().getSpec();
+    assertEquals(1280, ServerPregenUtil.getRadius(spec));
+
+    spec.setViewDistance(6);
+    assertEquals(768, ServerPregenUtil.getRadius(spec));
+
+    spec.setMaxWorldSize(500);
+    assertEquals(500, ServerPregenUtil.getRadius(spec));
+  }
+
+  @Test
+  void keepsPodsOutOfTheRoutingPoolUntilGenerated() {
+    MinecraftServerGroup resource = group();
+    MinecraftServerGroupStatus status = new MinecraftServerGroupStatus();
+    List<Pod> pods = List.of(
+            pod("server-0", "10.0.0.1", Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_RUNNING, ServerData.ANNOTATION_PREGEN_PROGRESS, "40")),
+            pod("server-1", "10.0.0.2", Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_DONE, ServerData.ANNOTATION_PREGEN_SECONDS, "95")));
+
+    new ServerPodUtil(null, null, null, null).updateStatus(resource, status, pods);
+
+    assertEquals(List.of("10.0.0.2"), status.getPodIPs());
+    assertEquals(Map.of("server-0", 40), status.getPregenProgress());
+    assertEquals(Map.of("server-1", 95L), status.getPregenSeconds());
+    assertTrue(ServerPregenUtil.isInProgress(resource, pods));
+  }
+
+  @Test
+  void keepsPodsThatWereServingWhenPregenWasEnabled() {
+    MinecraftServerGroup resource = group();
+    MinecraftServerGroupStatus status = new MinecraftServerGroupStatus();
+    status.setPregenEnabledTime("2026-01-01T12:00:00Z");
+    resource.setStatus(status);
+    Pod serving = pod("server-0", "10.0.0.1", Map.of(), "2026-01-01T11:00:00Z");
+    Pod joined = pod("server-1", "10.0.0.2", Map.of(), "2026-01-01T12:05:00Z");
+    Pod skipped = pod("server-2", "10.0.0.3", Map.of(ServerData.ANNOTATION_PREGEN, ServerData.PREGEN_SKIPPED), "2026-01-01T12:10:00Z");
+
+    new ServerPodUtil(null, null, null, null).updateStatus(resource, status, List.of(serving, joined, skipped));
+
+    assertFalse(ServerPregenUtil.isPending(resource, serving));
+    assertTrue(ServerPregenUtil.isPending(resource, joined));
+    assertFalse(ServerPregenUtil.isPending(resource, skipped));
+    assertEquals(Set.of("10.0.0.1", "10.0.0.3"), Set.copyOf(status.getPodIPs()));
+  }
+
+  @Test
+  void gatesEveryPodUntilTheEnablementIsRecorded() {
+    MinecraftServerGroup resource = group();
+
+    assertTrue(ServerPregenUtil.isPending(resource, pod("server-0", "10.0.0.1", Map.of(), "2026-01-01T11:00:00Z")));
+  }
+
+  @Test
+  void needsRconForPregen() {
+    MinecraftServerGroup resource = group();
+    resource.getSpec().setRconPassword(null);
+
+    assertFalse(ServerPregenUtil.isEnabled(resource));
+    assertFalse(ServerPregenUtil.isPending(resource, pod("server-0", "10.0.0.1", Map.of())));
+  }
+
+  private static MinecraftServerGroup group() {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("survival").withNamespace("default").withGeneration(1L).build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    resource.getSpec().setPregen(new MinecraftServerGroupPregen());
+    resource.getSpec().setRconPassword("secret");
+    return resource;
+  }
+
+  private static Pod pod(String name, String podIP, Map<String, String> annotations) {
+    return pod(name, podIP, annotations, null);
+  }
+
+  private static Pod pod(String name, String podIP, Map<String, String> annotations, String readySince) {
+    return new PodBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withAnnotations(annotations)
+            .endMetadata()
+            .withNewStatus()
+            .withPhase("Running")
+            .withPodIP(podIP)
+            .addToConditions(new PodConditionBuilder().withType("Ready").withStatus("True").withLastTransitionTime(readySince).build())
+            .endStatus()
+            .build();
+  }
+}
@@ -0,0 +1,76 @@
+package com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.utils;
+
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroup;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupSpec;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStatus;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.customresources.MinecraftServerGroupStorage;
+import com.aoldacraft.minecraftkubernetesstack.operator.minecraftservergroup.statics.ServerData;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ServerStorageUtilTest {
+
+  @Test
+  void startsWarmOnAnExistingClaim() {
+    MinecraftServerGroup resource = group(storage(null));
+    PersistentVolumeClaim existing = new PersistentVolumeClaimBuilder()
+            .withNewMetadata().withName("data-lobby-0").endMetadata()
+            .build();
+
+    ServerStorageUtil.VolumeStep step = ServerStorageUtil.planVolume(resource, 0, existing);
+
+    assertNull(step.claim());
+    assertEquals(ServerData.START_WARM, step.startKind());
+  }
+
+  @Test
+  void startsColdOnANewEmptyClaim() {
+    ServerStorageUtil.VolumeStep step = ServerStorageUtil.planVolume(group(storage(null)), 1, null);
+
+    assertEquals("data-lobby-1", step.claim().getMetadata().getName());
+    assertNull(step.claim().getSpec().getDataSource());
+    assertEquals(ServerData.START_COLD, step.startKind());
+  }
+
+  @Test
+  void seedsANewClaimFromTheConfiguredSnapshot() {
+    ServerStorageUtil.VolumeStep step = ServerStorageUtil.planVolume(group(storage("lobby-world")), 0, null);
+
+    TypedLocalObjectReference dataSource = step.claim().getSpec().getDataSource();
+    assertEquals("snapshot.storage.k8s.io", dataSource.getApiGroup());
+    assertEquals("VolumeSnapshot", dataSource.getKind());
+    assertEquals("lobby-world", dataSource.getName());
+    assertEquals(ServerData.START_SNAPSHOT, step.startKind());
+  }
+
+  @Test
+  void keepsClaimsUnlessDeletedWithTheGroup() {
+    MinecraftServerGroupStorage storage = storage(null);
+    storage.setDeleteWithGroup(false);
+
+    // without a client any delete call would fail, so returning cleanly means the claims were left alone
+    assertDoesNotThrow(() -> new ServerStorageUtil(null).delete(group(storage)));
+  }
+
+  private static MinecraftServerGroupStorage storage(String snapshotName) {
+    MinecraftServerGroupStorage storage = new MinecraftServerGroupStorage();
+    storage.setSnapshotName(snapshotName);
+    return storage;
+  }
+
+  private static MinecraftServerGroup group(MinecraftServerGroupStorage storage) {
+    MinecraftServerGroup resource = new MinecraftServerGroup();
+    resource.setMetadata(new ObjectMetaBuilder().withName("lobby").withNamespace("default").build());
+    resource.setSpec(new MinecraftServerGroupSpec());
+    resource.getSpec().setStorage(storage);
+    resource.setStatus(new MinecraftServerGroupStatus());
+    return resource;
+  }
+}